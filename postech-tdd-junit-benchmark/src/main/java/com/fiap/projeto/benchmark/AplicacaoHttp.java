@@ -0,0 +1,70 @@
+package com.fiap.projeto.benchmark;
+
+import com.fiap.projeto.PostechTddJunitApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A aplicação com o servidor HTTP numa porta aleatória, para os benchmarks que passam pelo controller, filtros e
+ * serialização como uma requisição real. O cliente usa HTTP/1.1 e reaproveita a conexão entre as chamadas.
+ */
+final class AplicacaoHttp implements AutoCloseable {
+
+    private final ConfigurableApplicationContext contexto;
+    private final URI base;
+    private final HttpClient cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private AplicacaoHttp(ConfigurableApplicationContext contexto) {
+        this.contexto = contexto;
+        this.base = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"));
+    }
+
+    /**
+     * @param argumentos propriedades no formato {@code --chave=valor}, que valem sobre o application.yaml
+     */
+    static AplicacaoHttp iniciar(String... argumentos) {
+        var todos = new ArrayList<>(List.of("--spring.main.web-application-type=servlet", "--server.port=0"));
+        todos.addAll(List.of(argumentos));
+        return new AplicacaoHttp(new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                .profiles("benchmark")
+                .run(todos.toArray(String[]::new)));
+    }
+
+    <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    HttpRequest.Builder requisicao(String caminho) {
+        return HttpRequest.newBuilder(base.resolve(caminho));
+    }
+
+    HttpResponse<byte[]> enviar(HttpRequest requisicao) throws IOException, InterruptedException {
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * Envia uma vez, fora da medição, e confere o status: um benchmark que mede respostas de erro não mede nada.
+     */
+    HttpResponse<byte[]> conferir(HttpRequest requisicao, int status) throws IOException, InterruptedException {
+        var resposta = enviar(requisicao);
+        if (resposta.statusCode() != status)
+            throw new IllegalStateException(requisicao.uri() + " respondeu " + resposta.statusCode()
+                    + " em vez de " + status);
+        return resposta;
+    }
+
+    @Override
+    public void close() {
+        cliente.close();
+        contexto.close();
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.fiap.projeto.benchmark;
+
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O {@link MensagemService} com armazenamento jpa (tabela no H2 em memória) contra o log de segmentos, nas mesmas
+ * operações e sem cache de mensagens. O tempo de reabrir o log fica no {@link ReaberturaLogBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArmazenamentoBenchmark {
+
+    private static final int LOTE = 500;
+    private static final int REMOCOES_PREPARADAS = 20_000;
+
+    @Param({"jpa", "log"})
+    public String modo;
+
+    @Param({"200000"})
+    public int mensagens;
+
+    private Path diretorio;
+    private ConfigurableApplicationContext contexto;
+    private MensagemService mensagemService;
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        diretorio = Files.createTempDirectory("armazenamento-benchmark");
+        contexto = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                .profiles("benchmark")
+                .run("--mensagem.armazenamento.modo=" + modo,
+                        "--mensagem.armazenamento.log.diretorio=" + diretorio,
+                        "--spring.cache.type=none");
+        mensagemService = contexto.getBean(MensagemService.class);
+
+        ids = new ArrayList<>(mensagens);
+        for (int i = 0; i < mensagens; i += LOTE)
+            ids.addAll(mensagemService.registrarMensagens(geraLote(i)));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() throws IOException {
+        contexto.close();
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    @Benchmark
+    public List<UUID> registrarLote() {
+        return mensagemService.registrarMensagens(geraLote(0));
+    }
+
+    @Benchmark
+    public Mensagem registrar() {
+        return mensagemService.registrarMensagem(geraMensagem(0));
+    }
+
+    @Benchmark
+    public Mensagem buscar() {
+        return mensagemService.buscarMensagem(idAleatorio());
+    }
+
+    @Benchmark
+    public Mensagem alterar() {
+        return mensagemService.alterarMensagemParcialmente(idAleatorio(),
+                new AlteracaoMensagem(null, "alterada", null));
+    }
+
+    @Benchmark
+    public void registrarGostei() {
+        mensagemService.registrarGostei(idAleatorio());
+    }
+
+    @Benchmark
+    public Slice<Mensagem> listarDoUsuario() {
+        return mensagemService.listarMensagensDoUsuario("usuario7", null, null, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public boolean remover(Remocoes remocoes) {
+        return mensagemService.removeMensagem(remocoes.proxima(this));
+    }
+
+    private List<Mensagem> geraLote(int primeira) {
+        var lote = new ArrayList<Mensagem>(LOTE);
+        for (int i = primeira; i < primeira + LOTE; i++)
+            lote.add(geraMensagem(i));
+        return lote;
+    }
+
+    private UUID idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private Mensagem geraMensagem(int i) {
+        return Mensagem.builder()
+                .usuario("usuario" + (i % 1_000)).conteudo("conteúdo da mensagem " + i).build();
+    }
+
+    /**
+     * Mensagens criadas antes de cada iteração só para o {@link #remover} consumir, como no
+     * {@link MensagemServiceBenchmark}.
+     */
+    @State(Scope.Thread)
+    public static class Remocoes {
+
+        private final ArrayDeque<UUID> paraRemover = new ArrayDeque<>();
+
+        @Setup(Level.Iteration)
+        public void preparar(ArmazenamentoBenchmark benchmark) {
+            reabastecer(benchmark);
+        }
+
+        @TearDown(Level.Iteration)
+        public void descartar(ArmazenamentoBenchmark benchmark) {
+            var sobra = new ArrayList<>(paraRemover);
+            for (int i = 0; i < sobra.size(); i += LOTE)
+                benchmark.mensagemService.removerMensagens(sobra.subList(i, Math.min(i + LOTE, sobra.size())));
+            paraRemover.clear();
+        }
+
+        UUID proxima(ArmazenamentoBenchmark benchmark) {
+            if (paraRemover.isEmpty())
+                reabastecer(benchmark);
+            return paraRemover.pop();
+        }
+
+        private void reabastecer(ArmazenamentoBenchmark benchmark) {
+            for (int i = 0; i < REMOCOES_PREPARADAS; i += LOTE)
+                paraRemover.addAll(benchmark.mensagemService.registrarMensagens(benchmark.geraLote(i)));
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.fiap.projeto.benchmark;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura completa (200) contra a revalidação por If-None-Match (304) no GET /mensagens/{id} e no
+ * GET /mensagens/listar, pelo HTTP e com o cache de mensagens desligado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EtagBenchmark {
+
+    private static final int MENSAGENS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean revalidar;
+
+    private AplicacaoHttp aplicacao;
+    private HttpRequest buscar;
+    private HttpRequest listar;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException, InterruptedException {
+        aplicacao = AplicacaoHttp.iniciar("--spring.cache.type=none");
+
+        var mensagens = new ArrayList<Mensagem>(MENSAGENS);
+        for (int i = 0; i < MENSAGENS; i++)
+            mensagens.add(Mensagem.builder().usuario("Gabriel").conteudo("conteúdo da mensagem " + i).build());
+        var id = aplicacao.bean(MensagemService.class).registrarMensagens(mensagens).get(0);
+
+        buscar = preparar("/mensagens/" + id);
+        listar = preparar("/mensagens/listar?size=20");
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public byte[] buscar() throws IOException, InterruptedException {
+        return aplicacao.enviar(buscar).body();
+    }
+
+    @Benchmark
+    public byte[] listar() throws IOException, InterruptedException {
+        return aplicacao.enviar(listar).body();
+    }
+
+    private HttpRequest preparar(String caminho) throws IOException, InterruptedException {
+        var completa = aplicacao.requisicao(caminho).build();
+        var etag = aplicacao.conferir(completa, 200).headers().firstValue(HttpHeaders.ETAG).orElseThrow();
+        if (!revalidar)
+            return completa;
+
+        var condicional = aplicacao.requisicao(caminho).header(HttpHeaders.IF_NONE_MATCH, etag).build();
+        aplicacao.conferir(condicional, 304);
+        return condicional;
+    }
+
+}
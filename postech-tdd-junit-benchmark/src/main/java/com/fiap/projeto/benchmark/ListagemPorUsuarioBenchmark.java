@@ -0,0 +1,132 @@
+package com.fiap.projeto.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /mensagens/usuario/{usuario} e GET /mensagens/listar com desde/ate numa tabela grande, pelo HTTP. Com os
+ * índices (usuario, dataCriacao) e (dataCriacao) o tempo depende do tamanho da página, não do total de linhas:
+ * compare os resultados com {@code -p mensagens=100000,1000000}. O plano de execução de cada consulta é impresso no
+ * início da execução. Dez milhões de linhas precisam de {@code -jvmArgs -Xmx4g} para o H2 em memória.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemPorUsuarioBenchmark {
+
+    private static final int USUARIOS = 1_000;
+    private static final int LOTE = 50_000;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({"1000000"})
+    public int mensagens;
+
+    private AplicacaoHttp aplicacao;
+    private HttpRequest usuario;
+    private HttpRequest usuarioPaginaFunda;
+    private HttpRequest usuarioPeriodo;
+    private HttpRequest listarPeriodo;
+    private HttpRequest listarPeriodoPaginaFunda;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException, InterruptedException {
+        aplicacao = AplicacaoHttp.iniciar("--spring.cache.type=none", "--mensagem.feed.memoria.habilitado=false");
+        var jdbcTemplate = aplicacao.bean(JdbcTemplate.class);
+        popular(jdbcTemplate);
+
+        // janela de um dia no meio da tabela
+        var desde = INICIO.plusSeconds(mensagens / 2);
+        var ate = desde.plusDays(1);
+        var periodo = "desde=" + desde + "&ate=" + ate;
+
+        usuario = preparar("/mensagens/usuario/usuario7?size=20");
+        usuarioPaginaFunda = preparar("/mensagens/usuario/usuario7?size=20&page=20");
+        usuarioPeriodo = preparar("/mensagens/usuario/usuario7?size=20&" + periodo);
+        listarPeriodo = preparar("/mensagens/listar?size=20&" + periodo);
+        listarPeriodoPaginaFunda = preparar("/mensagens/listar?size=20&page=100&" + periodo);
+
+        System.out.println();
+        System.out.println(plano(jdbcTemplate, "SELECT * FROM MENSAGEM WHERE USUARIO = 'usuario7' "
+                + "ORDER BY USUARIO, DATA_CRIACAO DESC, ID DESC FETCH FIRST 21 ROWS ONLY"));
+        System.out.println(plano(jdbcTemplate, "SELECT * FROM MENSAGEM WHERE DATA_CRIACAO >= TIMESTAMP '"
+                + Timestamp.valueOf(desde) + "' AND DATA_CRIACAO < TIMESTAMP '" + Timestamp.valueOf(ate)
+                + "' ORDER BY DATA_CRIACAO DESC, ID DESC FETCH FIRST 20 ROWS ONLY"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public byte[] usuario() throws IOException, InterruptedException {
+        return aplicacao.enviar(usuario).body();
+    }
+
+    @Benchmark
+    public byte[] usuarioPaginaFunda() throws IOException, InterruptedException {
+        return aplicacao.enviar(usuarioPaginaFunda).body();
+    }
+
+    @Benchmark
+    public byte[] usuarioPeriodo() throws IOException, InterruptedException {
+        return aplicacao.enviar(usuarioPeriodo).body();
+    }
+
+    @Benchmark
+    public byte[] listarPeriodo() throws IOException, InterruptedException {
+        return aplicacao.enviar(listarPeriodo).body();
+    }
+
+    @Benchmark
+    public byte[] listarPeriodoPaginaFunda() throws IOException, InterruptedException {
+        return aplicacao.enviar(listarPeriodoPaginaFunda).body();
+    }
+
+    private HttpRequest preparar(String caminho) throws IOException, InterruptedException {
+        var requisicao = aplicacao.requisicao(caminho).build();
+        aplicacao.conferir(requisicao, 200);
+        return requisicao;
+    }
+
+    private void popular(JdbcTemplate jdbcTemplate) {
+        for (int criadas = 0; criadas < mensagens; criadas += LOTE) {
+            var linhas = new ArrayList<Object[]>(LOTE);
+            for (int i = criadas; i < Math.min(criadas + LOTE, mensagens); i++) {
+                linhas.add(new Object[]{UUID.randomUUID(), "usuario" + (i % USUARIOS), "mensagem " + i,
+                        Timestamp.valueOf(INICIO.plusSeconds(i))});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) VALUES (?, ?, ?, ?, 0, 0)",
+                    linhas);
+        }
+    }
+
+    private static String plano(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+
+}
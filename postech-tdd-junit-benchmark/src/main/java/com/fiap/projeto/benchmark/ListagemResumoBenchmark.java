@@ -0,0 +1,93 @@
+package com.fiap.projeto.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /mensagens/listar (Page de entidades, com a contagem) contra GET /mensagens/listar/resumo (Slice de projeções)
+ * numa tabela grande, pelo HTTP. O tamanho de cada resposta é impresso no início da execução.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListagemResumoBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int LOTE = 50_000;
+    private static final String CONTEUDO = "mensagem de teste com o tamanho de um post comum, ".repeat(4);
+
+    @Param({"200000"})
+    public int mensagens;
+
+    @Param({"0", "100", "1000"})
+    public int pagina;
+
+    private AplicacaoHttp aplicacao;
+    private HttpRequest listar;
+    private HttpRequest resumo;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException, InterruptedException {
+        // sem o feed em memória, que só conhece o que passa pelo serviço, e sem cache: as duas consultas vão à tabela
+        aplicacao = AplicacaoHttp.iniciar("--spring.cache.type=none", "--mensagem.feed.memoria.habilitado=false");
+        popular(aplicacao.bean(JdbcTemplate.class));
+
+        listar = aplicacao.requisicao("/mensagens/listar?size=" + TAMANHO_PAGINA + "&page=" + pagina).build();
+        resumo = aplicacao.requisicao("/mensagens/listar/resumo?size=" + TAMANHO_PAGINA + "&page=" + pagina).build();
+        System.out.printf("%nbytes por resposta: listar %d, resumo %d%n",
+                aplicacao.conferir(listar, 200).body().length, aplicacao.conferir(resumo, 200).body().length);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public byte[] listar() throws IOException, InterruptedException {
+        return aplicacao.enviar(listar).body();
+    }
+
+    @Benchmark
+    public byte[] resumo() throws IOException, InterruptedException {
+        return aplicacao.enviar(resumo).body();
+    }
+
+    private void popular(JdbcTemplate jdbcTemplate) {
+        var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int criadas = 0; criadas < mensagens; criadas += LOTE) {
+            var linhas = new ArrayList<Object[]>(LOTE);
+            for (int i = criadas; i < Math.min(criadas + LOTE, mensagens); i++) {
+                linhas.add(new Object[]{UUID.randomUUID(), "usuario" + (i % 100), CONTEUDO + i,
+                        Timestamp.valueOf(inicio.plusSeconds(i))});
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) VALUES (?, ?, ?, ?, 0, 0)",
+                    linhas);
+        }
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.fiap.projeto.benchmark;
+
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD do {@link MensagemService} contra o H2 em memória, com o contexto Spring completo da aplicação.
+ * Roda com o cache de mensagens desligado, para o buscar medir o caminho até o banco, e ligado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+// a pilha Spring + Hibernate + H2 precisa de bem mais aquecimento que um método isolado até o JIT estabilizar
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MensagemServiceBenchmark {
+
+    private static final int MENSAGENS_EXISTENTES = 10_000;
+    private static final int REMOCOES_PREPARADAS = 20_000;
+    private static final int LOTE = 1_000;
+
+    @Param({"none", "caffeine"})
+    public String cache;
+
+    private ConfigurableApplicationContext contexto;
+    private MensagemService mensagemService;
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                .profiles("benchmark")
+                // como argumento de linha de comando, para valer sobre o application.yaml
+                .run("--spring.cache.type=" + cache);
+        mensagemService = contexto.getBean(MensagemService.class);
+
+        ids = new ArrayList<>(MENSAGENS_EXISTENTES);
+        for (int i = 0; i < MENSAGENS_EXISTENTES; i += LOTE)
+            ids.addAll(mensagemService.registrarMensagens(geraLote()));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Mensagem registrar() {
+        return mensagemService.registrarMensagem(geraMensagem());
+    }
+
+    @Benchmark
+    public Mensagem buscar() {
+        return mensagemService.buscarMensagem(idAleatorio());
+    }
+
+    @Benchmark
+    public Mensagem alterar() {
+        return mensagemService.alterarMensagemParcialmente(idAleatorio(),
+                new AlteracaoMensagem(null, "conteúdo alterado", null));
+    }
+
+    @Benchmark
+    public boolean remover(Remocoes remocoes) {
+        return mensagemService.removeMensagem(remocoes.proxima(this));
+    }
+
+    private List<Mensagem> geraLote() {
+        var lote = new ArrayList<Mensagem>(LOTE);
+        for (int i = 0; i < LOTE; i++)
+            lote.add(geraMensagem());
+        return lote;
+    }
+
+    private UUID idAleatorio() {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste de desempenho").build();
+    }
+
+    /**
+     * Mensagens criadas antes de cada iteração só para o {@link #remover} consumir; os outros benchmarks
+     * não usam este estado e não pagam por ele.
+     */
+    @State(Scope.Thread)
+    public static class Remocoes {
+
+        private final ArrayDeque<UUID> paraRemover = new ArrayDeque<>();
+
+        @Setup(Level.Iteration)
+        public void preparar(MensagemServiceBenchmark benchmark) {
+            reabastecer(benchmark);
+        }
+
+        @TearDown(Level.Iteration)
+        public void descartar(MensagemServiceBenchmark benchmark) {
+            var sobra = new ArrayList<>(paraRemover);
+            for (int i = 0; i < sobra.size(); i += LOTE)
+                benchmark.mensagemService.removerMensagens(sobra.subList(i, Math.min(i + LOTE, sobra.size())));
+            paraRemover.clear();
+        }
+
+        UUID proxima(MensagemServiceBenchmark benchmark) {
+            // raramente a iteração consome todas as preparadas; repor aqui custa um lote a cada LOTE remoções
+            if (paraRemover.isEmpty())
+                reabastecer(benchmark);
+            return paraRemover.pop();
+        }
+
+        private void reabastecer(MensagemServiceBenchmark benchmark) {
+            for (int i = 0; i < REMOCOES_PREPARADAS; i += LOTE)
+                paraRemover.addAll(benchmark.mensagemService.registrarMensagens(benchmark.geraLote()));
+        }
+
+    }
+
+}
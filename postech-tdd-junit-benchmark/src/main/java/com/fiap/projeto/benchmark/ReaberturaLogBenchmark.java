@@ -0,0 +1,84 @@
+package com.fiap.projeto.benchmark;
+
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.armazenamento.LogMensagens;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo para reabrir os segmentos do {@link LogMensagens} e reconstruir o índice, que é o que a aplicação gasta
+ * ao subir com o armazenamento log depois de uma parada ou queda. Os segmentos são gravados uma vez pela aplicação e
+ * reabertos a cada chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ReaberturaLogBenchmark {
+
+    private static final int LOTE = 500;
+    private static final int TAMANHO_SEGMENTO = 64 << 20;
+
+    @Param({"200000"})
+    public int mensagens;
+
+    private Path diretorio;
+
+    @Setup(Level.Trial)
+    public void gravar() throws IOException {
+        diretorio = Files.createTempDirectory("reabertura-log-benchmark");
+        try (var contexto = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                .profiles("benchmark")
+                .run("--mensagem.armazenamento.modo=log",
+                        "--mensagem.armazenamento.log.diretorio=" + diretorio,
+                        "--mensagem.armazenamento.log.tamanho-segmento=" + TAMANHO_SEGMENTO)) {
+            var mensagemService = contexto.getBean(MensagemService.class);
+            for (int criadas = 0; criadas < mensagens; criadas += LOTE) {
+                var lote = new ArrayList<Mensagem>(LOTE);
+                for (int i = criadas; i < Math.min(criadas + LOTE, mensagens); i++)
+                    lote.add(Mensagem.builder()
+                            .usuario("usuario" + (i % 1_000)).conteudo("conteúdo da mensagem " + i).build());
+                mensagemService.registrarMensagens(lote);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void apagar() throws IOException {
+        FileSystemUtils.deleteRecursively(diretorio);
+    }
+
+    @Benchmark
+    public int reabrir() {
+        var log = new LogMensagens(diretorio.toString(), TAMANHO_SEGMENTO, false, 0.5);
+        try {
+            return log.quantidade();
+        } finally {
+            log.fechar();
+        }
+    }
+
+}
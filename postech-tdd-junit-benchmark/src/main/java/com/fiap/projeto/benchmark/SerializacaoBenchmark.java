@@ -0,0 +1,70 @@
+package com.fiap.projeto.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fiap.projeto.model.Mensagem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização e desserialização de uma {@link Mensagem} com um ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private Mensagem mensagem;
+    private byte[] json;
+    private ObjectMapper objectMapper;
+    private ObjectWriter escritor;
+    private ObjectReader leitor;
+
+    @Setup
+    public void iniciar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        escritor = objectMapper.writerFor(Mensagem.class);
+        leitor = objectMapper.readerFor(Mensagem.class);
+
+        mensagem = Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario("Gabriel")
+                .conteudo("Conteúdo da mensagem com acentuação e tamanho parecido com o de produção")
+                .build();
+        json = escritor.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return escritor.writeValueAsBytes(mensagem);
+    }
+
+    @Benchmark
+    public Mensagem desserializar() throws IOException {
+        return leitor.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] serializarComObjectMapper() throws IOException {
+        // como o asJsonString dos testes: resolve o serializador pelo tipo a cada chamada
+        return objectMapper.writeValueAsBytes(mensagem);
+    }
+
+}
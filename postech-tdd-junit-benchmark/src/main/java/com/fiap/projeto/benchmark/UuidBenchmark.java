@@ -0,0 +1,45 @@
+package com.fiap.projeto.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O {@code UUID.fromString} que os endpoints com {@code /{id}} fazem no caminho, válido e inválido;
+ * o inválido inclui o custo da exceção que o controller transforma em 400.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UuidBenchmark {
+
+    public String valido = "d7f82637-2cdb-4893-9e18-13d3eba94f0e";
+    public String invalido = "id-invalido";
+
+    @Benchmark
+    public UUID converterValido() {
+        return UUID.fromString(valido);
+    }
+
+    @Benchmark
+    public Object converterInvalido() {
+        try {
+            return UUID.fromString(invalido);
+        } catch (IllegalArgumentException ex) {
+            return ex;
+        }
+    }
+
+}
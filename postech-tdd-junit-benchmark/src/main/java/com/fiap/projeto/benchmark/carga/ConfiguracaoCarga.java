@@ -0,0 +1,44 @@
+package com.fiap.projeto.benchmark.carga;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Parâmetros do {@link GeradorCarga}, lidos dos argumentos no formato {@code chave=valor}.
+ *
+ * @param taxa        requisições por segundo, fixas e independentes do tempo de resposta (modelo aberto)
+ * @param aquecimento carga na mesma taxa antes da medição, descartada do relatório
+ * @param duracao     tempo de medição
+ * @param mix         proporção de cada operação
+ * @param mensagens   mensagens criadas antes do aquecimento, para GET, PUT e DELETE terem o que buscar
+ * @param pendentes   limite de requisições em andamento; além dele a requisição é contada como não enviada
+ * @param url         servidor já em execução; vazio sobe a aplicação numa porta aleatória com H2 em memória
+ * @param resultado   arquivo JSON com o relatório, para comparar com execuções anteriores
+ */
+record ConfiguracaoCarga(int taxa, Duration aquecimento, Duration duracao, MixOperacoes mix, int mensagens,
+                         int pendentes, String url, Path resultado) {
+
+    static final String MIX_PADRAO = "criar=10,buscar=60,listar=10,alterar=10,remover=10";
+
+    static ConfiguracaoCarga de(Map<String, String> valores) {
+        var configuracao = new ConfiguracaoCarga(
+                Integer.parseInt(valores.getOrDefault("taxa", "200")),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("aquecimento", "30"))),
+                Duration.ofSeconds(Long.parseLong(valores.getOrDefault("duracao", "30"))),
+                MixOperacoes.de(valores.getOrDefault("mix", MIX_PADRAO)),
+                Integer.parseInt(valores.getOrDefault("mensagens", "10000")),
+                Integer.parseInt(valores.getOrDefault("pendentes", "2000")),
+                valores.getOrDefault("url", ""),
+                Path.of(valores.getOrDefault("resultado", "target/carga-resultado.json")));
+
+        if (configuracao.taxa() <= 0)
+            throw new IllegalArgumentException("taxa deve ser positiva");
+        if (configuracao.duracao().isZero() || configuracao.duracao().isNegative())
+            throw new IllegalArgumentException("duracao deve ser positiva");
+        if (configuracao.pendentes() <= 0)
+            throw new IllegalArgumentException("pendentes deve ser positivo");
+        return configuracao;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.fiap.projeto.benchmark.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramas (em microssegundos) e contadores de uma operação. As respostas chegam em várias threads ao mesmo tempo.
+ * <p>
+ * A latência é medida a partir do instante em que a requisição deveria ter saído pelo agendamento, e não de quando
+ * saiu de fato: se o gerador ou o cliente atrasam porque o servidor está lento, esse atraso entra na conta
+ * (correção de coordinated omission). O tempo de serviço, medido a partir do envio real, fica ao lado para comparação.
+ */
+class EstatisticasOperacao {
+
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Histogram latencia = new ConcurrentHistogram(MAXIMO_MICROS, 3);
+    private final Histogram servico = new ConcurrentHistogram(MAXIMO_MICROS, 3);
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder naoEnviadas = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+
+    void registrar(long agendadaNanos, long enviadaNanos, long concluidaNanos, boolean sucesso) {
+        latencia.recordValue(emMicros(concluidaNanos - agendadaNanos));
+        servico.recordValue(emMicros(concluidaNanos - enviadaNanos));
+        if (!sucesso)
+            erros.increment();
+    }
+
+    /**
+     * Requisição que não saiu porque o limite de requisições pendentes foi atingido. Conta como erro, e também à
+     * parte em {@link #naoEnviadas()}. Sem resposta não há latência, então ela fica fora dos histogramas: com o
+     * servidor saturado os percentis cobrem só as enviadas e subestimam a cauda.
+     */
+    void registrarNaoEnviada() {
+        erros.increment();
+        naoEnviadas.increment();
+    }
+
+    /**
+     * Resposta 503 do controle de admissão. Conta como erro, e também à parte em {@link #recusadas()}. Fica fora dos
+     * histogramas para os percentis descreverem as requisições atendidas: com o servidor sobrecarregado as recusas
+     * são rápidas e puxariam a mediana para baixo.
+     */
+    void registrarRecusada() {
+        erros.increment();
+        recusadas.increment();
+    }
+
+    void acumularEm(EstatisticasOperacao total) {
+        total.latencia.add(latencia);
+        total.servico.add(servico);
+        total.erros.add(erros.sum());
+        total.naoEnviadas.add(naoEnviadas.sum());
+        total.recusadas.add(recusadas.sum());
+    }
+
+    Histogram latencia() {
+        return latencia;
+    }
+
+    Histogram servico() {
+        return servico;
+    }
+
+    long erros() {
+        return erros.sum();
+    }
+
+    long naoEnviadas() {
+        return naoEnviadas.sum();
+    }
+
+    long recusadas() {
+        return recusadas.sum();
+    }
+
+    private static long emMicros(long nanos) {
+        return Math.min(MAXIMO_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.fiap.projeto.benchmark.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.transmissao.TransmissaoMensagens;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Abre N conexões no GET /mensagens/stream, registra mensagens pelo POST /mensagens e mede o tempo entre o registro
+ * e a chegada do evento em cada assinante. O conteúdo de cada mensagem é o System.nanoTime() do envio, lido de
+ * volta pelo assinante: por isso a aplicação sobe sempre nesta mesma JVM, sem a opção {@code url=} do
+ * {@link GeradorCarga}. Cada conexão ocupa dois descritores de arquivo no processo (cliente e servidor): confira o
+ * {@code ulimit -n} antes de aumentar os assinantes. Argumentos no formato {@code --chave=valor} são repassados ao
+ * Spring.
+ *
+ * <pre>
+ * mvn compile exec:exec@assinantes -Dassinantes.args="assinantes=2000 eventos=50 intervalo=20"
+ * </pre>
+ */
+public class GeradorAssinantes {
+
+    private static final Pattern CONTEUDO = Pattern.compile("\"conteudo\":\"(\\d+)\"");
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double[] PERCENTIS = {50, 99, 99.9};
+
+    private final int assinantes;
+    private final int eventos;
+    private final Duration intervalo;
+    private final URI base;
+    private final HttpClient cliente;
+    private final ExecutorService leitores;
+    private final Histogram latencia = new ConcurrentHistogram(MAXIMO_MICROS, 3);
+    private final LongAdder recebidos = new LongAdder();
+
+    GeradorAssinantes(int assinantes, int eventos, Duration intervalo, URI base, HttpClient cliente,
+                      ExecutorService leitores) {
+        this.assinantes = assinantes;
+        this.eventos = eventos;
+        this.intervalo = intervalo;
+        this.base = base;
+        this.cliente = cliente;
+        this.leitores = leitores;
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opcoes = new HashMap<String, String>();
+        var argumentosSpring = new ArrayList<String>();
+        for (var argumento : args) {
+            var separador = argumento.indexOf('=');
+            if (separador <= 0)
+                throw new IllegalArgumentException("argumento inválido, use chave=valor: " + argumento);
+
+            if (argumento.startsWith("--"))
+                argumentosSpring.add(argumento);
+            else
+                opcoes.put(argumento.substring(0, separador), argumento.substring(separador + 1));
+        }
+        var assinantes = Integer.parseInt(opcoes.getOrDefault("assinantes", "2000"));
+        var eventos = Integer.parseInt(opcoes.getOrDefault("eventos", "50"));
+        var intervalo = Duration.ofMillis(Long.parseLong(opcoes.getOrDefault("intervalo", "20")));
+        var resultado = Path.of(opcoes.getOrDefault("resultado", "target/assinantes-resultado.json"));
+
+        var argumentos = new ArrayList<>(List.of("--server.port=0",
+                "--server.tomcat.max-connections=" + (assinantes + 100),
+                "--mensagem.stream.maximo-assinantes=" + assinantes,
+                "--spring.datasource.url=jdbc:h2:mem:assinantes",
+                "--spring.sql.init.mode=never",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=warn"));
+        argumentos.addAll(argumentosSpring);
+
+        try (var contexto = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                .run(argumentos.toArray(String[]::new))) {
+            var base = URI.create("http://localhost:" + contexto.getEnvironment().getProperty("local.server.port"));
+            var leitores = Executors.newVirtualThreadPerTaskExecutor();
+            var cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+            Map<String, Object> relatorio;
+            try {
+                relatorio = new GeradorAssinantes(assinantes, eventos, intervalo, base, cliente, leitores)
+                        .executar(contexto, System.out);
+            } finally {
+                // close() esperaria as conexões dos assinantes que não receberam todos os eventos
+                cliente.shutdownNow();
+                leitores.shutdownNow();
+            }
+
+            var arquivo = resultado.toAbsolutePath();
+            Files.createDirectories(arquivo.getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+            System.out.printf("%nrelatório gravado em %s%n", arquivo);
+        }
+    }
+
+    Map<String, Object> executar(ConfigurableApplicationContext contexto, PrintStream saida)
+            throws IOException, InterruptedException {
+        var concluidos = conectar(contexto.getBean(TransmissaoMensagens.class));
+
+        var inicio = System.nanoTime();
+        publicar();
+        concluidos.await(1, TimeUnit.MINUTES);
+        var segundos = (System.nanoTime() - inicio) / 1e9;
+
+        var desconectadosLentos = contexto.getBean(MeterRegistry.class)
+                .counter("mensagem.stream.desconectados", "motivo", "lento").count();
+        var percentis = new LinkedHashMap<String, Double>();
+        for (var percentil : PERCENTIS)
+            percentis.put("p" + (percentil % 1 == 0 ? String.valueOf((int) percentil) : String.valueOf(percentil)),
+                    latencia.getValueAtPercentile(percentil) / 1_000.0);
+        percentis.put("max", latencia.getMaxValue() / 1_000.0);
+
+        saida.printf("%n%d assinantes, %d eventos a cada %d ms%n", assinantes, eventos, intervalo.toMillis());
+        saida.printf("%-24s %d de %d%n", "entregas", recebidos.sum(), (long) assinantes * eventos);
+        saida.printf("%-24s %.0f%n", "entregas/s", recebidos.sum() / segundos);
+        percentis.forEach((nome, valor) -> saida.printf("%-24s %.2f%n", nome + " (ms)", valor));
+        saida.printf("%-24s %.0f%n", "desconectados lentos", desconectadosLentos);
+
+        var relatorio = new LinkedHashMap<String, Object>();
+        relatorio.put("assinantes", assinantes);
+        relatorio.put("eventos", eventos);
+        relatorio.put("intervaloMs", intervalo.toMillis());
+        relatorio.put("entregas", recebidos.sum());
+        relatorio.put("entregasEsperadas", (long) assinantes * eventos);
+        relatorio.put("entregasPorSegundo", recebidos.sum() / segundos);
+        relatorio.put("latenciaMs", percentis);
+        relatorio.put("desconectadosLentos", desconectadosLentos);
+        return relatorio;
+    }
+
+    /**
+     * Abre as conexões e espera todas ficarem registradas na transmissão, para o primeiro evento chegar a todos.
+     *
+     * @return contagem que chega a zero quando cada assinante recebeu todos os eventos ou perdeu a conexão
+     */
+    private CountDownLatch conectar(TransmissaoMensagens transmissao) throws InterruptedException {
+        var stream = HttpRequest.newBuilder(base.resolve("/mensagens/stream")).build();
+        var conectados = new CountDownLatch(assinantes);
+        var concluidos = new CountDownLatch(assinantes);
+        for (int i = 0; i < assinantes; i++) {
+            leitores.submit(() -> {
+                try (var linhas = cliente.send(stream, HttpResponse.BodyHandlers.ofLines()).body()) {
+                    conectados.countDown();
+                    linhas.filter(linha -> linha.startsWith("data:"))
+                            .map(CONTEUDO::matcher)
+                            .filter(conteudo -> conteudo.find())
+                            .limit(eventos)
+                            .forEach(conteudo -> registrar(Long.parseLong(conteudo.group(1))));
+                } finally {
+                    concluidos.countDown();
+                }
+                return null;
+            });
+        }
+
+        if (!conectados.await(2, TimeUnit.MINUTES))
+            throw new IllegalStateException(conectados.getCount() + " assinantes sem conexão após 2 minutos");
+        var limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (transmissao.quantidadeAssinantes() < assinantes && System.nanoTime() < limite)
+            Thread.sleep(10);
+        return concluidos;
+    }
+
+    private void publicar() throws IOException, InterruptedException {
+        for (int i = 0; i < eventos; i++) {
+            var resposta = cliente.send(HttpRequest.newBuilder(base.resolve("/mensagens"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    "{\"usuario\":\"assinantes\",\"conteudo\":\"" + System.nanoTime() + "\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (resposta.statusCode() != 201)
+                throw new IllegalStateException("falha ao registrar mensagem: " + resposta.statusCode());
+            Thread.sleep(intervalo);
+        }
+    }
+
+    private void registrar(long enviadaNanos) {
+        var micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - enviadaNanos);
+        latencia.recordValue(Math.min(MAXIMO_MICROS, micros));
+        recebidos.increment();
+    }
+
+}
@@ -0,0 +1,219 @@
+package com.fiap.projeto.benchmark.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.PostechTddJunitApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gerador de carga HTTP para a API de mensagens, em modelo aberto: as requisições saem numa taxa fixa, no horário
+ * agendado, sem esperar as respostas anteriores. Um servidor lento acumula requisições em andamento em vez de
+ * reduzir a carga, como acontece com usuários reais.
+ * <p>
+ * Por padrão sobe a aplicação nesta mesma JVM, numa porta aleatória e com H2 em memória. Com {@code url=} mira um
+ * servidor já em execução, o que evita disputar CPU com o gerador. Argumentos no formato {@code --chave=valor}
+ * são repassados ao Spring, por exemplo {@code --spring.cache.type=none}.
+ *
+ * <pre>
+ * mvn compile exec:exec@carga -Dcarga.args="taxa=500 duracao=60 mix=buscar=80,criar=20"
+ * </pre>
+ * Para comparar o controle de admissão, repita uma carga acima da capacidade do servidor com
+ * {@code --mensagem.admissao.habilitada=false} e {@code true}: com ele as respostas 503 aparecem na coluna de
+ * recusadas e a latência das atendidas deve ficar perto da de um servidor sem fila.
+ */
+public class GeradorCarga {
+
+    private static final int LOTE = 1_000;
+    private static final Duration ESPERA_PENDENTES = Duration.ofSeconds(60);
+
+    private static final Map<String, String> ARGUMENTOS_APLICACAO = Map.of(
+            "server.port", "0",
+            "spring.datasource.url", "jdbc:h2:mem:carga",
+            "spring.sql.init.mode", "never",
+            "spring.main.banner-mode", "off",
+            "logging.level.root", "warn");
+
+    private final ConfiguracaoCarga configuracao;
+    private final URI base;
+    private final HttpClient cliente;
+    private final ObjectMapper objectMapper;
+    private final PoolIds ids = new PoolIds();
+    private final Semaphore pendentes;
+    // semente fixa para a sequência de operações ser a mesma entre execuções
+    private final SplittableRandom aleatorio = new SplittableRandom(42);
+
+    GeradorCarga(ConfiguracaoCarga configuracao, URI base, HttpClient cliente, ObjectMapper objectMapper) {
+        this.configuracao = configuracao;
+        this.base = base;
+        this.cliente = cliente;
+        this.objectMapper = objectMapper;
+        this.pendentes = new Semaphore(configuracao.pendentes());
+    }
+
+    public static void main(String[] args) throws Exception {
+        var opcoes = new HashMap<String, String>();
+        var argumentosSpring = new LinkedHashMap<>(ARGUMENTOS_APLICACAO);
+        for (var argumento : args) {
+            var separador = argumento.indexOf('=');
+            if (separador <= 0)
+                throw new IllegalArgumentException("argumento inválido, use chave=valor: " + argumento);
+
+            if (argumento.startsWith("--"))
+                argumentosSpring.put(argumento.substring(2, separador), argumento.substring(separador + 1));
+            else
+                opcoes.put(argumento.substring(0, separador), argumento.substring(separador + 1));
+        }
+        var configuracao = ConfiguracaoCarga.de(opcoes);
+
+        ConfigurableApplicationContext contexto = null;
+        var url = configuracao.url();
+        if (url.isBlank()) {
+            contexto = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                    .run(argumentosSpring.entrySet().stream()
+                            .map(argumento -> "--" + argumento.getKey() + "=" + argumento.getValue())
+                            .toArray(String[]::new));
+            url = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+             var cliente = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(5))
+                     .executor(executor)
+                     .build()) {
+            var objectMapper = new ObjectMapper();
+            var relatorio = new GeradorCarga(configuracao, URI.create(url), cliente, objectMapper).executar();
+            relatorio.imprimir(System.out);
+            relatorio.gravar(objectMapper);
+            System.out.printf("%nrelatório gravado em %s%n", configuracao.resultado().toAbsolutePath());
+        } finally {
+            if (contexto != null)
+                contexto.close();
+        }
+    }
+
+    RelatorioCarga executar() throws IOException, InterruptedException {
+        popular();
+
+        disparar(configuracao.aquecimento(), novasEstatisticas());
+        aguardarPendentes();
+
+        var estatisticas = novasEstatisticas();
+        var inicio = System.nanoTime();
+        disparar(configuracao.duracao(), estatisticas);
+        aguardarPendentes();
+        return new RelatorioCarga(configuracao, estatisticas, Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    private void popular() throws IOException, InterruptedException {
+        for (int criadas = 0; criadas < configuracao.mensagens(); criadas += LOTE) {
+            var lote = new ArrayList<Map<String, String>>(LOTE);
+            for (int i = 0; i < Math.min(LOTE, configuracao.mensagens() - criadas); i++)
+                lote.add(Map.of("usuario", "carga", "conteudo", "mensagem inicial " + (criadas + i)));
+
+            var resposta = cliente.send(HttpRequest.newBuilder(base.resolve("/mensagens/lote"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(lote)))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() != 201)
+                throw new IllegalStateException("falha ao popular mensagens: " + resposta.statusCode() + " " + resposta.body());
+
+            ids.adicionarTodos(List.of(objectMapper.readValue(resposta.body(), UUID[].class)));
+        }
+    }
+
+    private void disparar(Duration duracao, Map<Operacao, EstatisticasOperacao> estatisticas) {
+        var total = duracao.toSeconds() * configuracao.taxa();
+        var intervaloNanos = 1_000_000_000.0 / configuracao.taxa();
+        var inicio = System.nanoTime();
+
+        for (long i = 0; i < total; i++) {
+            var agendada = inicio + (long) (i * intervaloNanos);
+            long restante;
+            while ((restante = agendada - System.nanoTime()) > 0)
+                LockSupport.parkNanos(restante);
+
+            enviar(configuracao.mix().sortear(aleatorio.nextDouble()), agendada, estatisticas);
+        }
+    }
+
+    private void enviar(Operacao sorteada, long agendada, Map<Operacao, EstatisticasOperacao> estatisticas) {
+        var operacao = sorteada;
+        UUID id = null;
+        if (operacao.precisaId()) {
+            id = operacao == Operacao.REMOVER ? ids.retirar() : ids.sortear();
+            // sem mensagens para buscar, alterar ou remover: cria uma, mantendo a taxa
+            if (id == null)
+                operacao = Operacao.CRIAR;
+        }
+
+        var dados = estatisticas.get(operacao);
+        if (!pendentes.tryAcquire()) {
+            dados.registrarNaoEnviada();
+            if (operacao == Operacao.REMOVER)
+                ids.adicionar(id);
+            return;
+        }
+
+        var enviada = System.nanoTime();
+        var operacaoEnviada = operacao;
+        var idEnviado = id;
+        cliente.sendAsync(operacao.requisicao(base, id), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((resposta, erro) -> {
+                    var concluida = System.nanoTime();
+                    pendentes.release();
+
+                    var sucesso = erro == null && resposta.statusCode() < 400;
+                    if (erro == null && resposta.statusCode() == 503)
+                        dados.registrarRecusada();
+                    else
+                        dados.registrar(agendada, enviada, concluida, sucesso);
+                    if (sucesso && operacaoEnviada == Operacao.CRIAR)
+                        ids.adicionar(idCriado(resposta.body()));
+                    else if (!sucesso && operacaoEnviada == Operacao.REMOVER)
+                        ids.adicionar(idEnviado);
+                });
+    }
+
+    private UUID idCriado(String corpo) {
+        try {
+            return UUID.fromString(objectMapper.readTree(corpo).get("id").asText());
+        } catch (IOException ex) {
+            throw new IllegalStateException("resposta do POST sem id: " + corpo, ex);
+        }
+    }
+
+    private void aguardarPendentes() throws InterruptedException {
+        if (!pendentes.tryAcquire(configuracao.pendentes(), ESPERA_PENDENTES.toMillis(), TimeUnit.MILLISECONDS))
+            throw new IllegalStateException("requisições sem resposta após " + ESPERA_PENDENTES.toSeconds() + " s");
+        pendentes.release(configuracao.pendentes());
+    }
+
+    private static Map<Operacao, EstatisticasOperacao> novasEstatisticas() {
+        var estatisticas = new EnumMap<Operacao, EstatisticasOperacao>(Operacao.class);
+        for (var operacao : Operacao.values())
+            estatisticas.put(operacao, new EstatisticasOperacao());
+        return estatisticas;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.fiap.projeto.benchmark.carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Proporção de cada {@link Operacao} na carga, no formato {@code criar=10,buscar=60,listar=10,alterar=10,remover=10}.
+ * Os pesos não precisam somar 100.
+ */
+record MixOperacoes(Map<Operacao, Integer> pesos, int total) {
+
+    static MixOperacoes de(String especificacao) {
+        var pesos = new EnumMap<Operacao, Integer>(Operacao.class);
+        for (var item : especificacao.split(",")) {
+            var partes = item.trim().split("=");
+            if (partes.length != 2)
+                throw new IllegalArgumentException("mix inválido: " + item);
+
+            var operacao = Operacao.valueOf(partes[0].trim().toUpperCase(Locale.ROOT));
+            var peso = Integer.parseInt(partes[1].trim());
+            if (peso < 0)
+                throw new IllegalArgumentException("peso negativo: " + item);
+            pesos.put(operacao, peso);
+        }
+
+        var total = pesos.values().stream().mapToInt(Integer::intValue).sum();
+        if (total == 0)
+            throw new IllegalArgumentException("mix sem operações");
+        return new MixOperacoes(pesos, total);
+    }
+
+    /**
+     * @param sorteio valor uniforme em [0, 1)
+     */
+    Operacao sortear(double sorteio) {
+        var alvo = (int) (sorteio * total);
+        for (var peso : pesos.entrySet()) {
+            alvo -= peso.getValue();
+            if (alvo < 0)
+                return peso.getKey();
+        }
+        throw new IllegalStateException("sorteio fora de [0, 1): " + sorteio);
+    }
+
+    @Override
+    public String toString() {
+        var texto = new StringBuilder();
+        pesos.forEach((operacao, peso) -> texto.append(texto.isEmpty() ? "" : ",")
+                .append(operacao.name().toLowerCase(Locale.ROOT)).append('=').append(peso));
+        return texto.toString();
+    }
+
+}
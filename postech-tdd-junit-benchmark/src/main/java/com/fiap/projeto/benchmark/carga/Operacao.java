@@ -0,0 +1,76 @@
+package com.fiap.projeto.benchmark.carga;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.UUID;
+
+/**
+ * Requisições que o {@link GeradorCarga} envia para a API de mensagens.
+ */
+enum Operacao {
+
+    CRIAR("POST /mensagens", false) {
+        @Override
+        HttpRequest requisicao(URI base, UUID id) {
+            return json(base.resolve("/mensagens"))
+                    .POST(HttpRequest.BodyPublishers.ofString(corpo(null)))
+                    .build();
+        }
+    },
+    BUSCAR("GET /mensagens/{id}", true) {
+        @Override
+        HttpRequest requisicao(URI base, UUID id) {
+            return HttpRequest.newBuilder(base.resolve("/mensagens/" + id)).GET().build();
+        }
+    },
+    LISTAR("GET /mensagens/listar", false) {
+        @Override
+        HttpRequest requisicao(URI base, UUID id) {
+            return HttpRequest.newBuilder(base.resolve("/mensagens/listar?page=0&size=10")).GET().build();
+        }
+    },
+    ALTERAR("PUT /mensagens/{id}", true) {
+        @Override
+        HttpRequest requisicao(URI base, UUID id) {
+            return json(base.resolve("/mensagens/" + id))
+                    .PUT(HttpRequest.BodyPublishers.ofString(corpo(id)))
+                    .build();
+        }
+    },
+    REMOVER("DELETE /mensagens/{id}", true) {
+        @Override
+        HttpRequest requisicao(URI base, UUID id) {
+            return HttpRequest.newBuilder(base.resolve("/mensagens/" + id)).DELETE().build();
+        }
+    };
+
+    private final String descricao;
+    private final boolean precisaId;
+
+    Operacao(String descricao, boolean precisaId) {
+        this.descricao = descricao;
+        this.precisaId = precisaId;
+    }
+
+    abstract HttpRequest requisicao(URI base, UUID id);
+
+    String descricao() {
+        return descricao;
+    }
+
+    boolean precisaId() {
+        return precisaId;
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+    }
+
+    private static String corpo(UUID id) {
+        var campoId = id == null ? "" : "\"id\":\"" + id + "\",";
+        return "{" + campoId + "\"usuario\":\"carga\",\"conteudo\":\"mensagem gerada pelo teste de carga\"}";
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.fiap.projeto.benchmark.carga;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids das mensagens que existem no servidor, para as operações que precisam de um id.
+ * O DELETE tira o id do pool ao ser agendado, então GET e PUT posteriores não miram uma mensagem já removida.
+ */
+class PoolIds {
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    synchronized void adicionar(UUID id) {
+        ids.add(id);
+    }
+
+    synchronized void adicionarTodos(Collection<UUID> novos) {
+        ids.addAll(novos);
+    }
+
+    /**
+     * @return um id aleatório, ou {@code null} se o pool estiver vazio
+     */
+    synchronized UUID sortear() {
+        return ids.isEmpty() ? null : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    /**
+     * Remove e devolve um id aleatório, ou {@code null} se o pool estiver vazio.
+     */
+    synchronized UUID retirar() {
+        if (ids.isEmpty())
+            return null;
+
+        // troca com o último para remover em O(1)
+        var posicao = ThreadLocalRandom.current().nextInt(ids.size());
+        var id = ids.get(posicao);
+        ids.set(posicao, ids.get(ids.size() - 1));
+        ids.remove(ids.size() - 1);
+        return id;
+    }
+
+    synchronized int tamanho() {
+        return ids.size();
+    }
+
+}
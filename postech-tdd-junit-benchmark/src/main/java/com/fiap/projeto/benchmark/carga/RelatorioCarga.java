@@ -0,0 +1,117 @@
+package com.fiap.projeto.benchmark.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Imprime o resultado da carga e grava o mesmo conteúdo em JSON.
+ */
+class RelatorioCarga {
+
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private final ConfiguracaoCarga configuracao;
+    private final Map<Operacao, EstatisticasOperacao> estatisticas;
+    private final EstatisticasOperacao total = new EstatisticasOperacao();
+    private final Duration medido;
+
+    RelatorioCarga(ConfiguracaoCarga configuracao, Map<Operacao, EstatisticasOperacao> estatisticas, Duration medido) {
+        this.configuracao = configuracao;
+        this.estatisticas = estatisticas;
+        this.medido = medido;
+        estatisticas.values().forEach(operacao -> operacao.acumularEm(total));
+    }
+
+    void imprimir(PrintStream saida) {
+        saida.printf("%ntaxa alvo %d req/s, %d s medidos, mix %s%n", configuracao.taxa(),
+                medido.toSeconds(), configuracao.mix());
+
+        saida.printf("%nlatência das requisições atendidas, desde o envio agendado (ms); "
+                + "os erros incluem as recusadas (503) e as não enviadas%n");
+        saida.printf("%-22s %9s %7s %9s %9s %9s %9s %9s %9s %9s %9s%n", "operação", "respostas", "erros",
+                "503", "não env.", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        estatisticas.forEach((operacao, dados) -> imprimirLinha(saida, operacao.descricao(), dados));
+        imprimirLinha(saida, "total", total);
+        if (total.naoEnviadas() > 0)
+            saida.printf("%d requisições não saíram pelo limite de pendentes e não estão nos percentis, "
+                    + "que subestimam a cauda%n", total.naoEnviadas());
+        if (total.recusadas() > 0)
+            saida.printf("%d requisições recusadas com 503 pelo controle de admissão não estão nos percentis%n",
+                    total.recusadas());
+
+        saida.printf("%ntempo de serviço desde o envio real (ms)%n");
+        saida.printf("%-22s %9s %9s %9s%n", "operação", "p50", "p99", "max");
+        estatisticas.forEach((operacao, dados) -> imprimirServico(saida, operacao.descricao(), dados.servico()));
+        imprimirServico(saida, "total", total.servico());
+    }
+
+    void gravar(ObjectMapper objectMapper) throws IOException {
+        var operacoes = new LinkedHashMap<String, Object>();
+        estatisticas.forEach((operacao, dados) -> operacoes.put(operacao.descricao(), resumo(dados)));
+
+        var relatorio = new LinkedHashMap<String, Object>();
+        relatorio.put("taxa", configuracao.taxa());
+        relatorio.put("segundos", medido.toMillis() / 1000.0);
+        relatorio.put("mix", configuracao.mix().toString());
+        // as recusadas e as não enviadas entram em erros, mas não nos percentis
+        relatorio.put("percentis", "somente requisições enviadas e não recusadas");
+        relatorio.put("operacoes", operacoes);
+        relatorio.put("total", resumo(total));
+
+        var arquivo = configuracao.resultado().toAbsolutePath();
+        Files.createDirectories(arquivo.getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(arquivo.toFile(), relatorio);
+    }
+
+    private void imprimirLinha(PrintStream saida, String descricao, EstatisticasOperacao dados) {
+        var latencia = dados.latencia();
+        saida.printf("%-22s %9d %7d %9d %9d %9.1f", descricao, latencia.getTotalCount(), dados.erros(),
+                dados.recusadas(), dados.naoEnviadas(), vazao(latencia));
+        for (var percentil : PERCENTIS)
+            saida.printf(" %9.2f", emMillis(latencia.getValueAtPercentile(percentil)));
+        saida.printf(" %9.2f%n", emMillis(latencia.getMaxValue()));
+    }
+
+    private void imprimirServico(PrintStream saida, String descricao, Histogram servico) {
+        saida.printf("%-22s %9.2f %9.2f %9.2f%n", descricao, emMillis(servico.getValueAtPercentile(50)),
+                emMillis(servico.getValueAtPercentile(99)), emMillis(servico.getMaxValue()));
+    }
+
+    private Map<String, Object> resumo(EstatisticasOperacao dados) {
+        var resumo = new LinkedHashMap<String, Object>();
+        resumo.put("respostas", dados.latencia().getTotalCount());
+        resumo.put("erros", dados.erros());
+        resumo.put("recusadas", dados.recusadas());
+        resumo.put("naoEnviadas", dados.naoEnviadas());
+        resumo.put("vazao", vazao(dados.latencia()));
+        resumo.put("latenciaMs", percentis(dados.latencia()));
+        resumo.put("servicoMs", percentis(dados.servico()));
+        return resumo;
+    }
+
+    private static Map<String, Double> percentis(Histogram histograma) {
+        var valores = new LinkedHashMap<String, Double>();
+        for (var percentil : PERCENTIS)
+            valores.put("p" + (percentil % 1 == 0 ? String.valueOf((int) percentil) : String.valueOf(percentil)),
+                    emMillis(histograma.getValueAtPercentile(percentil)));
+        valores.put("max", emMillis(histograma.getMaxValue()));
+        return valores;
+    }
+
+    private double vazao(Histogram latencia) {
+        return latencia.getTotalCount() / (medido.toNanos() / 1_000_000_000.0);
+    }
+
+    private static double emMillis(long micros) {
+        return micros / 1_000.0;
+    }
+
+}
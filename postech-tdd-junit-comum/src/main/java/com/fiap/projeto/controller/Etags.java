@@ -0,0 +1,81 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.Versionada;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * ETags fortes das mensagens. Saem da coluna de versão, então nenhum deles precisa serializar o corpo.
+ */
+public final class Etags {
+
+    private Etags() {
+    }
+
+    public static String deVersao(long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Resumo da página: número, tamanho e total, mais id e versão de cada mensagem.
+     */
+    public static String dePagina(int numero, int tamanho, long total, List<? extends Versionada> mensagens) {
+        var buffer = ByteBuffer.allocate(Integer.BYTES * 2 + Long.BYTES * (1 + 3 * mensagens.size()))
+                .putInt(numero)
+                .putInt(tamanho)
+                .putLong(total);
+        for (var mensagem : mensagens) {
+            var id = mensagem.getId();
+            buffer.putLong(id == null ? 0 : id.getMostSignificantBits())
+                    .putLong(id == null ? 0 : id.getLeastSignificantBits())
+                    .putLong(mensagem.getVersao());
+        }
+
+        var resumo = Arrays.copyOf(sha256().digest(buffer.array()), 16);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(resumo) + "\"";
+    }
+
+    /**
+     * If-None-Match com {@code *} ou uma lista de ETags; usa a comparação fraca que a RFC 9110 pede para GET.
+     */
+    public static boolean corresponde(String ifNoneMatch, String etag) {
+        for (var candidato : ifNoneMatch.split(",")) {
+            var valor = candidato.trim();
+            if (valor.startsWith("W/"))
+                valor = valor.substring(2);
+            if (valor.equals("*") || valor.equals(etag))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Versão de um If-Match com um único ETag forte gerado por {@link #deVersao}; vazio para qualquer outro valor,
+     * que por isso nunca corresponde.
+     */
+    public static OptionalLong versaoDe(String ifMatch) {
+        var valor = ifMatch.trim();
+        if (valor.length() < 3 || valor.charAt(0) != '"' || valor.charAt(valor.length() - 1) != '"')
+            return OptionalLong.empty();
+        try {
+            return OptionalLong.of(Long.parseLong(valor.substring(1, valor.length() - 1)));
+        } catch (NumberFormatException ex) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
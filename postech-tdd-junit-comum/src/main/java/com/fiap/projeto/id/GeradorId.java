@@ -0,0 +1,9 @@
+package com.fiap.projeto.id;
+
+import java.util.UUID;
+
+public interface GeradorId {
+
+    UUID gerar();
+
+}
@@ -0,0 +1,12 @@
+package com.fiap.projeto.id;
+
+import java.util.UUID;
+
+public class GeradorUuidV4 implements GeradorId {
+
+    @Override
+    public UUID gerar() {
+        return UUID.randomUUID();
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.fiap.projeto.id;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID versão 7 (RFC 9562): 48 bits de timestamp em milissegundos, 12 bits de contador e 62 bits aleatórios.
+ * Os ids crescem com o tempo, então as inserções caem sempre no fim do índice da chave primária.
+ */
+public class GeradorUuidV7 implements GeradorId {
+
+    private static final int BITS_CONTADOR = 12;
+    private static final long MASCARA_CONTADOR = (1L << BITS_CONTADOR) - 1;
+
+    // timestamp e contador do último id gerado, no formato (milissegundos << 12 | contador)
+    private final AtomicLong ultimo = new AtomicLong();
+
+    @Override
+    public UUID gerar() {
+        var agora = System.currentTimeMillis() << BITS_CONTADOR;
+
+        long anterior;
+        long proximo;
+        do {
+            anterior = ultimo.get();
+            // no mesmo milissegundo (ou se o relógio voltar) incrementa o contador;
+            // se o contador estourar, avança para o milissegundo seguinte e continua monotônico
+            proximo = Math.max(agora, anterior + 1);
+        } while (!ultimo.compareAndSet(anterior, proximo));
+
+        var mostSigBits = (proximo >>> BITS_CONTADOR) << 16
+                | 0x7000L
+                | (proximo & MASCARA_CONTADOR);
+        // ThreadLocalRandom evita a disputa pelo SecureRandom compartilhado de UUID.randomUUID()
+        var leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2
+                | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+}
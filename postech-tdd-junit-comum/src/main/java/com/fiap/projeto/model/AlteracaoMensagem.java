@@ -0,0 +1,12 @@
+package com.fiap.projeto.model;
+
+/**
+ * Campos de uma alteração parcial; os campos nulos não são alterados.
+ */
+public record AlteracaoMensagem(String usuario, String conteudo, Integer gostei) {
+
+    public boolean vazia() {
+        return usuario == null && conteudo == null && gostei == null;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.fiap.projeto.model;
+
+import java.util.List;
+
+/**
+ * Página sem total de registros: informa apenas se existe uma próxima.
+ */
+public record Fatia<T>(List<T> conteudo, int pagina, int tamanho, boolean temProxima) {
+}
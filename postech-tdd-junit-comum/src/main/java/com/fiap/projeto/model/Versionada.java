@@ -0,0 +1,14 @@
+package com.fiap.projeto.model;
+
+import java.util.UUID;
+
+/**
+ * O que o {@link com.fiap.projeto.controller.Etags} lê de cada mensagem de uma página.
+ */
+public interface Versionada {
+
+    UUID getId();
+
+    long getVersao();
+
+}
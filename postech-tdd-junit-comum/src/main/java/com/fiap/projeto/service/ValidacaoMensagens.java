@@ -0,0 +1,73 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Versionada;
+import jakarta.validation.Validator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Validações de entrada comuns aos serviços de mensagens. Todas falham com IllegalArgumentException e a mensagem
+ * que os controllers devolvem no 400.
+ */
+public final class ValidacaoMensagens {
+
+    private ValidacaoMensagens() {
+    }
+
+    public static void validar(Validator validator, Object mensagem) {
+        if (mensagem == null)
+            throw new IllegalArgumentException("mensagem vazia");
+        var violacoes = validator.validate(mensagem);
+        if (!violacoes.isEmpty())
+            throw new IllegalArgumentException(violacoes.iterator().next().getMessage());
+    }
+
+    /**
+     * Valida o lote inteiro antes de gravar qualquer mensagem e junta todos os erros, cada um com a posição.
+     */
+    public static void validarLote(Validator validator, List<?> mensagens) {
+        var erros = new ArrayList<String>();
+        for (int i = 0; i < mensagens.size(); i++) {
+            var mensagem = mensagens.get(i);
+            if (mensagem == null) {
+                erros.add("mensagem[" + i + "]: mensagem vazia");
+                continue;
+            }
+            for (var violacao : validator.validate(mensagem))
+                erros.add("mensagem[" + i + "]: " + violacao.getMessage());
+        }
+
+        if (!erros.isEmpty())
+            throw new IllegalArgumentException(String.join("; ", erros));
+    }
+
+    /**
+     * A mensagem que substitui a do {@code id} num PUT: mesmo id e campos válidos.
+     */
+    public static void validarSubstituicao(Validator validator, UUID id, Versionada novaMensagem) {
+        if (!id.equals(novaMensagem.getId()))
+            throw new IllegalArgumentException("id não pode ser alterado");
+        validar(validator, novaMensagem);
+    }
+
+    public static void validarAlteracao(AlteracaoMensagem alteracao) {
+        if (alteracao == null || alteracao.vazia())
+            throw new IllegalArgumentException("nenhum campo para alterar");
+        if (alteracao.usuario() != null && alteracao.usuario().isBlank())
+            throw new IllegalArgumentException("usuario preenchido de maneira incoreta");
+        if (alteracao.conteudo() != null && alteracao.conteudo().isBlank())
+            throw new IllegalArgumentException("conteúdo preenchido de maneira incoreta");
+        if (alteracao.gostei() != null && alteracao.gostei() < 0)
+            throw new IllegalArgumentException("gostei não pode ser negativo");
+    }
+
+    public static void validarPeriodo(LocalDateTime desde, LocalDateTime ate) {
+        if (desde != null && ate != null && !desde.isBefore(ate))
+            throw new IllegalArgumentException("desde deve ser anterior a ate");
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.fiap.projeto.service;
+
+/**
+ * A mensagem foi alterada depois da versão que o cliente informou.
+ */
+public class VersaoDivergenteException extends RuntimeException {
+
+    public VersaoDivergenteException(String message) {
+        super(message);
+    }
+
+}
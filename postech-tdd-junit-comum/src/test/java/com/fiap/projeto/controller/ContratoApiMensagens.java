@@ -0,0 +1,374 @@
+package com.fiap.projeto.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contrato HTTP de /mensagens, verificado pela rede contra o servidor em execução. O postech-tdd-junit e o
+ * postech-tdd-junit-reativo estendem esta classe num {@code @SpringBootTest} com porta aleatória, então as duas
+ * implementações respondem aos mesmos status, cabeçalhos e corpos. Cada teste usa um usuário próprio para não
+ * depender das mensagens que os outros deixaram no banco.
+ */
+public abstract class ContratoApiMensagens {
+
+    @Autowired
+    protected WebTestClient webTestClient;
+
+    private String usuario;
+
+    @BeforeEach
+    void gerarUsuario() {
+        usuario = "contrato-" + UUID.randomUUID();
+    }
+
+    @Test
+    void deveRegistrarMensagem() {
+        webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem("teste"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.usuario").isEqualTo(usuario)
+                .jsonPath("$.conteudo").isEqualTo("teste")
+                .jsonPath("$.gostei").isEqualTo(0)
+                .jsonPath("$.versao").isEqualTo(0)
+                .jsonPath("$.new").doesNotExist()
+                .jsonPath("$.nova").doesNotExist();
+    }
+
+    @Test
+    void deveRejeitarMensagemInvalida() {
+        registrarInvalida(mensagem(" "), "conteúdo preenchido de maneira incoreta");
+        registrarInvalida(Map.of("usuario", "", "conteudo", "teste"), "usuario preenchido de maneira incoreta");
+    }
+
+    @Test
+    void deveRegistrarMensagensEmLote() {
+        var ids = registrarLote(3);
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates();
+
+        webTestClient.get().uri("/mensagens/usuario/{usuario}?size=2", usuario)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.conteudo.length()").isEqualTo(2)
+                .jsonPath("$.pagina").isEqualTo(0)
+                .jsonPath("$.tamanho").isEqualTo(2)
+                .jsonPath("$.temProxima").isEqualTo(true);
+    }
+
+    @Test
+    void deveRejeitarLoteInvalido() {
+        registrarLoteInvalido(List.of(), "lote de mensagens vazio");
+        registrarLoteInvalido(List.of(mensagem("teste"), mensagem(" ")),
+                "mensagem[1]: conteúdo preenchido de maneira incoreta");
+    }
+
+    @Test
+    void deveBuscarMensagemComEtag() {
+        var id = registrar("teste");
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(id)
+                .jsonPath("$.conteudo").isEqualTo("teste");
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody().isEmpty();
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"5\"")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void deveResponderIdInvalido_buscarMensagem() {
+        for (var id : List.of("abc", UUID.randomUUID().toString()))
+            webTestClient.get().uri("/mensagens/{id}", id)
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody(String.class).isEqualTo("id inválido");
+    }
+
+    @Test
+    void deveListarMensagensComEtag() {
+        registrarLote(2);
+
+        var etag = webTestClient.get().uri("/mensagens/listar?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.number").isEqualTo(0)
+                .jsonPath("$.size").isEqualTo(2)
+                .jsonPath("$.totalElements").isNumber()
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/mensagens/listar?size=2")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void deveRejeitarParametrosInvalidos_listar() {
+        webTestClient.get().uri("/mensagens/listar?page=-1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        for (var rota : List.of("/mensagens/listar", "/mensagens/usuario/" + usuario))
+            webTestClient.get().uri(rota + "?desde=2024-02-01T00:00:00&ate=2024-01-01T00:00:00")
+                    .exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody(String.class).isEqualTo("desde deve ser anterior a ate");
+
+        webTestClient.get().uri("/mensagens/usuario/{usuario}?desde=ontem", usuario)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void deveFiltrarPeloPeriodo_listarMensagensDoUsuario() {
+        registrar("teste");
+        var agora = LocalDateTime.now();
+
+        webTestClient.get().uri(uri -> uri.path("/mensagens/usuario/{usuario}")
+                        .queryParam("desde", agora.minusDays(1))
+                        .queryParam("ate", agora.plusDays(1))
+                        .build(usuario))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.conteudo.length()").isEqualTo(1)
+                .jsonPath("$.conteudo[0].usuario").isEqualTo(usuario)
+                .jsonPath("$.temProxima").isEqualTo(false);
+
+        webTestClient.get().uri(uri -> uri.path("/mensagens/usuario/{usuario}")
+                        .queryParam("desde", agora.minusDays(2))
+                        .queryParam("ate", agora.minusDays(1))
+                        .build(usuario))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.conteudo.length()").isEqualTo(0);
+    }
+
+    @Test
+    void deveAlterarMensagemComIfMatch() {
+        var id = registrar("teste");
+        var alterada = Map.of("id", id, "usuario", usuario, "conteudo", "conteúdo alterado");
+
+        alterar(id, alterada, "\"0\"")
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.conteudo").isEqualTo("conteúdo alterado")
+                .jsonPath("$.versao").isEqualTo(1);
+
+        alterar(id, alterada, "\"0\"")
+                .expectStatus().isEqualTo(412)
+                .expectBody(String.class).isEqualTo("a mensagem não está mais na versão 0");
+
+        alterar(id, alterada, "abc")
+                .expectStatus().isEqualTo(412)
+                .expectBody(String.class).isEqualTo("If-Match não corresponde a uma versão da mensagem");
+
+        alterar(id, alterada, null)
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2\"");
+    }
+
+    @Test
+    void deveRejeitarAlteracaoInvalida() {
+        var id = registrar("teste");
+        var inexistente = UUID.randomUUID().toString();
+
+        for (var ifMatch : new String[]{null, "\"0\""}) {
+            alterar(id, Map.of("id", UUID.randomUUID().toString(), "usuario", usuario, "conteudo", "teste"), ifMatch)
+                    .expectStatus().isBadRequest()
+                    .expectBody(String.class).isEqualTo("id não pode ser alterado");
+
+            alterar(id, Map.of("id", id, "usuario", usuario, "conteudo", " "), ifMatch)
+                    .expectStatus().isBadRequest()
+                    .expectBody(String.class).isEqualTo("conteúdo preenchido de maneira incoreta");
+
+            alterar(inexistente, Map.of("id", inexistente, "usuario", usuario, "conteudo", "teste"), ifMatch)
+                    .expectStatus().isBadRequest()
+                    .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+        }
+    }
+
+    @Test
+    void deveAlterarMensagemParcialmente() {
+        var id = registrar("teste");
+
+        alterarParcialmente(id, Map.of("gostei", 5))
+                .expectStatus().isAccepted()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.gostei").isEqualTo(5)
+                .jsonPath("$.conteudo").isEqualTo("teste")
+                .jsonPath("$.versao").isEqualTo(1);
+
+        alterarParcialmente(id, Map.of())
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("nenhum campo para alterar");
+
+        alterarParcialmente(id, Map.of("conteudo", " "))
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("conteúdo preenchido de maneira incoreta");
+
+        alterarParcialmente(UUID.randomUUID().toString(), Map.of("gostei", 1))
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+    }
+
+    @Test
+    void deveRegistrarGostei() {
+        var id = registrar("teste");
+
+        webTestClient.post().uri("/mensagens/{id}/gostei", id)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody(String.class).isEqualTo("gostei registrado");
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.gostei").isEqualTo(1)
+                .jsonPath("$.versao").isEqualTo(1);
+
+        webTestClient.post().uri("/mensagens/{id}/gostei", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+    }
+
+    @Test
+    void deveRemoverMensagem() {
+        var id = registrar("teste");
+
+        webTestClient.delete().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("mensagem removida");
+
+        webTestClient.delete().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Mensagem não encontrada");
+
+        webTestClient.get().uri("/mensagens/{id}", id)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void deveRemoverMensagensPorIds() {
+        var ids = registrarLote(3);
+
+        webTestClient.delete().uri(uri -> uri.path("/mensagens").queryParam("ids", ids.toArray()).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.removidas").isEqualTo(3);
+
+        webTestClient.get().uri("/mensagens/usuario/{usuario}", usuario)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.conteudo.length()").isEqualTo(0);
+
+        webTestClient.delete().uri("/mensagens?ids=abc")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Map<String, Object> mensagem(String conteudo) {
+        return Map.of("usuario", usuario, "conteudo", conteudo);
+    }
+
+    private String registrar(String conteudo) {
+        var registrada = webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem(conteudo))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<Map<String, Object>>() {
+                }).returnResult().getResponseBody();
+        return (String) registrada.get("id");
+    }
+
+    private List<String> registrarLote(int quantidade) {
+        var mensagens = IntStream.range(0, quantidade)
+                .mapToObj(i -> mensagem("teste " + i))
+                .toList();
+        return webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagens)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(new ParameterizedTypeReference<List<String>>() {
+                }).returnResult().getResponseBody();
+    }
+
+    private void registrarInvalida(Map<String, ?> mensagem, String erro) {
+        webTestClient.post().uri("/mensagens")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagem)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo(erro);
+    }
+
+    private void registrarLoteInvalido(List<Map<String, Object>> mensagens, String erro) {
+        webTestClient.post().uri("/mensagens/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(mensagens)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo(erro);
+    }
+
+    private WebTestClient.ResponseSpec alterar(String id, Map<String, ?> mensagem, String ifMatch) {
+        var requisicao = webTestClient.put().uri("/mensagens/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (ifMatch != null)
+            requisicao.header(HttpHeaders.IF_MATCH, ifMatch);
+        return requisicao.bodyValue(mensagem).exchange();
+    }
+
+    private WebTestClient.ResponseSpec alterarParcialmente(String id, Map<String, ?> alteracao) {
+        return webTestClient.patch().uri("/mensagens/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(alteracao)
+                .exchange();
+    }
+
+}
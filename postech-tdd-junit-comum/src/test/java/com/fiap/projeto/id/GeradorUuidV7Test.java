@@ -0,0 +1,63 @@
+package com.fiap.projeto.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeradorUuidV7Test {
+
+    private final GeradorUuidV7 geradorId = new GeradorUuidV7();
+
+    @Test
+    void deveGerarUuidVersao7() {
+        var antes = System.currentTimeMillis();
+        var id = geradorId.gerar();
+        var depois = System.currentTimeMillis();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(antes, depois);
+    }
+
+    @Test
+    void deveGerarIdsCrescentes() {
+        var anterior = geradorId.gerar();
+
+        for (int i = 0; i < 100_000; i++) {
+            var atual = geradorId.gerar();
+            // compara como inteiros sem sinal, que é a ordem usada pelo banco para a coluna UUID
+            assertThat(Long.compareUnsigned(atual.getMostSignificantBits(), anterior.getMostSignificantBits()))
+                    .isPositive();
+            anterior = atual;
+        }
+    }
+
+    @Test
+    void deveGerarIdsUnicos_variasThreads() throws Exception {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var tarefas = new ArrayList<Future<?>>();
+            for (int t = 0; t < 8; t++) {
+                tarefas.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++)
+                        ids.add(geradorId.gerar());
+                }));
+            }
+            for (var tarefa : tarefas)
+                tarefa.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(ids).hasSize(8 * 50_000);
+    }
+
+}
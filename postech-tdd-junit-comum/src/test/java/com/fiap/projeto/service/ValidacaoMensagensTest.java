@@ -0,0 +1,87 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Versionada;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.NotBlank;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ValidacaoMensagensTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void deveGerarExcecao_mensagemInvalida() {
+        assertThatThrownBy(() -> ValidacaoMensagens.validar(validator, new MensagemFalsa(null, " ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("conteúdo preenchido de maneira incoreta");
+        assertThatThrownBy(() -> ValidacaoMensagens.validar(validator, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("mensagem vazia");
+    }
+
+    @Test
+    void deveJuntarErrosComPosicao_loteInvalido() {
+        var lote = Arrays.asList(new MensagemFalsa(null, "teste"), null, new MensagemFalsa(null, ""));
+
+        assertThatThrownBy(() -> ValidacaoMensagens.validarLote(validator, lote))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("mensagem[1]: mensagem vazia; mensagem[2]: conteúdo preenchido de maneira incoreta");
+    }
+
+    @Test
+    void deveGerarExcecao_substituicaoComOutroId() {
+        var id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> ValidacaoMensagens.validarSubstituicao(validator, id,
+                new MensagemFalsa(UUID.randomUUID(), "teste")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("id não pode ser alterado");
+        assertThatCode(() -> ValidacaoMensagens.validarSubstituicao(validator, id, new MensagemFalsa(id, "teste")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void deveGerarExcecao_alteracaoInvalida() {
+        assertThatThrownBy(() -> ValidacaoMensagens.validarAlteracao(new AlteracaoMensagem(null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("nenhum campo para alterar");
+        assertThatThrownBy(() -> ValidacaoMensagens.validarAlteracao(new AlteracaoMensagem(null, null, -1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("gostei não pode ser negativo");
+    }
+
+    @Test
+    void deveGerarExcecao_periodoInvertido() {
+        var agora = LocalDateTime.now();
+
+        assertThatThrownBy(() -> ValidacaoMensagens.validarPeriodo(agora, agora.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("desde deve ser anterior a ate");
+        assertThatCode(() -> ValidacaoMensagens.validarPeriodo(agora, null)).doesNotThrowAnyException();
+    }
+
+    record MensagemFalsa(UUID id, @NotBlank(message = "conteúdo preenchido de maneira incoreta") String conteudo)
+            implements Versionada {
+
+        @Override
+        public UUID getId() {
+            return id;
+        }
+
+        @Override
+        public long getVersao() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.fiap.projeto;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class PostechTddJunitReativoApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(PostechTddJunitReativoApplication.class, args);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.fiap.projeto.config;
+
+import com.fiap.projeto.id.GeradorId;
+import com.fiap.projeto.id.GeradorUuidV4;
+import com.fiap.projeto.id.GeradorUuidV7;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class GeradorIdConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "mensagem.id.gerador", havingValue = "v7", matchIfMissing = true)
+    public GeradorId geradorUuidV7() {
+        return new GeradorUuidV7();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mensagem.id.gerador", havingValue = "v4")
+    public GeradorId geradorUuidV4() {
+        return new GeradorUuidV4();
+    }
+
+}
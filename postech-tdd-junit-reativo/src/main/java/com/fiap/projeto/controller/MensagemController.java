@@ -0,0 +1,190 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Fatia;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import com.fiap.projeto.service.VersaoDivergenteException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * O mesmo contrato /mensagens do MensagemController do postech-tdd-junit, com os mesmos status e mensagens de erro.
+ * Nenhum método bloqueia: a resposta é montada quando o Mono do serviço emite.
+ */
+@RestController
+@RequestMapping("mensagens")
+@RequiredArgsConstructor
+public class MensagemController {
+
+    private final MensagemService mensagemService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> registraMensagem(@RequestBody Mensagem mensagem) {
+        return mensagemService.registrarMensagem(mensagem)
+                .<ResponseEntity<?>>map(mensagemRecebida -> new ResponseEntity<>(mensagemRecebida, HttpStatus.CREATED))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @PostMapping(value = "/lote",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> registraMensagens(@RequestBody List<Mensagem> mensagens) {
+        return mensagemService.registrarMensagens(mensagens)
+                .<ResponseEntity<?>>map(ids -> new ResponseEntity<>(ids, HttpStatus.CREATED))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> buscaMensagem(@PathVariable String id,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        return uuid(id)
+                .flatMap(uuid -> {
+                    var buscar = mensagemService.buscarMensagem(uuid)
+                            .<ResponseEntity<?>>map(mensagem -> ResponseEntity.ok()
+                                    .eTag(Etags.deVersao(mensagem.getVersao()))
+                                    .body(mensagem));
+                    if (ifNoneMatch == null)
+                        return buscar;
+
+                    // responde o 304 só pela versão, sem carregar nem serializar a mensagem
+                    return mensagemService.buscarVersao(uuid)
+                            .filter(versao -> Etags.corresponde(ifNoneMatch, Etags.deVersao(versao)))
+                            .<ResponseEntity<?>>map(versao -> ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                                    .eTag(Etags.deVersao(versao))
+                                    .build())
+                            .switchIfEmpty(buscar);
+                })
+                .onErrorResume(ex -> Mono.just(new ResponseEntity<>("id inválido", HttpStatus.BAD_REQUEST)));
+    }
+
+    @GetMapping(value = "/listar",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> listarMensagens(
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                            String ifNoneMatch) {
+        return Mono.fromCallable(() -> PageRequest.of(page, size))
+                .flatMap(pageable -> desde == null && ate == null
+                        ? mensagemService.listarMensagens(pageable)
+                        : mensagemService.listarMensagens(desde, ate, pageable))
+                .<ResponseEntity<?>>map(mensagens -> {
+                    // o WebFlux não faz a revalidação sozinho como o MVC; sem serializar a página quando o ETag bate
+                    var etag = Etags.dePagina(mensagens.getNumber(), mensagens.getSize(),
+                            mensagens.getTotalElements(), mensagens.getContent());
+                    if (ifNoneMatch != null && Etags.corresponde(ifNoneMatch, etag))
+                        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                    return ResponseEntity.ok().eTag(etag).body(mensagens);
+                })
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @GetMapping(value = "/usuario/{usuario}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> listarMensagensDoUsuario(@PathVariable String usuario,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime desde,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime ate,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        return Mono.fromCallable(() -> PageRequest.of(page, size))
+                .flatMap(pageable -> mensagemService.listarMensagensDoUsuario(usuario, desde, ate, pageable))
+                .<ResponseEntity<?>>map(mensagens -> new ResponseEntity<>(new Fatia<>(mensagens.getContent(),
+                        mensagens.getNumber(), mensagens.getSize(), mensagens.hasNext()), HttpStatus.OK))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @PutMapping(value = "/{id}",
+                consumes = MediaType.APPLICATION_JSON_VALUE,
+                produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        return uuid(id)
+                .flatMap(uuid -> {
+                    if (ifMatch == null || ifMatch.trim().equals("*"))
+                        return mensagemService.alterarMensagem(uuid, mensagem);
+                    var versao = Etags.versaoDe(ifMatch);
+                    if (versao.isEmpty())
+                        return Mono.error(new VersaoDivergenteException("If-Match não corresponde a uma versão da mensagem"));
+                    return mensagemService.alterarMensagem(uuid, mensagem, versao.getAsLong());
+                })
+                .<ResponseEntity<?>>map(mensagemAtualizada -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .eTag(Etags.deVersao(mensagemAtualizada.getVersao()))
+                        .body(mensagemAtualizada))
+                .onErrorResume(VersaoDivergenteException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage())))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @PatchMapping(value = "/{id}",
+                  consumes = MediaType.APPLICATION_JSON_VALUE,
+                  produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<?>> alterarMensagemParcialmente(@PathVariable String id,
+                                                               @RequestBody AlteracaoMensagem alteracao) {
+        return uuid(id)
+                .flatMap(uuid -> mensagemService.alterarMensagemParcialmente(uuid, alteracao))
+                .<ResponseEntity<?>>map(mensagemAtualizada -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .eTag(Etags.deVersao(mensagemAtualizada.getVersao()))
+                        .body(mensagemAtualizada))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @PostMapping("/{id}/gostei")
+    public Mono<ResponseEntity<?>> registrarGostei(@PathVariable String id) {
+        return uuid(id)
+                .flatMap(mensagemService::registrarGostei)
+                .then(Mono.<ResponseEntity<?>>fromSupplier(() ->
+                        new ResponseEntity<>("gostei registrado", HttpStatus.ACCEPTED)))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<?>> removerMensagem(@PathVariable String id) {
+        return uuid(id)
+                .flatMap(mensagemService::removeMensagem)
+                .<ResponseEntity<?>>map(removida -> new ResponseEntity<>("mensagem removida", HttpStatus.OK))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    @DeleteMapping
+    public Mono<ResponseEntity<?>> removerMensagens(@RequestParam List<String> ids) {
+        return Mono.fromCallable(() -> ids.stream().map(UUID::fromString).toList())
+                .flatMap(mensagemService::removerMensagens)
+                .<ResponseEntity<?>>map(removidas -> ResponseEntity.ok(Map.of("removidas", removidas)))
+                .onErrorResume(IllegalArgumentException.class, MensagemController::requisicaoInvalida);
+    }
+
+    private static Mono<UUID> uuid(String id) {
+        // UUID.fromString lança IllegalArgumentException, que chega ao onErrorResume de cada endpoint
+        return Mono.fromCallable(() -> UUID.fromString(id));
+    }
+
+    private static Mono<ResponseEntity<?>> requisicaoInvalida(IllegalArgumentException ex) {
+        return Mono.just(new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.fiap.projeto.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Persistable;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table("MENSAGEM")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Mensagem implements Persistable<UUID>, Versionada {
+
+    @Id
+    private UUID id;
+
+    @NotBlank(message = "usuario preenchido de maneira incoreta")
+    private String usuario;
+
+    @NotBlank(message = "conteúdo preenchido de maneira incoreta")
+    private String conteudo;
+
+    @Builder.Default
+    private LocalDateTime dataCriacao = LocalDateTime.now();
+
+    @Builder.Default
+    private int gostei = 0;
+
+    // controlada pelo servidor: os UPDATE do repositório incrementam a coluna, como o @Version do JPA no
+    // postech-tdd-junit, e a mensagem nova começa em 0 do mesmo jeito
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long versao;
+
+    // o id é atribuído pela aplicação, então o Spring Data não consegue deduzir sozinho se a mensagem é nova
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean nova;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return nova;
+    }
+
+    public void marcarComoNova() {
+        this.nova = true;
+    }
+
+}
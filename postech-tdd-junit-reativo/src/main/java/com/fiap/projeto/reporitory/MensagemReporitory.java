@@ -0,0 +1,58 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.Mensagem;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface MensagemReporitory extends R2dbcRepository<Mensagem, UUID>, MensagemReporitoryCustom {
+
+    @Query("SELECT VERSAO FROM MENSAGEM WHERE ID = :id")
+    Mono<Long> buscarVersao(UUID id);
+
+    @Modifying
+    @Query("""
+            UPDATE MENSAGEM
+            SET USUARIO = :#{#mensagem.usuario}, CONTEUDO = :#{#mensagem.conteudo},
+                DATA_CRIACAO = :#{#mensagem.dataCriacao}, GOSTEI = :#{#mensagem.gostei},
+                VERSAO = VERSAO + 1
+            WHERE ID = :#{#mensagem.id}
+            """)
+    Mono<Integer> alterar(Mensagem mensagem);
+
+    @Modifying
+    @Query("""
+            UPDATE MENSAGEM
+            SET USUARIO = :#{#mensagem.usuario}, CONTEUDO = :#{#mensagem.conteudo},
+                DATA_CRIACAO = :#{#mensagem.dataCriacao}, GOSTEI = :#{#mensagem.gostei},
+                VERSAO = VERSAO + 1
+            WHERE ID = :#{#mensagem.id} AND VERSAO = :versao
+            """)
+    Mono<Integer> alterarSeVersao(Mensagem mensagem, long versao);
+
+    @Modifying
+    @Query("""
+            UPDATE MENSAGEM
+            SET USUARIO = COALESCE(:usuario, USUARIO), CONTEUDO = COALESCE(:conteudo, CONTEUDO),
+                GOSTEI = COALESCE(:gostei, GOSTEI), VERSAO = VERSAO + 1
+            WHERE ID = :id
+            """)
+    Mono<Integer> alterarParcialmente(UUID id, String usuario, String conteudo, Integer gostei);
+
+    @Modifying
+    @Query("UPDATE MENSAGEM SET GOSTEI = GOSTEI + 1, VERSAO = VERSAO + 1 WHERE ID = :id")
+    Mono<Integer> incrementarGostei(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM MENSAGEM WHERE ID = :id")
+    Mono<Integer> removerPorId(UUID id);
+
+    @Modifying
+    @Query("DELETE FROM MENSAGEM WHERE ID IN (:ids)")
+    Mono<Integer> removerPorIds(Collection<UUID> ids);
+
+}
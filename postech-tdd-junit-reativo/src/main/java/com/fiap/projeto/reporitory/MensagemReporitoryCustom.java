@@ -0,0 +1,23 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.Mensagem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface MensagemReporitoryCustom {
+
+    /**
+     * Mensagens do usuário criadas em [desde, ate), da mais recente para a mais antiga; limites nulos ficam abertos.
+     */
+    Mono<Slice<Mensagem>> listarDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+
+    /**
+     * Mensagens criadas em [desde, ate), da mais recente para a mais antiga; limites nulos ficam abertos.
+     */
+    Mono<Page<Mensagem>> listarPorPeriodo(LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+
+}
@@ -0,0 +1,81 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.Mensagem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MensagemReporitoryCustomImpl implements MensagemReporitoryCustom {
+
+    // mesma ordem dos índices (usuario, data_criacao DESC, id DESC) e (data_criacao DESC, id DESC); o H2 só
+    // dispensa a ordenação quando o ORDER BY começa pela coluna do índice, mesmo filtrada por igualdade
+    private static final Sort ORDEM_USUARIO = Sort.by(Sort.Order.asc("usuario"),
+            Sort.Order.desc("dataCriacao"), Sort.Order.desc("id"));
+    private static final Sort ORDEM_PERIODO = Sort.by(Sort.Order.desc("dataCriacao"), Sort.Order.desc("id"));
+
+    private final R2dbcEntityTemplate template;
+
+    @Override
+    public Mono<Slice<Mensagem>> listarDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                                 Pageable pageable) {
+        // um registro a mais só para saber se existe próxima página, sem COUNT
+        var consulta = Query.query(filtros(usuario, desde, ate))
+                .sort(ORDEM_USUARIO)
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1);
+
+        return template.select(consulta, Mensagem.class)
+                .collectList()
+                .map(mensagens -> {
+                    var temProxima = mensagens.size() > pageable.getPageSize();
+                    var conteudo = temProxima ? mensagens.subList(0, pageable.getPageSize()) : mensagens;
+                    return new SliceImpl<>(conteudo, pageable, temProxima);
+                });
+    }
+
+    @Override
+    public Mono<Page<Mensagem>> listarPorPeriodo(LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        var filtros = filtros(null, desde, ate);
+        var consulta = Query.query(filtros)
+                .sort(ORDEM_PERIODO)
+                .with(pageable);
+
+        return template.select(consulta, Mensagem.class)
+                .collectList()
+                .flatMap(mensagens -> total(mensagens, pageable, filtros)
+                        .map(total -> new PageImpl<>(mensagens, pageable, total)));
+    }
+
+    // o COUNT só roda quando a página sozinha não basta para deduzir o total, como no PageableExecutionUtils
+    private Mono<Long> total(List<Mensagem> mensagens, Pageable pageable, Criteria filtros) {
+        if (pageable.getOffset() == 0 && mensagens.size() < pageable.getPageSize())
+            return Mono.just((long) mensagens.size());
+        if (!mensagens.isEmpty() && mensagens.size() < pageable.getPageSize())
+            return Mono.just(pageable.getOffset() + mensagens.size());
+        return template.count(Query.query(filtros), Mensagem.class);
+    }
+
+    private Criteria filtros(String usuario, LocalDateTime desde, LocalDateTime ate) {
+        var filtros = Criteria.empty();
+        if (usuario != null)
+            filtros = filtros.and("usuario").is(usuario);
+        if (desde != null)
+            filtros = filtros.and("dataCriacao").greaterThanOrEquals(desde);
+        if (ate != null)
+            filtros = filtros.and("dataCriacao").lessThan(ate);
+        return filtros;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface MensagemService {
+
+    Mono<Mensagem> registrarMensagem(Mensagem mensagem);
+    Mono<List<UUID>> registrarMensagens(List<Mensagem> mensagens);
+    Mono<Mensagem> buscarMensagem(UUID id);
+    Mono<Long> buscarVersao(UUID id);
+
+    Mono<Page<Mensagem>> listarMensagens(Pageable pageable);
+    Mono<Page<Mensagem>> listarMensagens(LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+    Mono<Slice<Mensagem>> listarMensagensDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                                   Pageable pageable);
+    Mono<Mensagem> alterarMensagem(UUID id, Mensagem novaMensagem);
+    Mono<Mensagem> alterarMensagem(UUID id, Mensagem novaMensagem, long versaoEsperada);
+    Mono<Mensagem> alterarMensagemParcialmente(UUID id, AlteracaoMensagem alteracao);
+    Mono<Void> registrarGostei(UUID id);
+    Mono<Boolean> removeMensagem(UUID id);
+    Mono<Integer> removerMensagens(List<UUID> ids);
+
+}
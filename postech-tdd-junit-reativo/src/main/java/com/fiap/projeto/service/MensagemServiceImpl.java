@@ -0,0 +1,169 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.id.GeradorId;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mesmas regras do MensagemServiceImpl do postech-tdd-junit, sem bloquear: cada método devolve um Mono que só
+ * executa quando assinado, e as validações falham dentro dele com IllegalArgumentException.
+ */
+@Service
+@RequiredArgsConstructor
+public class MensagemServiceImpl implements MensagemService {
+
+    private final MensagemReporitory mensagemReporitory;
+    private final Validator validator;
+    private final GeradorId geradorId;
+
+    @Override
+    public Mono<Mensagem> registrarMensagem(Mensagem mensagem) {
+        return Mono.defer(() -> {
+            ValidacaoMensagens.validar(validator, mensagem);
+
+            mensagem.setId(geradorId.gerar());
+            mensagem.marcarComoNova();
+            return mensagemReporitory.save(mensagem);
+        });
+    }
+
+    @Override
+    @Transactional
+    public Mono<List<UUID>> registrarMensagens(List<Mensagem> mensagens) {
+        return Mono.defer(() -> {
+            if (mensagens == null || mensagens.isEmpty())
+                return Mono.error(new IllegalArgumentException("lote de mensagens vazio"));
+            ValidacaoMensagens.validarLote(validator, mensagens);
+
+            mensagens.forEach(mensagem -> {
+                mensagem.setId(geradorId.gerar());
+                mensagem.marcarComoNova();
+            });
+            return mensagemReporitory.saveAll(mensagens)
+                    .map(Mensagem::getId)
+                    .collectList();
+        });
+    }
+
+    @Override
+    public Mono<Mensagem> buscarMensagem(UUID id) {
+        return mensagemReporitory.findById(id)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("Mensagem não encontrada")));
+    }
+
+    @Override
+    public Mono<Long> buscarVersao(UUID id) {
+        // lê só a coluna de versão, sem montar a entidade
+        return mensagemReporitory.buscarVersao(id);
+    }
+
+    @Override
+    public Mono<Page<Mensagem>> listarMensagens(Pageable pageable) {
+        return mensagemReporitory.listarPorPeriodo(null, null, pageable);
+    }
+
+    @Override
+    public Mono<Page<Mensagem>> listarMensagens(LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        return Mono.defer(() -> {
+            ValidacaoMensagens.validarPeriodo(desde, ate);
+            return mensagemReporitory.listarPorPeriodo(desde, ate, pageable);
+        });
+    }
+
+    @Override
+    public Mono<Slice<Mensagem>> listarMensagensDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                                          Pageable pageable) {
+        return Mono.defer(() -> {
+            if (usuario == null || usuario.isBlank())
+                return Mono.error(new IllegalArgumentException("usuario preenchido de maneira incoreta"));
+            ValidacaoMensagens.validarPeriodo(desde, ate);
+            return mensagemReporitory.listarDoUsuario(usuario, desde, ate, pageable);
+        });
+    }
+
+    @Override
+    public Mono<Mensagem> alterarMensagem(UUID id, Mensagem novaMensagem) {
+        return Mono.defer(() -> {
+            ValidacaoMensagens.validarSubstituicao(validator, id, novaMensagem);
+
+            // PUT sem If-Match: sobrescreve a versão atual, qualquer que seja
+            return mensagemReporitory.alterar(novaMensagem)
+                    .flatMap(alteradas -> alteradas == 0
+                            ? Mono.error(new IllegalArgumentException("Mensagem não encontrada"))
+                            : buscarMensagem(id));
+        });
+    }
+
+    @Override
+    public Mono<Mensagem> alterarMensagem(UUID id, Mensagem novaMensagem, long versaoEsperada) {
+        return Mono.defer(() -> {
+            ValidacaoMensagens.validarSubstituicao(validator, id, novaMensagem);
+
+            // UPDATE condicionado à versão, sem ler a mensagem antes; só o caminho de falha consulta o banco de novo
+            return mensagemReporitory.alterarSeVersao(novaMensagem, versaoEsperada)
+                    .flatMap(alteradas -> {
+                        if (alteradas > 0) {
+                            novaMensagem.setVersao(versaoEsperada + 1);
+                            return Mono.just(novaMensagem);
+                        }
+                        return mensagemReporitory.existsById(id)
+                                .flatMap(existe -> Mono.error(existe
+                                        ? new VersaoDivergenteException("a mensagem não está mais na versão " + versaoEsperada)
+                                        : new IllegalArgumentException("Mensagem não encontrada")));
+                    });
+        });
+    }
+
+    @Override
+    public Mono<Mensagem> alterarMensagemParcialmente(UUID id, AlteracaoMensagem alteracao) {
+        return Mono.defer(() -> {
+            ValidacaoMensagens.validarAlteracao(alteracao);
+
+            return mensagemReporitory.alterarParcialmente(id, alteracao.usuario(), alteracao.conteudo(),
+                            alteracao.gostei())
+                    .flatMap(alteradas -> alteradas == 0
+                            ? Mono.error(new IllegalArgumentException("Mensagem não encontrada"))
+                            : buscarMensagem(id));
+        });
+    }
+
+    @Override
+    public Mono<Void> registrarGostei(UUID id) {
+        return mensagemReporitory.incrementarGostei(id)
+                .flatMap(alteradas -> alteradas == 0
+                        ? Mono.error(new IllegalArgumentException("Mensagem não encontrada"))
+                        : Mono.empty());
+    }
+
+    @Override
+    public Mono<Boolean> removeMensagem(UUID id) {
+        // um único DELETE; a quantidade de linhas afetadas diz se a mensagem existia
+        return mensagemReporitory.removerPorId(id)
+                .flatMap(removidas -> removidas == 0
+                        ? Mono.error(new IllegalArgumentException("Mensagem não encontrada"))
+                        : Mono.just(true));
+    }
+
+    @Override
+    public Mono<Integer> removerMensagens(List<UUID> ids) {
+        return Mono.defer(() -> {
+            if (ids == null || ids.isEmpty())
+                return Mono.error(new IllegalArgumentException("nenhum id informado"));
+            return mensagemReporitory.removerPorIds(ids);
+        });
+    }
+
+}
@@ -0,0 +1,12 @@
+-- o mesmo esquema que o Hibernate gera para a entidade Mensagem do postech-tdd-junit
+CREATE TABLE IF NOT EXISTS MENSAGEM (
+    ID UUID NOT NULL PRIMARY KEY,
+    USUARIO VARCHAR(255) NOT NULL,
+    CONTEUDO VARCHAR(255) NOT NULL,
+    DATA_CRIACAO TIMESTAMP(6),
+    GOSTEI INTEGER NOT NULL,
+    VERSAO BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS IDX_MENSAGEM_DATA_CRIACAO_ID ON MENSAGEM (DATA_CRIACAO DESC, ID DESC);
+CREATE INDEX IF NOT EXISTS IDX_MENSAGEM_USUARIO_DATA_CRIACAO_ID ON MENSAGEM (USUARIO, DATA_CRIACAO DESC, ID DESC);
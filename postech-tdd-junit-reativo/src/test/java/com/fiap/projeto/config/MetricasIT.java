@@ -0,0 +1,34 @@
+package com.fiap.projeto.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///metricas-it?options=DB_CLOSE_DELAY=-1")
+@AutoConfigureObservability
+class MetricasIT {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void deveExporAsRequisicoesNoFormatoPrometheus() {
+        webTestClient.get().uri("/mensagens/listar").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/mensagens/{id}", "abc").exchange().expectStatus().isBadRequest();
+
+        var metricas = webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertThat(metricas)
+                .containsPattern("http_server_requests_seconds_count\\{.*status=\"200\".*uri=\"/mensagens/listar\"")
+                .containsPattern("http_server_requests_seconds_count\\{.*status=\"400\".*uri=\"/mensagens/\\{id}\"");
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.PostechTddJunitReativoApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Abre milhares de conexões que enviam o cabeçalho de um POST /mensagens e só metade do corpo, como clientes em
+ * redes lentas, e mede quantas threads o servidor tem enquanto elas esperam e a latência de um GET comum no
+ * mesmo momento. No Tomcat cada corpo incompleto prende uma thread lendo o @RequestBody; no Netty nenhuma.
+ * <p>
+ * Sem {@code benchmark.url} sobe esta aplicação na própria JVM; com ela mira outro servidor, por exemplo o
+ * postech-tdd-junit com {@code mvn spring-boot:run}, e as threads do servidor deixam de ser contadas.
+ * Não faz parte da suíte padrão; execute com
+ * {@code mvn test -Dtest=ClientesLentosBenchmark -Dbenchmark.clientes=5000}.
+ */
+class ClientesLentosBenchmark {
+
+    // cada conexão local gasta dois descritores de arquivo na mesma JVM
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 5_000);
+    private static final String URL = System.getProperty("benchmark.url", "");
+    private static final int REQUISICOES_RAPIDAS = 200;
+    private static final Duration ESPERA_MAXIMA = Duration.ofSeconds(5);
+    private static final byte[] CORPO = "{\"usuario\": \"lento\", \"conteudo\": \"mensagem enviada aos poucos\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void medirClientesLentos() throws Exception {
+        if (!URL.isBlank()) {
+            medir(URI.create(URL), false);
+            return;
+        }
+
+        try (var aplicacao = new SpringApplicationBuilder(PostechTddJunitReativoApplication.class)
+                .run("--server.port=0",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///clientes-lentos?options=DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=warn")) {
+            var porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+            medir(URI.create("http://localhost:" + porta), true);
+        }
+    }
+
+    private void medir(URI base, boolean contarThreads) throws Exception {
+        var threads = ManagementFactory.getThreadMXBean();
+        var rapido = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        var listar = HttpRequest.newBuilder(base.resolve("/mensagens/listar?size=10"))
+                .timeout(ESPERA_MAXIMA)
+                .build();
+
+        // aquecimento
+        latencias(rapido, listar);
+        var semClientesLentos = latencias(rapido, listar);
+        var threadsAntes = threads.getThreadCount();
+
+        var lentos = new ArrayList<Socket>(CLIENTES);
+        try {
+            var inicio = System.nanoTime();
+            for (int i = 0; i < CLIENTES; i++)
+                lentos.add(abrirComMetadeDoCorpo(base));
+            var abertura = Duration.ofNanos(System.nanoTime() - inicio);
+
+            // dá tempo ao servidor de aceitar as conexões e começar a ler os corpos
+            Thread.sleep(1_000);
+            var threadsComLentos = threads.getThreadCount();
+            var comClientesLentos = latencias(rapido, listar);
+
+            var criadas = 0;
+            for (var socket : lentos) {
+                var saida = socket.getOutputStream();
+                saida.write(CORPO, CORPO.length / 2, CORPO.length - CORPO.length / 2);
+                saida.flush();
+            }
+            for (var socket : lentos) {
+                var linhaStatus = new BufferedReader(new InputStreamReader(socket.getInputStream(),
+                        StandardCharsets.US_ASCII)).readLine();
+                if (linhaStatus != null && linhaStatus.contains(" 201 "))
+                    criadas++;
+            }
+
+            System.out.printf("%n%d clientes lentos abertos em %d ms; %d concluídos com 201%n",
+                    CLIENTES, abertura.toMillis(), criadas);
+            if (contarThreads)
+                System.out.printf("threads na JVM: %d antes, %d com os clientes lentos esperando%n",
+                        threadsAntes, threadsComLentos);
+            System.out.printf("%-32s %10s %10s%n", "GET /mensagens/listar", "p50 (ms)", "p99 (ms)");
+            imprimir("sem clientes lentos", semClientesLentos);
+            imprimir("com clientes lentos", comClientesLentos);
+        } finally {
+            for (var socket : lentos)
+                socket.close();
+        }
+    }
+
+    private Socket abrirComMetadeDoCorpo(URI base) throws Exception {
+        var socket = new Socket();
+        socket.connect(new InetSocketAddress(base.getHost(), base.getPort()), 10_000);
+        var cabecalho = "POST /mensagens HTTP/1.1\r\n"
+                + "Host: " + base.getHost() + "\r\n"
+                + "Content-Type: application/json\r\n"
+                + "Content-Length: " + CORPO.length + "\r\n"
+                + "Connection: close\r\n\r\n";
+        var saida = socket.getOutputStream();
+        saida.write(cabecalho.getBytes(StandardCharsets.US_ASCII));
+        saida.write(CORPO, 0, CORPO.length / 2);
+        saida.flush();
+        return socket;
+    }
+
+    /**
+     * Latências ordenadas, ou null se alguma requisição ficar sem resposta: o servidor parou de atender.
+     */
+    private long[] latencias(HttpClient cliente, HttpRequest requisicao) throws Exception {
+        var latencias = new long[REQUISICOES_RAPIDAS];
+        for (int i = 0; i < REQUISICOES_RAPIDAS; i++) {
+            var inicio = System.nanoTime();
+            try {
+                var resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                assertThat(resposta.statusCode()).isEqualTo(200);
+            } catch (HttpTimeoutException ex) {
+                return null;
+            }
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(latencias);
+        return latencias;
+    }
+
+    private void imprimir(String descricao, long[] latencias) {
+        if (latencias == null) {
+            System.out.printf("%-32s sem resposta em %d s%n", descricao, ESPERA_MAXIMA.toSeconds());
+            return;
+        }
+        System.out.printf("%-32s %10.2f %10.2f%n", descricao,
+                latencias[latencias.length / 2] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6);
+    }
+
+}
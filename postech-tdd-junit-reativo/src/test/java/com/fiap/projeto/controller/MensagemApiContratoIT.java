@@ -0,0 +1,21 @@
+package com.fiap.projeto.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.blockhound.BlockHound;
+
+/**
+ * Executa o {@link ContratoApiMensagens} pelo Netty e pelo R2DBC de verdade com o BlockHound instalado: qualquer
+ * chamada bloqueante numa thread do Netty ou do Reactor falha a requisição com 500. Usa um banco próprio porque o
+ * contexto do MensagemRepositoryIT já carregou o data.sql no dbteste desta mesma JVM.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.r2dbc.url=r2dbc:h2:mem:///mensagem-api-contrato-it?options=DB_CLOSE_DELAY=-1")
+public class MensagemApiContratoIT extends ContratoApiMensagens {
+
+    @BeforeAll
+    static void instalarBlockHound() {
+        BlockHound.install();
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class MensagemRepositoryIT {
+
+    @Autowired
+    private MensagemReporitory mensagemReporitory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Test
+    void deveBuscarMensagem() {
+        var id = UUID.fromString("d7f82637-2cdb-4893-9e18-13d3eba94f0e");
+
+        StepVerifier.create(mensagemReporitory.findById(id))
+                .assertNext(mensagem -> {
+                    assertThat(mensagem.getUsuario()).isEqualTo("Gabriel");
+                    assertThat(mensagem.getDataCriacao()).isEqualTo(LocalDateTime.of(2024, 3, 6, 0, 0));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deveRegistrarMensagemNova() {
+        var mensagem = geraMensagem("UsuarioRegistro", LocalDateTime.now());
+
+        StepVerifier.create(mensagemReporitory.save(mensagem).then(mensagemReporitory.buscarVersao(mensagem.getId())))
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    void deveAlterarSomenteNaVersaoEsperada() {
+        var mensagem = geraMensagem("UsuarioVersao", LocalDateTime.now());
+        mensagemReporitory.save(mensagem).block();
+        mensagem.setConteudo("conteúdo alterado");
+
+        StepVerifier.create(mensagemReporitory.alterarSeVersao(mensagem, 0)
+                        .concatWith(mensagemReporitory.alterarSeVersao(mensagem, 0)))
+                .expectNext(1, 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void deveListarMensagensDoUsuarioNoPeriodo() {
+        var inicio = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < 5; i++)
+            mensagemReporitory.save(geraMensagem("UsuarioPeriodo", inicio.plusHours(i))).block();
+
+        StepVerifier.create(mensagemReporitory.listarDoUsuario("UsuarioPeriodo",
+                        inicio.plusHours(1), inicio.plusHours(4), PageRequest.of(0, 2)))
+                .assertNext(fatia -> {
+                    assertThat(fatia.getContent()).extracting(Mensagem::getDataCriacao)
+                            .containsExactly(inicio.plusHours(3), inicio.plusHours(2));
+                    assertThat(fatia.hasNext()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deveUsarIndicesNasListagensPorUsuarioEPeriodo() {
+        var planoUsuario = explicar("""
+                SELECT * FROM MENSAGEM WHERE USUARIO = 'Gabriel'
+                ORDER BY USUARIO, DATA_CRIACAO DESC, ID DESC FETCH FIRST 11 ROWS ONLY""");
+        var planoPeriodo = explicar("""
+                SELECT * FROM MENSAGEM WHERE DATA_CRIACAO >= TIMESTAMP '2024-01-01 00:00:00'
+                ORDER BY DATA_CRIACAO DESC, ID DESC FETCH FIRST 10 ROWS ONLY""");
+
+        assertThat(planoUsuario).containsIgnoringCase("IDX_MENSAGEM_USUARIO_DATA_CRIACAO_ID")
+                .containsIgnoringCase("index sorted");
+        assertThat(planoPeriodo).containsIgnoringCase("IDX_MENSAGEM_DATA_CRIACAO_ID")
+                .containsIgnoringCase("index sorted");
+    }
+
+    private String explicar(String sql) {
+        return databaseClient.sql("EXPLAIN " + sql)
+                .map(linha -> linha.get(0, String.class))
+                .one()
+                .block();
+    }
+
+    private Mensagem geraMensagem(String usuario, LocalDateTime dataCriacao) {
+        var mensagem = Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario(usuario).conteudo("teste")
+                .dataCriacao(dataCriacao)
+                .build();
+        mensagem.marcarComoNova();
+        return mensagem;
+    }
+
+}
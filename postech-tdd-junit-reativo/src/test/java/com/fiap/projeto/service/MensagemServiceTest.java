@@ -0,0 +1,202 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.id.GeradorUuidV7;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MensagemServiceTest {
+
+    @Mock
+    private MensagemReporitory mensagemReporitory;
+
+    private MensagemService mensagemService;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        //inicia todos os mocks da classe
+        mock = MockitoAnnotations.openMocks(this);
+        mensagemService = new MensagemServiceImpl(mensagemReporitory,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new GeradorUuidV7());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        //encerra os mocks
+        mock.close();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagem() {
+        var mensagem = geraMensagem();
+        when(mensagemReporitory.save(any(Mensagem.class))).thenAnswer(i -> Mono.just(i.getArgument(0)));
+
+        StepVerifier.create(mensagemService.registrarMensagem(mensagem))
+                .assertNext(registrada -> {
+                    assertThat(registrada.getId()).isNotNull();
+                    assertThat(registrada.isNew()).isTrue();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void naoDeveAcessarRepositorioAntesDaAssinatura() {
+        var registro = mensagemService.registrarMensagem(geraMensagem());
+
+        verifyNoInteractions(mensagemReporitory);
+        assertThat(registro).isNotNull();
+    }
+
+    @Test
+    void deveGerarExcecao_registrarMensagemInvalida() {
+        var mensagem = geraMensagem();
+        mensagem.setConteudo(" ");
+
+        StepVerifier.create(mensagemService.registrarMensagem(mensagem))
+                .expectErrorMessage("conteúdo preenchido de maneira incoreta")
+                .verify();
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        when(mensagemReporitory.saveAll(anyList())).thenAnswer(i -> Flux.fromIterable(i.<List<Mensagem>>getArgument(0)));
+
+        StepVerifier.create(mensagemService.registrarMensagens(List.of(geraMensagem(), geraMensagem())))
+                .assertNext(ids -> assertThat(ids).hasSize(2).doesNotContainNull().doesNotHaveDuplicates())
+                .verifyComplete();
+    }
+
+    @Test
+    void deveGerarExcecao_registrarMensagensEmLoteInvalido() {
+        var invalida = geraMensagem();
+        invalida.setUsuario("");
+
+        StepVerifier.create(mensagemService.registrarMensagens(List.of(geraMensagem(), invalida)))
+                .expectErrorMessage("mensagem[1]: usuario preenchido de maneira incoreta")
+                .verify();
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveGerarExcecao_buscarMensagemInexistente() {
+        var id = UUID.randomUUID();
+        when(mensagemReporitory.findById(id)).thenReturn(Mono.empty());
+
+        StepVerifier.create(mensagemService.buscarMensagem(id))
+                .expectErrorMatches(ex -> ex instanceof IllegalArgumentException
+                        && ex.getMessage().equals("Mensagem não encontrada"))
+                .verify();
+    }
+
+    @Test
+    void devePermitirAlterarMensagemComVersao() {
+        var mensagem = geraMensagemComId();
+        when(mensagemReporitory.alterarSeVersao(mensagem, 2)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(mensagemService.alterarMensagem(mensagem.getId(), mensagem, 2))
+                .assertNext(alterada -> assertThat(alterada.getVersao()).isEqualTo(3))
+                .verifyComplete();
+
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemComVersaoDivergente() {
+        var mensagem = geraMensagemComId();
+        when(mensagemReporitory.alterarSeVersao(mensagem, 2)).thenReturn(Mono.just(0));
+        when(mensagemReporitory.existsById(mensagem.getId())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(mensagemService.alterarMensagem(mensagem.getId(), mensagem, 2))
+                .expectError(VersaoDivergenteException.class)
+                .verify();
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemComIdDiferente() {
+        var mensagem = geraMensagemComId();
+
+        StepVerifier.create(mensagemService.alterarMensagem(UUID.randomUUID(), mensagem))
+                .expectErrorMessage("id não pode ser alterado")
+                .verify();
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemParcialmenteSemCampos() {
+        StepVerifier.create(mensagemService.alterarMensagemParcialmente(UUID.randomUUID(),
+                        new AlteracaoMensagem(null, null, null)))
+                .expectErrorMessage("nenhum campo para alterar")
+                .verify();
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveGerarExcecao_registrarGosteiMensagemInexistente() {
+        var id = UUID.randomUUID();
+        when(mensagemReporitory.incrementarGostei(id)).thenReturn(Mono.just(0));
+
+        StepVerifier.create(mensagemService.registrarGostei(id))
+                .expectErrorMessage("Mensagem não encontrada")
+                .verify();
+    }
+
+    @Test
+    void devePermitirRemoverMensagem() {
+        var id = UUID.randomUUID();
+        when(mensagemReporitory.removerPorId(id)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(mensagemService.removeMensagem(id))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    void deveGerarExcecao_listarMensagensComPeriodoInvertido() {
+        var desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        StepVerifier.create(mensagemService.listarMensagens(desde, desde, PageRequest.of(0, 10)))
+                .expectErrorMessage("desde deve ser anterior a ate")
+                .verify();
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    private Mensagem geraMensagemComId() {
+        var mensagem = geraMensagem();
+        mensagem.setId(UUID.randomUUID());
+        return mensagem;
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.fiap.projeto.armazenamento;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.UUID;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Tabela de espalhamento UUID → posição no log, fora do heap: cada entrada ocupa 24 bytes de um
+ * {@link ByteBuffer} direto (dois longs do id e a posição), sem objeto por mensagem para o coletor percorrer.
+ * Endereçamento aberto com sondagem linear; a remoção desloca as entradas seguintes para trás em vez de deixar
+ * marcas, então a tabela nunca degrada com remoções. A posição 0 marca a entrada vazia.
+ * <p>
+ * Não é segura para várias threads; o {@link LogMensagens} a protege com a sua trava.
+ */
+class IndiceDeslocamentos {
+
+    private static final int BYTES_ENTRADA = 24;
+    private static final int CAPACIDADE_MAXIMA = 1 << 26;
+
+    private ByteBuffer tabela;
+    private int capacidade;
+    private int tamanho;
+
+    IndiceDeslocamentos(int capacidadeInicial) {
+        capacidade = Integer.highestOneBit(Math.max(16, capacidadeInicial - 1) << 1);
+        tabela = alocar(capacidade);
+    }
+
+    /**
+     * Posição gravada para o id, ou 0 se ele não estiver no índice.
+     */
+    long buscar(UUID id) {
+        var msb = id.getMostSignificantBits();
+        var lsb = id.getLeastSignificantBits();
+        for (int i = inicio(msb, lsb); ; i = (i + 1) & (capacidade - 1)) {
+            var posicao = posicao(i);
+            if (posicao == 0)
+                return 0;
+            if (msb(i) == msb && lsb(i) == lsb)
+                return posicao;
+        }
+    }
+
+    /**
+     * Grava a posição do id e devolve a anterior, ou 0 se ele não estava no índice.
+     */
+    long gravar(UUID id, long posicao) {
+        if (posicao == 0)
+            throw new IllegalArgumentException("posição 0 é reservada para entradas vazias");
+        if (tamanho + 1 > capacidade * 3L / 4)
+            crescer();
+
+        var msb = id.getMostSignificantBits();
+        var lsb = id.getLeastSignificantBits();
+        for (int i = inicio(msb, lsb); ; i = (i + 1) & (capacidade - 1)) {
+            var atual = posicao(i);
+            if (atual == 0) {
+                escrever(tabela, i, msb, lsb, posicao);
+                tamanho++;
+                return 0;
+            }
+            if (msb(i) == msb && lsb(i) == lsb) {
+                tabela.putLong(i * BYTES_ENTRADA + 16, posicao);
+                return atual;
+            }
+        }
+    }
+
+    /**
+     * Retira o id e devolve a posição que ele tinha, ou 0 se ele não estava no índice.
+     */
+    long remover(UUID id) {
+        var msb = id.getMostSignificantBits();
+        var lsb = id.getLeastSignificantBits();
+        var mascara = capacidade - 1;
+        int i = inicio(msb, lsb);
+        while (true) {
+            var posicao = posicao(i);
+            if (posicao == 0)
+                return 0;
+            if (msb(i) == msb && lsb(i) == lsb)
+                break;
+            i = (i + 1) & mascara;
+        }
+        var removida = posicao(i);
+
+        // puxa para o buraco as entradas seguintes do mesmo agrupamento que não estejam no seu lugar ideal
+        var vazio = i;
+        for (int j = (i + 1) & mascara; posicao(j) != 0; j = (j + 1) & mascara) {
+            var ideal = inicio(msb(j), lsb(j));
+            var podeMover = vazio <= j ? (ideal <= vazio || ideal > j) : (ideal <= vazio && ideal > j);
+            if (podeMover) {
+                escrever(tabela, vazio, msb(j), lsb(j), posicao(j));
+                vazio = j;
+            }
+        }
+        escrever(tabela, vazio, 0, 0, 0);
+        tamanho--;
+        return removida;
+    }
+
+    void paraCada(ObjLongConsumer<UUID> consumidor) {
+        for (int i = 0; i < capacidade; i++) {
+            var posicao = posicao(i);
+            if (posicao != 0)
+                consumidor.accept(new UUID(msb(i), lsb(i)), posicao);
+        }
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Bytes fora do heap ocupados pela tabela.
+     */
+    long bytesOcupados() {
+        return (long) capacidade * BYTES_ENTRADA;
+    }
+
+    private void crescer() {
+        if (capacidade >= CAPACIDADE_MAXIMA)
+            throw new IllegalStateException("índice do log cheio com " + tamanho + " mensagens");
+
+        var antiga = tabela;
+        var capacidadeAntiga = capacidade;
+        capacidade <<= 1;
+        tabela = alocar(capacidade);
+        for (int i = 0; i < capacidadeAntiga; i++) {
+            var base = i * BYTES_ENTRADA;
+            var posicao = antiga.getLong(base + 16);
+            if (posicao == 0)
+                continue;
+            var msb = antiga.getLong(base);
+            var lsb = antiga.getLong(base + 8);
+            var j = inicio(msb, lsb);
+            while (posicao(j) != 0)
+                j = (j + 1) & (capacidade - 1);
+            escrever(tabela, j, msb, lsb, posicao);
+        }
+    }
+
+    private int inicio(long msb, long lsb) {
+        // finalizador do MurmurHash3: os UUIDv7 têm os bits altos quase iguais entre mensagens próximas
+        var h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & (capacidade - 1);
+    }
+
+    private long msb(int i) {
+        return tabela.getLong(i * BYTES_ENTRADA);
+    }
+
+    private long lsb(int i) {
+        return tabela.getLong(i * BYTES_ENTRADA + 8);
+    }
+
+    private long posicao(int i) {
+        return tabela.getLong(i * BYTES_ENTRADA + 16);
+    }
+
+    private static void escrever(ByteBuffer tabela, int i, long msb, long lsb, long posicao) {
+        var base = i * BYTES_ENTRADA;
+        tabela.putLong(base, msb);
+        tabela.putLong(base + 8, lsb);
+        tabela.putLong(base + 16, posicao);
+    }
+
+    private static ByteBuffer alocar(int capacidade) {
+        return ByteBuffer.allocateDirect(capacidade * BYTES_ENTRADA).order(ByteOrder.nativeOrder());
+    }
+
+}
@@ -0,0 +1,590 @@
+package com.fiap.projeto.armazenamento;
+
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32C;
+
+/**
+ * Armazena as mensagens num log só de acréscimos, dividido em segmentos mapeados em memória. Cada gravação acrescenta
+ * a versão inteira da mensagem ao fim do segmento ativo e cada remoção acrescenta uma lápide; nada é reescrito no
+ * lugar. O {@link IndiceDeslocamentos}, fora do heap, aponta cada id para a sua versão mais recente, e as chaves de
+ * ordenação (dataCriacao, id) ficam em skip lists para as listagens paginadas.
+ * <p>
+ * Na inicialização os segmentos são relidos em ordem para reconstruir o índice; um registro com CRC inválido, como
+ * o que sobra de uma gravação interrompida pela queda do processo, encerra a leitura daquele segmento. Em segundo
+ * plano, os segmentos fechados com poucos bytes vivos são compactados: as versões atuais são copiadas para o
+ * segmento ativo e o arquivo antigo é apagado.
+ * <p>
+ * Registro: tamanho (int, gravado por último), CRC32C do restante (int), tipo (byte), id (2 longs) e o primeiro
+ * segmento que pode guardar uma versão da mensagem (int). As mensagens seguem com versão, dataCriacao, gostei,
+ * usuario e conteudo; as lápides terminam aí.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mensagem.armazenamento.modo", havingValue = "log")
+public class LogMensagens {
+
+    private static final byte TIPO_MENSAGEM = 1;
+    private static final byte TIPO_REMOCAO = 2;
+    private static final int CABECALHO = 8;
+    private static final int TAMANHO_REMOCAO = 29;
+    private static final int INICIO_MENSAGEM = TAMANHO_REMOCAO;
+    private static final int BLOCO_LIMPEZA = 64 * 1024;
+
+    private static final UUID MENOR_ID = new UUID(0, 0);
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final boolean forcarEscrita;
+    private final double limiteCompactacao;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final NavigableMap<Integer, SegmentoLog> segmentos = new ConcurrentSkipListMap<>();
+    private final IndiceDeslocamentos indice = new IndiceDeslocamentos(1 << 16);
+    private final NavigableSet<Chave> ordem = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<Chave>> ordemPorUsuario = new ConcurrentHashMap<>();
+
+    private SegmentoLog ativo;
+
+    public LogMensagens(@Value("${mensagem.armazenamento.log.diretorio}") String diretorio,
+                        @Value("${mensagem.armazenamento.log.tamanho-segmento:67108864}") int tamanhoSegmento,
+                        @Value("${mensagem.armazenamento.log.forcar-escrita:false}") boolean forcarEscrita,
+                        @Value("${mensagem.armazenamento.log.compactacao.limite-vivos:0.5}") double limiteCompactacao) {
+        this.diretorio = Path.of(diretorio);
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.forcarEscrita = forcarEscrita;
+        this.limiteCompactacao = limiteCompactacao;
+        abrir();
+    }
+
+    public Optional<Mensagem> buscar(UUID id) {
+        trava.readLock().lock();
+        try {
+            var posicao = indice.buscar(id);
+            return posicao == 0 ? Optional.empty() : Optional.of(ler(posicao));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public Optional<Long> buscarVersao(UUID id) {
+        trava.readLock().lock();
+        try {
+            var posicao = indice.buscar(id);
+            if (posicao == 0)
+                return Optional.empty();
+            return Optional.of(segmento(posicao).buffer().getLong(deslocamento(posicao) + INICIO_MENSAGEM));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava a mensagem como a versão atual do seu id, nova ou não.
+     */
+    public void gravar(Mensagem mensagem) {
+        gravar(List.of(mensagem));
+    }
+
+    /**
+     * Grava o lote com uma única aquisição da trava e, com {@code forcar-escrita}, uma única descarga no disco.
+     */
+    public void gravar(List<Mensagem> mensagens) {
+        var registros = new ArrayList<byte[]>(mensagens.size());
+        trava.writeLock().lock();
+        try {
+            // codifica antes de gravar qualquer coisa: uma mensagem grande demais não deixa o lote pela metade
+            for (var mensagem : mensagens)
+                registros.add(codificar(mensagem, primeiroSegmento(indice.buscar(mensagem.getId()))));
+            for (int i = 0; i < mensagens.size(); i++)
+                substituir(mensagens.get(i), registros.get(i));
+            descarregar();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lê a versão atual, aplica a alteração e grava o resultado sem outra gravação no meio. A alteração pode lançar
+     * exceção para desistir sem gravar nada.
+     */
+    public Optional<Mensagem> alterar(UUID id, UnaryOperator<Mensagem> alteracao) {
+        trava.writeLock().lock();
+        try {
+            var posicao = indice.buscar(id);
+            if (posicao == 0)
+                return Optional.empty();
+            var alterada = alteracao.apply(ler(posicao));
+            alterada.setId(id);
+            gravar(alterada);
+            return Optional.of(alterada);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public boolean remover(UUID id) {
+        trava.writeLock().lock();
+        try {
+            var posicao = indice.buscar(id);
+            if (posicao == 0)
+                return false;
+            var removida = ler(posicao);
+            anexar(codificarRemocao(id, primeiroSegmento(posicao)));
+            descarregar();
+            indice.remover(id);
+            descontar(posicao);
+            retirarChave(removida);
+            return true;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public int quantidade() {
+        trava.readLock().lock();
+        try {
+            return indice.tamanho();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mensagens por dataCriacao e id decrescentes, do usuário informado ou de todos, com dataCriacao em
+     * [desde, ate). Os limites e o usuário podem ser nulos.
+     */
+    public List<Mensagem> listar(String usuario, LocalDateTime desde, LocalDateTime ate, long pular, int limite) {
+        return carregar(chaves(usuario, desde, ate), pular, limite);
+    }
+
+    public long contar(LocalDateTime desde, LocalDateTime ate) {
+        if (desde == null && ate == null)
+            return quantidade();
+        // size() de uma faixa da skip list percorre a faixa inteira
+        return chaves(null, desde, ate).size();
+    }
+
+    /**
+     * Mensagens depois do cursor na ordem de {@link #listar}; sem cursor, a partir da mais recente.
+     */
+    public List<Mensagem> listarApos(CursorMensagem cursor, int limite) {
+        var chaves = cursor == null ? ordem : ordem.tailSet(Chave.de(cursor.dataCriacao(), cursor.id()), false);
+        return carregar(chaves, 0, limite);
+    }
+
+    public void percorrer(Consumer<Mensagem> consumidor) {
+        for (var chave : ordem)
+            buscar(chave.id()).ifPresent(consumidor);
+    }
+
+    /**
+     * Compacta os segmentos fechados em que os registros vivos ocupam menos que {@code limite-vivos} do espaço usado.
+     */
+    @Scheduled(fixedDelayString = "${mensagem.armazenamento.log.compactacao.intervalo:30000}")
+    public void compactar() {
+        // um segmento por vez, para as leituras não esperarem a compactação inteira
+        for (var segmento : List.copyOf(segmentos.values())) {
+            trava.writeLock().lock();
+            try {
+                if (segmento != ativo && segmento.bytesVivos() < segmento.fim() * limiteCompactacao)
+                    compactar(segmento);
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+    }
+
+    public int quantidadeSegmentos() {
+        return segmentos.size();
+    }
+
+    @PreDestroy
+    public void fechar() {
+        trava.writeLock().lock();
+        try {
+            segmentos.values().forEach(SegmentoLog::forcar);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void abrir() {
+        var inicio = System.nanoTime();
+        try {
+            Files.createDirectories(diretorio);
+            try (var arquivos = Files.list(diretorio)) {
+                arquivos.filter(SegmentoLog::ehSegmento)
+                        .sorted(Comparator.comparingInt(SegmentoLog::numero))
+                        .forEach(arquivo -> reproduzir(SegmentoLog.abrir(arquivo)));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        if (segmentos.isEmpty()) {
+            ativo = SegmentoLog.criar(diretorio, 1, tamanhoSegmento);
+            segmentos.put(ativo.numero(), ativo);
+        } else {
+            ativo = segmentos.lastEntry().getValue();
+            limparCauda(ativo);
+        }
+
+        carregarOrdem();
+        log.info("log de mensagens em {} carregado: {} mensagens em {} segmentos, índice com {} KiB fora do heap, {} ms",
+                diretorio, indice.tamanho(), segmentos.size(), indice.bytesOcupados() / 1024,
+                (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Preenche as skip lists em ordem: inserir chaves já ordenadas custa uma fração da inserção em ordem aleatória.
+     */
+    private void carregarOrdem() {
+        var chaves = new ArrayList<ChaveDoUsuario>(indice.tamanho());
+        indice.paraCada((id, posicao) -> chaves.add(lerChave(posicao)));
+        chaves.sort(Comparator.comparing(ChaveDoUsuario::chave));
+        for (var chave : chaves)
+            incluirChave(chave.chave(), chave.usuario());
+    }
+
+    private void reproduzir(SegmentoLog segmento) {
+        segmentos.put(segmento.numero(), segmento);
+        var buffer = segmento.buffer();
+        var deslocamento = 0;
+        while (deslocamento + CABECALHO <= segmento.capacidade()) {
+            var tamanho = buffer.getInt(deslocamento);
+            if (tamanho == 0)
+                break;
+            if (!registroValido(buffer, deslocamento, tamanho)) {
+                log.warn("registro inválido no segmento {} na posição {}; o restante do segmento foi descartado",
+                        segmento.numero(), deslocamento);
+                break;
+            }
+
+            var id = new UUID(buffer.getLong(deslocamento + 9), buffer.getLong(deslocamento + 17));
+            var posicao = posicao(segmento.numero(), deslocamento);
+            if (buffer.get(deslocamento + CABECALHO) == TIPO_MENSAGEM) {
+                descontar(indice.gravar(id, posicao));
+                segmento.adicionarVivos(tamanho);
+            } else {
+                descontar(indice.remover(id));
+            }
+            deslocamento += tamanho;
+        }
+        segmento.posicionar(deslocamento);
+    }
+
+    /**
+     * Zera o que sobrou depois do último registro válido do segmento ativo. Sem isso, os bytes de uma gravação
+     * interrompida poderiam aparecer logo depois do próximo registro e esconder os que viessem a seguir.
+     */
+    private void limparCauda(SegmentoLog segmento) {
+        // compara em blocos: ler byte a byte um segmento de 64 MiB leva segundos
+        var buffer = segmento.buffer();
+        var bloco = new byte[BLOCO_LIMPEZA];
+        var zeros = new byte[BLOCO_LIMPEZA];
+        for (int i = segmento.fim(); i < segmento.capacidade(); i += BLOCO_LIMPEZA) {
+            var tamanho = Math.min(BLOCO_LIMPEZA, segmento.capacidade() - i);
+            buffer.get(i, bloco, 0, tamanho);
+            if (Arrays.mismatch(bloco, 0, tamanho, zeros, 0, tamanho) != -1) {
+                for (int j = segmento.fim(); j < segmento.capacidade(); j += BLOCO_LIMPEZA)
+                    buffer.put(j, zeros, 0, Math.min(BLOCO_LIMPEZA, segmento.capacidade() - j));
+                segmento.forcar();
+                return;
+            }
+        }
+    }
+
+    private void compactar(SegmentoLog segmento) {
+        var buffer = segmento.buffer();
+        var copiados = 0;
+        for (int deslocamento = 0; deslocamento < segmento.fim(); ) {
+            var tamanho = buffer.getInt(deslocamento);
+            var id = new UUID(buffer.getLong(deslocamento + 9), buffer.getLong(deslocamento + 17));
+            var atual = indice.buscar(id);
+
+            if (buffer.get(deslocamento + CABECALHO) == TIPO_MENSAGEM) {
+                if (atual == posicao(segmento.numero(), deslocamento)) {
+                    var nova = anexar(copiar(buffer, deslocamento, tamanho));
+                    indice.gravar(id, nova);
+                    segmento(nova).adicionarVivos(tamanho);
+                    copiados++;
+                }
+            } else if (atual == 0 && !segmentos.subMap(buffer.getInt(deslocamento + 25), true,
+                    segmento.numero(), false).isEmpty()) {
+                // a lápide ainda esconde versões antigas guardadas em segmentos anteriores
+                anexar(copiar(buffer, deslocamento, tamanho));
+            }
+            deslocamento += tamanho;
+        }
+
+        // as cópias precisam chegar ao disco antes de o original sumir
+        descarregar();
+        segmentos.remove(segmento.numero());
+        segmento.apagar();
+        log.info("segmento {} compactado: {} mensagens copiadas para o segmento {}",
+                segmento.numero(), copiados, ativo.numero());
+    }
+
+    private void substituir(Mensagem mensagem, byte[] registro) {
+        var anterior = indice.buscar(mensagem.getId());
+        if (anterior != 0)
+            retirarChave(ler(anterior));
+
+        var posicao = anexar(registro);
+        indice.gravar(mensagem.getId(), posicao);
+        segmento(posicao).adicionarVivos(registro.length);
+        descontar(anterior);
+        incluirChave(mensagem);
+    }
+
+    private long anexar(byte[] registro) {
+        if (ativo.livre() < registro.length) {
+            descarregar();
+            ativo = SegmentoLog.criar(diretorio, ativo.numero() + 1, tamanhoSegmento);
+            segmentos.put(ativo.numero(), ativo);
+        }
+
+        // o tamanho vai por último: até ele ser gravado o registro não existe para a leitura na inicialização
+        var deslocamento = ativo.fim();
+        var buffer = ativo.buffer();
+        buffer.put(deslocamento + 4, registro, 4, registro.length - 4);
+        buffer.putInt(deslocamento, registro.length);
+        ativo.avancar(registro.length);
+        return posicao(ativo.numero(), deslocamento);
+    }
+
+    /**
+     * Com {@code forcar-escrita} espera as páginas alteradas do segmento ativo chegarem ao disco; sem ela a gravação
+     * sobrevive à queda do processo, pelo cache de páginas do sistema, mas não à queda da máquina.
+     */
+    private void descarregar() {
+        if (forcarEscrita)
+            ativo.forcar();
+    }
+
+    private void descontar(long posicao) {
+        if (posicao != 0)
+            segmento(posicao).adicionarVivos(-segmento(posicao).buffer().getInt(deslocamento(posicao)));
+    }
+
+    private int primeiroSegmento(long posicaoAnterior) {
+        // uma mensagem nova só pode estar no segmento ativo ou, se ele encher, nos seguintes
+        return posicaoAnterior == 0 ? ativo.numero()
+                : segmento(posicaoAnterior).buffer().getInt(deslocamento(posicaoAnterior) + 25);
+    }
+
+    private List<Mensagem> carregar(NavigableSet<Chave> chaves, long pular, int limite) {
+        // removidas entre a leitura da chave e a da mensagem são ignoradas
+        return chaves.stream()
+                .skip(pular)
+                .limit(limite)
+                .map(chave -> buscar(chave.id()))
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    private NavigableSet<Chave> chaves(String usuario, LocalDateTime desde, LocalDateTime ate) {
+        NavigableSet<Chave> chaves = usuario == null ? ordem
+                : ordemPorUsuario.getOrDefault(usuario, new ConcurrentSkipListSet<>());
+        // a ordem é decrescente: ate limita o começo e desde o fim
+        if (ate != null)
+            chaves = chaves.tailSet(Chave.de(ate, MENOR_ID), false);
+        if (desde != null)
+            chaves = chaves.headSet(Chave.de(desde, MENOR_ID), true);
+        return chaves;
+    }
+
+    private void incluirChave(Mensagem mensagem) {
+        incluirChave(Chave.de(mensagem), mensagem.getUsuario());
+    }
+
+    private void incluirChave(Chave chave, String usuario) {
+        ordem.add(chave);
+        ordemPorUsuario.computeIfAbsent(usuario, u -> new ConcurrentSkipListSet<>()).add(chave);
+    }
+
+    private void retirarChave(Mensagem mensagem) {
+        var chave = Chave.de(mensagem);
+        ordem.remove(chave);
+        var doUsuario = ordemPorUsuario.get(mensagem.getUsuario());
+        if (doUsuario != null && doUsuario.remove(chave) && doUsuario.isEmpty())
+            ordemPorUsuario.remove(mensagem.getUsuario());
+    }
+
+    /**
+     * Só a chave de ordenação e o usuário, sem copiar o registro inteiro.
+     */
+    private ChaveDoUsuario lerChave(long posicao) {
+        var buffer = segmento(posicao).buffer();
+        var deslocamento = deslocamento(posicao);
+        var chave = new Chave(buffer.getLong(deslocamento + INICIO_MENSAGEM + 8),
+                buffer.getInt(deslocamento + INICIO_MENSAGEM + 16),
+                buffer.getLong(deslocamento + 9), buffer.getLong(deslocamento + 17));
+        var usuario = new byte[buffer.getInt(deslocamento + INICIO_MENSAGEM + 24)];
+        buffer.get(deslocamento + INICIO_MENSAGEM + 28, usuario);
+        return new ChaveDoUsuario(chave, new String(usuario, StandardCharsets.UTF_8));
+    }
+
+    private Mensagem ler(long posicao) {
+        var buffer = segmento(posicao).buffer();
+        var deslocamento = deslocamento(posicao);
+        var registro = new byte[buffer.getInt(deslocamento)];
+        buffer.get(deslocamento, registro);
+        var leitura = ByteBuffer.wrap(registro).position(9);
+
+        var id = new UUID(leitura.getLong(), leitura.getLong());
+        leitura.getInt();
+        var versao = leitura.getLong();
+        var dataCriacao = LocalDateTime.ofEpochSecond(leitura.getLong(), leitura.getInt(), ZoneOffset.UTC);
+        var gostei = leitura.getInt();
+        return Mensagem.builder()
+                .id(id)
+                .versao(versao)
+                .dataCriacao(dataCriacao)
+                .gostei(gostei)
+                .usuario(lerTexto(leitura))
+                .conteudo(lerTexto(leitura))
+                .build();
+    }
+
+    private byte[] codificar(Mensagem mensagem, int primeiroSegmento) {
+        var usuario = mensagem.getUsuario().getBytes(StandardCharsets.UTF_8);
+        var conteudo = mensagem.getConteudo().getBytes(StandardCharsets.UTF_8);
+        var tamanho = INICIO_MENSAGEM + 8 + 8 + 4 + 4 + 4 + usuario.length + 4 + conteudo.length;
+        if (tamanho > tamanhoSegmento)
+            throw new IllegalArgumentException("mensagem maior que o segmento do log");
+
+        var registro = cabecalho(tamanho, TIPO_MENSAGEM, mensagem.getId(), primeiroSegmento)
+                .putLong(mensagem.getVersao())
+                .putLong(mensagem.getDataCriacao().toEpochSecond(ZoneOffset.UTC))
+                .putInt(mensagem.getDataCriacao().getNano())
+                .putInt(mensagem.getGostei())
+                .putInt(usuario.length).put(usuario)
+                .putInt(conteudo.length).put(conteudo);
+        return assinar(registro);
+    }
+
+    private static byte[] codificarRemocao(UUID id, int primeiroSegmento) {
+        return assinar(cabecalho(TAMANHO_REMOCAO, TIPO_REMOCAO, id, primeiroSegmento));
+    }
+
+    private static ByteBuffer cabecalho(int tamanho, byte tipo, UUID id, int primeiroSegmento) {
+        return ByteBuffer.allocate(tamanho)
+                .putInt(tamanho)
+                .putInt(0)
+                .put(tipo)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .putInt(primeiroSegmento);
+    }
+
+    private static byte[] assinar(ByteBuffer registro) {
+        var crc = new CRC32C();
+        crc.update(registro.array(), CABECALHO, registro.capacity() - CABECALHO);
+        registro.putInt(4, (int) crc.getValue());
+        return registro.array();
+    }
+
+    private static boolean registroValido(ByteBuffer buffer, int deslocamento, int tamanho) {
+        if (tamanho < TAMANHO_REMOCAO || tamanho > buffer.capacity() - deslocamento)
+            return false;
+        var tipo = buffer.get(deslocamento + CABECALHO);
+        if (tipo != TIPO_MENSAGEM && tipo != TIPO_REMOCAO)
+            return false;
+        var crc = new CRC32C();
+        crc.update(buffer.slice(deslocamento + CABECALHO, tamanho - CABECALHO));
+        return (int) crc.getValue() == buffer.getInt(deslocamento + 4);
+    }
+
+    private static byte[] copiar(ByteBuffer buffer, int deslocamento, int tamanho) {
+        var registro = new byte[tamanho];
+        buffer.get(deslocamento, registro);
+        return registro;
+    }
+
+    private static String lerTexto(ByteBuffer leitura) {
+        var bytes = new byte[leitura.getInt()];
+        leitura.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private SegmentoLog segmento(long posicao) {
+        return segmentos.get((int) (posicao >>> 32));
+    }
+
+    private static int deslocamento(long posicao) {
+        return (int) posicao;
+    }
+
+    private static long posicao(int segmento, int deslocamento) {
+        return ((long) segmento << 32) | deslocamento;
+    }
+
+    /**
+     * Posição na ordem (dataCriacao, id) decrescente, em campos primitivos: a comparação não segue referências para
+     * LocalDateTime e UUID, o que pesa quando centenas de milhares de chaves são inseridas na inicialização. Os ids
+     * são comparados como bytes sem sinal, a mesma ordem do UUID no H2.
+     */
+    private record Chave(long segundos, int nanos, long msb, long lsb) implements Comparable<Chave> {
+
+        static Chave de(Mensagem mensagem) {
+            return de(mensagem.getDataCriacao(), mensagem.getId());
+        }
+
+        static Chave de(LocalDateTime dataCriacao, UUID id) {
+            return new Chave(dataCriacao.toEpochSecond(ZoneOffset.UTC), dataCriacao.getNano(),
+                    id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+
+        UUID id() {
+            return new UUID(msb, lsb);
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            if (segundos != outra.segundos)
+                return Long.compare(outra.segundos, segundos);
+            if (nanos != outra.nanos)
+                return Integer.compare(outra.nanos, nanos);
+            if (msb != outra.msb)
+                return Long.compareUnsigned(outra.msb, msb);
+            return Long.compareUnsigned(outra.lsb, lsb);
+        }
+
+    }
+
+    private record ChaveDoUsuario(Chave chave, String usuario) {
+    }
+
+}
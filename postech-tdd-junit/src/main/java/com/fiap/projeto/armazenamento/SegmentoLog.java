@@ -0,0 +1,126 @@
+package com.fiap.projeto.armazenamento;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Um arquivo do log, criado já com o tamanho final e mapeado inteiro em memória. Os registros são gravados em
+ * sequência a partir do início; o primeiro registro com tamanho 0 marca o fim dos dados.
+ */
+class SegmentoLog {
+
+    private static final String PREFIXO = "segmento-";
+    private static final String SUFIXO = ".log";
+
+    private final int numero;
+    private final Path arquivo;
+    private final MappedByteBuffer buffer;
+
+    // posição onde o próximo registro será gravado
+    private int fim;
+    // bytes dos registros de mensagem que o índice ainda aponta; o resto pode ser descartado na compactação
+    private long bytesVivos;
+
+    private SegmentoLog(int numero, Path arquivo, MappedByteBuffer buffer) {
+        this.numero = numero;
+        this.arquivo = arquivo;
+        this.buffer = buffer;
+    }
+
+    static SegmentoLog criar(Path diretorio, int numero, int tamanho) {
+        return mapear(numero, diretorio.resolve(nomeArquivo(numero)), tamanho);
+    }
+
+    static SegmentoLog abrir(Path arquivo) {
+        try {
+            return mapear(numero(arquivo), arquivo, Math.toIntExact(Files.size(arquivo)));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static boolean ehSegmento(Path arquivo) {
+        var nome = arquivo.getFileName().toString();
+        return nome.startsWith(PREFIXO) && nome.endsWith(SUFIXO);
+    }
+
+    static int numero(Path arquivo) {
+        var nome = arquivo.getFileName().toString();
+        return Integer.parseInt(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    private static String nomeArquivo(int numero) {
+        return String.format("%s%010d%s", PREFIXO, numero, SUFIXO);
+    }
+
+    private static SegmentoLog mapear(int numero, Path arquivo, int tamanho) {
+        // o mapeamento continua válido depois que o canal é fechado
+        try (var canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new SegmentoLog(numero, arquivo, canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    int numero() {
+        return numero;
+    }
+
+    MappedByteBuffer buffer() {
+        return buffer;
+    }
+
+    int capacidade() {
+        return buffer.capacity();
+    }
+
+    int fim() {
+        return fim;
+    }
+
+    void avancar(int bytes) {
+        fim += bytes;
+    }
+
+    void posicionar(int fim) {
+        this.fim = fim;
+    }
+
+    int livre() {
+        return buffer.capacity() - fim;
+    }
+
+    long bytesVivos() {
+        return bytesVivos;
+    }
+
+    void adicionarVivos(long bytes) {
+        bytesVivos += bytes;
+    }
+
+    /**
+     * Descarrega no disco as páginas alteradas do segmento.
+     */
+    void forcar() {
+        buffer.force();
+    }
+
+    /**
+     * Apaga o arquivo. No Linux o mapeamento atual continua legível até o buffer ser coletado, então leituras
+     * que já obtiveram o segmento terminam normalmente.
+     */
+    void apagar() {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.fiap.projeto.busca;
+
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.evento.MensagemRemovida;
+import com.fiap.projeto.service.MensagemService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Carrega o índice de busca a partir do banco na inicialização, antes do servidor aceitar requisições,
+ * e o mantém atualizado com os eventos publicados pelo {@link MensagemService} depois de cada gravação.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndexadorMensagens implements SmartInitializingSingleton {
+
+    private final MensagemService mensagemService;
+    private final IndiceMensagens indiceMensagens;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var inicio = System.nanoTime();
+        indiceMensagens.limpar();
+        mensagemService.percorrerMensagens(mensagem ->
+                indiceMensagens.indexar(mensagem.getId(), mensagem.getConteudo()));
+        log.info("índice de busca carregado com {} mensagens em {} ms",
+                indiceMensagens.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrar(MensagemRegistrada evento) {
+        indiceMensagens.indexar(evento.mensagem().getId(), evento.mensagem().getConteudo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(MensagemAlterada evento) {
+        indiceMensagens.indexar(evento.mensagem().getId(), evento.mensagem().getConteudo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemover(MensagemRemovida evento) {
+        indiceMensagens.remover(evento.id());
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.fiap.projeto.busca;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre o conteúdo das mensagens, com ranqueamento BM25.
+ * <p>
+ * Cada mensagem recebe um número de documento crescente, então as postagens de todos os termos ficam ordenadas
+ * e a consulta percorre as listas em paralelo, sem alocar nada proporcional ao total de mensagens. Remoções
+ * e alterações só marcam o documento antigo; as postagens são compactadas quando os removidos passam dos vivos.
+ */
+@Component
+public class IndiceMensagens {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MINIMO_PARA_COMPACTAR = 1024;
+
+    private static final Comparator<Candidato> PIOR_PRIMEIRO = Comparator
+            .comparingDouble(Candidato::relevancia)
+            .thenComparingInt(Candidato::documento);
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+    private final Map<String, Postagens> postagens = new HashMap<>();
+    private final Map<UUID, Integer> documentoPorId = new HashMap<>();
+
+    // posições liberadas ficam com id nulo até a próxima compactação
+    private UUID[] ids = new UUID[1024];
+    private int[] comprimentos = new int[1024];
+    private int totalDocumentos;
+    private int removidos;
+    private long comprimentoTotal;
+
+    public void indexar(UUID id, String conteudo) {
+        var frequencias = new HashMap<String, Integer>();
+        for (var termo : Tokenizador.tokenizar(conteudo))
+            frequencias.merge(termo, 1, Integer::sum);
+        var comprimento = frequencias.values().stream().mapToInt(Integer::intValue).sum();
+
+        trava.writeLock().lock();
+        try {
+            desmarcar(id);
+
+            if (totalDocumentos == ids.length) {
+                ids = Arrays.copyOf(ids, totalDocumentos * 2);
+                comprimentos = Arrays.copyOf(comprimentos, totalDocumentos * 2);
+            }
+            var documento = totalDocumentos++;
+            ids[documento] = id;
+            comprimentos[documento] = comprimento;
+            comprimentoTotal += comprimento;
+            documentoPorId.put(id, documento);
+
+            frequencias.forEach((termo, frequencia) ->
+                    postagens.computeIfAbsent(termo, chave -> new Postagens()).adicionar(documento, frequencia));
+            compactarSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void remover(UUID id) {
+        trava.writeLock().lock();
+        try {
+            desmarcar(id);
+            compactarSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void limpar() {
+        trava.writeLock().lock();
+        try {
+            postagens.clear();
+            documentoPorId.clear();
+            Arrays.fill(ids, 0, totalDocumentos, null);
+            totalDocumentos = 0;
+            removidos = 0;
+            comprimentoTotal = 0;
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        trava.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    public PaginaBusca buscar(String consulta, int inicio, int quantidade) {
+        var termos = new LinkedHashSet<>(Tokenizador.tokenizar(consulta));
+
+        trava.readLock().lock();
+        try {
+            var vivos = documentoPorId.size();
+            if (vivos == 0 || termos.isEmpty())
+                return new PaginaBusca(List.of(), 0);
+
+            var listas = new ArrayList<Postagens>();
+            var pesos = new ArrayList<Double>();
+            for (var termo : termos) {
+                var lista = postagens.get(termo);
+                if (lista == null)
+                    continue;
+                var frequenciaDocumentos = Math.min(lista.tamanho, vivos);
+                listas.add(lista);
+                pesos.add(Math.log(1 + (vivos - frequenciaDocumentos + 0.5) / (frequenciaDocumentos + 0.5)));
+            }
+
+            var limite = inicio + quantidade;
+            var melhores = new PriorityQueue<>(limite + 1, PIOR_PRIMEIRO);
+            var total = percorrer(listas, pesos, comprimentoTotal / (double) vivos, melhores, limite);
+
+            var ordenados = new ArrayList<>(melhores);
+            ordenados.sort(PIOR_PRIMEIRO.reversed());
+            var pagina = inicio >= ordenados.size() ? List.<UUID>of() : ordenados
+                    .subList(inicio, ordenados.size()).stream()
+                    .map(candidato -> ids[candidato.documento()])
+                    .toList();
+            return new PaginaBusca(pagina, total);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private long percorrer(List<Postagens> listas, List<Double> pesos, double comprimentoMedio,
+                           PriorityQueue<Candidato> melhores, int limite) {
+        var posicoes = new int[listas.size()];
+        long total = 0;
+
+        while (true) {
+            var documento = Integer.MAX_VALUE;
+            for (int i = 0; i < listas.size(); i++) {
+                if (posicoes[i] < listas.get(i).tamanho)
+                    documento = Math.min(documento, listas.get(i).documentos[posicoes[i]]);
+            }
+            if (documento == Integer.MAX_VALUE)
+                return total;
+
+            var normalizacao = K1 * (1 - B + B * comprimentos[documento] / comprimentoMedio);
+            var relevancia = 0.0;
+            for (int i = 0; i < listas.size(); i++) {
+                var lista = listas.get(i);
+                if (posicoes[i] < lista.tamanho && lista.documentos[posicoes[i]] == documento) {
+                    var frequencia = lista.frequencias[posicoes[i]++];
+                    relevancia += pesos.get(i) * frequencia * (K1 + 1) / (frequencia + normalizacao);
+                }
+            }
+            if (ids[documento] == null)
+                continue;
+
+            total++;
+            if (melhores.size() < limite) {
+                melhores.add(new Candidato(documento, relevancia));
+            } else if (limite > 0 && relevancia > melhores.peek().relevancia()) {
+                melhores.poll();
+                melhores.add(new Candidato(documento, relevancia));
+            }
+        }
+    }
+
+    private void desmarcar(UUID id) {
+        var documento = documentoPorId.remove(id);
+        if (documento == null)
+            return;
+        ids[documento] = null;
+        comprimentoTotal -= comprimentos[documento];
+        removidos++;
+    }
+
+    private void compactarSeNecessario() {
+        if (removidos < MINIMO_PARA_COMPACTAR || removidos < documentoPorId.size())
+            return;
+
+        // renumera os documentos vivos mantendo a ordem, então as postagens continuam ordenadas
+        var novoNumero = new int[totalDocumentos];
+        var proximo = 0;
+        for (int documento = 0; documento < totalDocumentos; documento++) {
+            if (ids[documento] == null) {
+                novoNumero[documento] = -1;
+                continue;
+            }
+            novoNumero[documento] = proximo;
+            ids[proximo] = ids[documento];
+            comprimentos[proximo] = comprimentos[documento];
+            documentoPorId.put(ids[proximo], proximo);
+            proximo++;
+        }
+        Arrays.fill(ids, proximo, totalDocumentos, null);
+        totalDocumentos = proximo;
+        removidos = 0;
+
+        var iterador = postagens.values().iterator();
+        while (iterador.hasNext()) {
+            var lista = iterador.next();
+            lista.renumerar(novoNumero);
+            if (lista.tamanho == 0)
+                iterador.remove();
+        }
+    }
+
+    private record Candidato(int documento, double relevancia) {
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.fiap.projeto.busca;
+
+import java.util.List;
+import java.util.UUID;
+
+public record PaginaBusca(List<UUID> ids, long total) {
+}
@@ -0,0 +1,37 @@
+package com.fiap.projeto.busca;
+
+import java.util.Arrays;
+
+/**
+ * Lista de documentos em que um termo aparece, em ordem crescente de documento, com a frequência do termo em cada um.
+ */
+final class Postagens {
+
+    int[] documentos = new int[4];
+    int[] frequencias = new int[4];
+    int tamanho;
+
+    void adicionar(int documento, int frequencia) {
+        if (tamanho == documentos.length) {
+            documentos = Arrays.copyOf(documentos, tamanho * 2);
+            frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+        }
+        documentos[tamanho] = documento;
+        frequencias[tamanho] = frequencia;
+        tamanho++;
+    }
+
+    void renumerar(int[] novoNumero) {
+        int mantidos = 0;
+        for (int i = 0; i < tamanho; i++) {
+            var documento = novoNumero[documentos[i]];
+            if (documento < 0)
+                continue;
+            documentos[mantidos] = documento;
+            frequencias[mantidos] = frequencias[i];
+            mantidos++;
+        }
+        tamanho = mantidos;
+    }
+
+}
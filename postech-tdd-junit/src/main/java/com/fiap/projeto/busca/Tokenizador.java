@@ -0,0 +1,43 @@
+package com.fiap.projeto.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Quebra o texto em termos minúsculos e sem acento, para "Ação" e "acao" caírem no mesmo termo.
+ */
+public final class Tokenizador {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final int TAMANHO_MINIMO = 2;
+
+    private Tokenizador() {
+    }
+
+    public static List<String> tokenizar(String texto) {
+        var termos = new ArrayList<String>();
+        if (texto == null || texto.isBlank())
+            return termos;
+
+        var normalizado = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            var letraOuDigito = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letraOuDigito && inicio < 0) {
+                inicio = i;
+            } else if (!letraOuDigito && inicio >= 0) {
+                if (i - inicio >= TAMANHO_MINIMO)
+                    termos.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.fiap.projeto.config;
+
+import com.fiap.projeto.controller.MensagemController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Coloca o {@link AdmissaoInterceptor} na frente do {@link MensagemController}. O stream, a exportação e a
+ * importação ficam de fora: são longos por natureza e têm os próprios limites.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mensagem.admissao.habilitada", havingValue = "true")
+public class AdmissaoConfig implements WebMvcConfigurer {
+
+    private final AdmissaoInterceptor admissaoInterceptor;
+
+    public AdmissaoConfig(MeterRegistry meterRegistry,
+                          @Value("${mensagem.admissao.limite-inicial:20}") int limiteInicial,
+                          @Value("${mensagem.admissao.limite-minimo:4}") int limiteMinimo,
+                          @Value("${mensagem.admissao.limite-maximo:200}") int limiteMaximo,
+                          @Value("${mensagem.admissao.limite-global-inicial:40}") int limiteGlobalInicial,
+                          @Value("${mensagem.admissao.reserva-leituras:0.25}") double reservaLeituras,
+                          @Value("${mensagem.admissao.retry-after:1}") long retryAfterSegundos) {
+        this.admissaoInterceptor = new AdmissaoInterceptor(MensagemController.class, meterRegistry,
+                limiteInicial, limiteMinimo, limiteMaximo, limiteGlobalInicial, reservaLeituras, retryAfterSegundos);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissaoInterceptor);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.fiap.projeto.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Controle de admissão dos endpoints de um controller. Cada rota ({@code method} e {@code uri}, como no
+ * {@code http.server.requests}) tem o seu {@link LimiteAdaptativo}, e todas passam também por um limite global.
+ * As escritas só usam o limite global até a fração {@code 1 - reservaLeituras}: com o servidor saturado elas
+ * são recusadas primeiro e as leituras continuam sendo atendidas. O excedente recebe 503 com Retry-After na hora,
+ * em vez de esperar na fila do Tomcat ou do pool de conexões até o tempo limite.
+ */
+public class AdmissaoInterceptor implements HandlerInterceptor {
+
+    private static final String ADMISSAO = AdmissaoInterceptor.class.getName() + ".admissao";
+
+    private final Class<?> controlador;
+    private final MeterRegistry meterRegistry;
+    private final LimiteAdaptativo global;
+    private final int limiteInicial;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double reservaLeituras;
+    private final String retryAfter;
+
+    private final Map<String, Rota> rotas = new ConcurrentHashMap<>();
+    private final Counter rejeitadasGlobal;
+
+    public AdmissaoInterceptor(Class<?> controlador, MeterRegistry meterRegistry, int limiteInicial, int limiteMinimo,
+                               int limiteMaximo, int limiteGlobalInicial, double reservaLeituras,
+                               long retryAfterSegundos) {
+        if (reservaLeituras < 0 || reservaLeituras >= 1)
+            throw new IllegalArgumentException("reserva das leituras deve estar entre 0 e 1");
+        this.controlador = controlador;
+        this.meterRegistry = meterRegistry;
+        this.limiteInicial = limiteInicial;
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.reservaLeituras = reservaLeituras;
+        this.retryAfter = Long.toString(retryAfterSegundos);
+        // a soma das rotas pode passar do que o servidor aguenta junto; o global cobre isso
+        this.global = new LimiteAdaptativo(limiteGlobalInicial, limiteMinimo, limiteMaximo);
+
+        Gauge.builder("mensagem.admissao.limite.global", global, LimiteAdaptativo::limite)
+                .description("requisições simultâneas admitidas somando todas as rotas")
+                .register(meterRegistry);
+        Gauge.builder("mensagem.admissao.em-andamento.global", global, LimiteAdaptativo::emAndamento)
+                .register(meterRegistry);
+        this.rejeitadasGlobal = Counter.builder("mensagem.admissao.rejeitadas.global")
+                .description("requisições recusadas pelo limite global")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod metodo) || metodo.getBeanType() != controlador)
+            return true;
+
+        var leitura = request.getMethod().equals("GET") || request.getMethod().equals("HEAD");
+        var teto = leitura ? global.limite() : Math.max(1, (int) (global.limite() * (1 - reservaLeituras)));
+        if (!global.adquirir(teto)) {
+            rejeitadasGlobal.increment();
+            rejeitar(response);
+            return false;
+        }
+
+        var rota = rotas.computeIfAbsent(request.getMethod() + " " + uri(request),
+                chave -> new Rota(request.getMethod(), uri(request)));
+        if (!rota.limite.adquirir()) {
+            global.desistir();
+            rota.rejeitadas.increment();
+            rejeitar(response);
+            return false;
+        }
+        request.setAttribute(ADMISSAO, new Admissao(rota, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(ADMISSAO) instanceof Admissao admissao) {
+            var latencia = System.nanoTime() - admissao.inicio();
+            admissao.rota().limite.liberar(latencia);
+            global.liberar(latencia);
+        }
+    }
+
+    private void rejeitar(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("servidor sobrecarregado, tente novamente");
+    }
+
+    private static String uri(HttpServletRequest request) {
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return uri == null ? "UNKNOWN" : uri.toString();
+    }
+
+    private final class Rota {
+
+        private final LimiteAdaptativo limite = new LimiteAdaptativo(limiteInicial, limiteMinimo, limiteMaximo);
+        private final Counter rejeitadas;
+
+        private Rota(String method, String uri) {
+            Gauge.builder("mensagem.admissao.limite", limite, LimiteAdaptativo::limite)
+                    .description("requisições simultâneas admitidas na rota")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+            Gauge.builder("mensagem.admissao.em-andamento", limite, LimiteAdaptativo::emAndamento)
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+            this.rejeitadas = Counter.builder("mensagem.admissao.rejeitadas")
+                    .description("requisições recusadas pelo limite da rota")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+        }
+
+    }
+
+    private record Admissao(Rota rota, long inicio) {
+    }
+
+}
@@ -1,10 +1,16 @@
 package com.fiap.projeto.config;
 
+import org.springframework.boot.LazyInitializationExcludeFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
     @Bean
@@ -16,4 +22,13 @@ public class ApplicationConfig {
         return filter;
     }
 
+    // com spring.main.lazy-initialization=true um bean só nasce quando alguém o usa, e os métodos @Scheduled
+    // só são agendados quando o bean nasce: a descarga dos gosteis e a compactação do log nunca rodariam
+    @Bean
+    static LazyInitializationExcludeFilter agendadosSemInicializacaoTardia() {
+        return (nome, definicao, tipo) -> tipo != null && !MethodIntrospector.selectMethods(tipo,
+                (MethodIntrospector.MetadataLookup<Boolean>) metodo ->
+                        AnnotatedElementUtils.hasAnnotation(metodo, Scheduled.class) ? true : null).isEmpty();
+    }
+
 }
@@ -0,0 +1,26 @@
+package com.fiap.projeto.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL que o Hibernate prepara na thread atual; não altera o SQL.
+ */
+public class ContadorSql implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COMANDOS = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COMANDOS.get()[0]++;
+        return sql;
+    }
+
+    public void zerar() {
+        COMANDOS.get()[0] = 0;
+    }
+
+    public int comandos() {
+        return COMANDOS.get()[0];
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.fiap.projeto.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas ajustado pela latência, no estilo do gradiente: compara a média recente da
+ * latência com uma média longa, que serve de referência sem fila. Enquanto a recente não passa de
+ * {@link #TOLERANCIA} vezes a referência, o limite cresce cerca de raiz(limite) por ajuste; quando passa, ele
+ * encolhe na proporção em que a latência cresceu, até a metade por ajuste. O limite só cresce com pelo menos
+ * metade dele em uso: sem carga a latência não diz nada sobre a capacidade.
+ */
+public class LimiteAdaptativo {
+
+    static final double TOLERANCIA = 1.5;
+
+    private static final double PESO_CURTA = 0.1;
+    private static final double PESO_LONGA = 0.002;
+    private static final double SUAVIZACAO = 0.2;
+    private static final int AQUECIMENTO = 10;
+
+    private final int minimo;
+    private final int maximo;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private volatile int limite;
+
+    // guardados por this
+    private double limiteExato;
+    private double latenciaCurta;
+    private double latenciaLonga;
+    private long amostras;
+
+    public LimiteAdaptativo(int inicial, int minimo, int maximo) {
+        if (minimo < 1 || minimo > inicial || inicial > maximo)
+            throw new IllegalArgumentException("limites devem respeitar 1 <= mínimo <= inicial <= máximo");
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.limite = inicial;
+        this.limiteExato = inicial;
+    }
+
+    /**
+     * Ocupa uma vaga se houver menos de {@code teto} requisições em andamento; o teto abaixo do limite deixa as
+     * vagas restantes para quem chama com o limite inteiro.
+     */
+    public boolean adquirir(int teto) {
+        int atual;
+        do {
+            atual = emAndamento.get();
+            if (atual >= Math.min(teto, limite))
+                return false;
+        } while (!emAndamento.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    public boolean adquirir() {
+        return adquirir(limite);
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite com a latência da requisição.
+     */
+    public void liberar(long latenciaNanos) {
+        var andamento = emAndamento.getAndDecrement();
+        ajustar(latenciaNanos, andamento);
+    }
+
+    /**
+     * Devolve a vaga de uma requisição que não chegou a ser atendida, sem medir.
+     */
+    public void desistir() {
+        emAndamento.decrementAndGet();
+    }
+
+    public int limite() {
+        return limite;
+    }
+
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+
+    private synchronized void ajustar(long latenciaNanos, int andamento) {
+        amostras++;
+        if (amostras == 1) {
+            latenciaCurta = latenciaNanos;
+            latenciaLonga = latenciaNanos;
+            return;
+        }
+        latenciaCurta += (latenciaNanos - latenciaCurta) * PESO_CURTA;
+        // no aquecimento a referência segue a média recente, para não ficar presa na primeira amostra
+        latenciaLonga += (latenciaNanos - latenciaLonga) * (amostras <= AQUECIMENTO ? PESO_CURTA : PESO_LONGA);
+        // depois de uma fila longa a referência fica alta e o limite não encolheria; ela volta aos poucos
+        if (latenciaLonga > 2 * latenciaCurta)
+            latenciaLonga *= 0.95;
+        if (amostras <= AQUECIMENTO)
+            return;
+
+        var gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * latenciaLonga / latenciaCurta));
+        if (gradiente == 1.0 && andamento < limiteExato / 2)
+            return;
+        var novo = limiteExato * gradiente + Math.sqrt(limiteExato);
+        limiteExato = Math.max(minimo, Math.min(maximo, limiteExato * (1 - SUAVIZACAO) + novo * SUAVIZACAO));
+        limite = (int) limiteExato;
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.fiap.projeto.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Instrumentação além do {@code http.server.requests} do Actuator: timers dos métodos anotados com
+ * {@code @Timed} e a contagem de comandos SQL por requisição.
+ */
+@Configuration
+@ConditionalOnProperty(name = "mensagem.metricas.habilitadas", havingValue = "true", matchIfMissing = true)
+public class MetricasConfig implements WebMvcConfigurer {
+
+    private final ContadorSql contadorSql = new ContadorSql();
+    private final MeterRegistry meterRegistry;
+
+    public MetricasConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSqlCustomizer() {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSql);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlPorRequisicaoInterceptor(contadorSql, meterRegistry));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.fiap.projeto.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou, com as mesmas tags {@code method} e {@code uri}
+ * do {@code http.server.requests}.
+ */
+@RequiredArgsConstructor
+public class SqlPorRequisicaoInterceptor implements HandlerInterceptor {
+
+    private final ContadorSql contadorSql;
+    private final MeterRegistry meterRegistry;
+
+    // evita montar o builder e consultar o registro a cada requisição
+    private final Map<String, DistributionSummary> comandosPorRota = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        contadorSql.zerar();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var rota = request.getMethod() + " " + (uri == null ? "UNKNOWN" : uri);
+        comandosPorRota.computeIfAbsent(rota, chave -> DistributionSummary.builder("mensagem.sql.comandos")
+                        .description("comandos SQL executados por requisição")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri == null ? "UNKNOWN" : uri.toString())
+                        .register(meterRegistry))
+                .record(contadorSql.comandos());
+    }
+
+}
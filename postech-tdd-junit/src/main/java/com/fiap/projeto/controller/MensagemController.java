@@ -1,16 +1,25 @@
 package com.fiap.projeto.controller;
 
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Fatia;
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.PaginaCursor;
 import com.fiap.projeto.service.MensagemService;
+import com.fiap.projeto.service.VersaoDivergenteException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -23,18 +32,42 @@ public class MensagemController {
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE,
                  produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Mensagem> registraMensagem(@RequestBody Mensagem mensagem) {
-        var mensagemRecebida = mensagemService.registrarMensagem(mensagem);
+    public ResponseEntity<?> registraMensagem(@RequestBody Mensagem mensagem) {
+        try {
+            var mensagemRecebida = mensagemService.registrarMensagem(mensagem);
+            return new ResponseEntity<>(mensagemRecebida, HttpStatus.CREATED);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
 
-        return new ResponseEntity<>(mensagemRecebida, HttpStatus.CREATED);
+    @PostMapping(value = "/lote",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> registraMensagens(@RequestBody List<Mensagem> mensagens) {
+        try {
+            var ids = mensagemService.registrarMensagens(mensagens);
+            return new ResponseEntity<>(ids, HttpStatus.CREATED);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscaMensagem(@PathVariable String id) {
+    public ResponseEntity<?> buscaMensagem(@PathVariable String id,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                           String ifNoneMatch) {
         try {
             var uuid = UUID.fromString(id);
+            // responde o 304 só pela versão, sem carregar nem serializar a mensagem
+            if (ifNoneMatch != null) {
+                var versao = mensagemService.buscarVersao(uuid);
+                if (versao.isPresent() && Etags.corresponde(ifNoneMatch, Etags.deVersao(versao.get())))
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(Etags.deVersao(versao.get())).build();
+            }
+
             var mensagemRecebida = mensagemService.buscarMensagem(uuid);
-            return new ResponseEntity<>(mensagemRecebida, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(Etags.deVersao(mensagemRecebida.getVersao())).body(mensagemRecebida);
         } catch (Exception exception) {
             return new ResponseEntity<>("id inválido", HttpStatus.BAD_REQUEST);
         }
@@ -42,28 +75,141 @@ public class MensagemController {
 
     @GetMapping(value = "/listar",
             produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Page<Mensagem>> listarMensagens(
+    public ResponseEntity<?> listarMensagens(
                                             @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "10") int size,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ate) {
+        try {
+            var pageable = PageRequest.of(page, size);
+            Page<Mensagem> mensagens = desde == null && ate == null
+                    ? mensagemService.listarMensagens(pageable)
+                    : mensagemService.listarMensagens(desde, ate, pageable);
+
+            // com If-None-Match igual ao ETag o Spring devolve 304 sem serializar a página
+            var etag = Etags.dePagina(mensagens.getNumber(), mensagens.getSize(), mensagens.getTotalElements(),
+                    mensagens.getContent());
+            return ResponseEntity.ok().eTag(etag).body(mensagens);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping(value = "/listar",
+            params = "cursor",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listarMensagensPorCursor(
+                                            @RequestParam(defaultValue = "") String cursor,
                                             @RequestParam(defaultValue = "10") int size) {
-        var pageable = PageRequest.of(page, size);
-        var mensagens = mensagemService.listarMensagens(pageable);
+        try {
+            PaginaCursor<Mensagem> mensagens = mensagemService.listarMensagens(cursor, size);
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
 
-        return new ResponseEntity<>(mensagens, HttpStatus.OK);
+    @GetMapping(value = "/listar/resumo",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listarResumos(@RequestParam(defaultValue = "0") int page,
+                                           @RequestParam(defaultValue = "10") int size) {
+        try {
+            var resumos = mensagemService.listarResumos(PageRequest.of(page, size));
+            var fatia = new Fatia<>(resumos.getContent(), resumos.getNumber(), resumos.getSize(), resumos.hasNext());
+            return new ResponseEntity<>(fatia, HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping(value = "/usuario/{usuario}",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> listarMensagensDoUsuario(@PathVariable String usuario,
+                                                      @RequestParam(required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime desde,
+                                                      @RequestParam(required = false)
+                                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime ate,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "10") int size) {
+        try {
+            var mensagens = mensagemService.listarMensagensDoUsuario(usuario, desde, ate, PageRequest.of(page, size));
+            var fatia = new Fatia<>(mensagens.getContent(), mensagens.getNumber(), mensagens.getSize(), mensagens.hasNext());
+            return new ResponseEntity<>(fatia, HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping(value = "/busca",
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> buscarMensagens(@RequestParam String q,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "10") int size) {
+        try {
+            var mensagens = mensagemService.buscarMensagens(q, PageRequest.of(page, size));
+            return new ResponseEntity<>(mensagens, HttpStatus.OK);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @PutMapping(value = "/{id}",
                 consumes = MediaType.APPLICATION_JSON_VALUE,
                 produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem) {
+    public ResponseEntity<?> alterarMensagem(@PathVariable String id, @RequestBody Mensagem mensagem,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch) {
+        try {
+            var uuid = UUID.fromString(id);
+            Mensagem mensagemAtualizada;
+            if (ifMatch == null || ifMatch.trim().equals("*")) {
+                mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem);
+            } else {
+                var versao = Etags.versaoDe(ifMatch).orElseThrow(() ->
+                        new VersaoDivergenteException("If-Match não corresponde a uma versão da mensagem"));
+                mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem, versao);
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .eTag(Etags.deVersao(mensagemAtualizada.getVersao()))
+                    .body(mensagemAtualizada);
+        } catch (VersaoDivergenteException ex) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+        } catch (Exception ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @PatchMapping(value = "/{id}",
+                  consumes = MediaType.APPLICATION_JSON_VALUE,
+                  produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> alterarMensagemParcialmente(@PathVariable String id,
+                                                         @RequestBody AlteracaoMensagem alteracao) {
         try {
             var uuid = UUID.fromString(id);
-            var mensagemAtualizada = mensagemService.alterarMensagem(uuid, mensagem);
-            return new ResponseEntity<>(mensagemAtualizada, HttpStatus.ACCEPTED);
+            var mensagemAtualizada = mensagemService.alterarMensagemParcialmente(uuid, alteracao);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .eTag(Etags.deVersao(mensagemAtualizada.getVersao()))
+                    .body(mensagemAtualizada);
         } catch (Exception ex) {
             return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
+    @PostMapping("/{id}/gostei")
+    public ResponseEntity<?> registrarGostei(@PathVariable String id) {
+        try {
+            var uuid = UUID.fromString(id);
+            mensagemService.registrarGostei(uuid);
+            return new ResponseEntity<>("gostei registrado", HttpStatus.ACCEPTED);
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> removerMensagem(@PathVariable String id) {
         try {
@@ -75,4 +221,15 @@ public class MensagemController {
         }
     }
 
+    @DeleteMapping
+    public ResponseEntity<?> removerMensagens(@RequestParam List<String> ids) {
+        try {
+            var uuids = ids.stream().map(UUID::fromString).toList();
+            var removidas = mensagemService.removerMensagens(uuids);
+            return ResponseEntity.ok(Map.of("removidas", removidas));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+        }
+    }
+
 }
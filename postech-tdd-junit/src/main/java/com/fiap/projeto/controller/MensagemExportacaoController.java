@@ -0,0 +1,46 @@
+package com.fiap.projeto.controller;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.service.MensagemService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("mensagens")
+@RequiredArgsConstructor
+public class MensagemExportacaoController {
+
+    private final MensagemService mensagemService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarMensagens() {
+        StreamingResponseBody corpo = saida -> {
+            try (var gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.setRootValueSeparator(new SerializedString("\n"));
+                mensagemService.percorrerMensagens(mensagem -> {
+                    try {
+                        gerador.writeObject(mensagem);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                gerador.writeRaw('\n');
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.ResumoImportacao;
+import com.fiap.projeto.service.ImportadorMensagens;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("mensagens")
+@RequiredArgsConstructor
+public class MensagemImportacaoController {
+
+    private final ImportadorMensagens importadorMensagens;
+
+    @PostMapping(value = "/import",
+                 consumes = MediaType.APPLICATION_NDJSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResumoImportacao> importarMensagens(InputStream corpo) throws IOException {
+        // o corpo é consumido direto do socket, sem passar por um HttpMessageConverter que o leria inteiro
+        var resumo = importadorMensagens.importar(corpo);
+
+        return new ResponseEntity<>(resumo, HttpStatus.OK);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.FilaCheiaException;
+import com.fiap.projeto.service.FilaIngestao;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Atende o POST /mensagens de quem envia {@code Prefer: respond-async}; sem o cabeçalho a requisição
+ * continua indo para o {@link MensagemController}, que espera o commit.
+ */
+@RestController
+@RequestMapping("mensagens")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "mensagem.ingestao.assincrona.habilitada", havingValue = "true")
+public class MensagemIngestaoAssincronaController {
+
+    private final FilaIngestao filaIngestao;
+
+    @PostMapping(headers = "Prefer=respond-async",
+                 consumes = MediaType.APPLICATION_JSON_VALUE,
+                 produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> registraMensagemAssincrona(@RequestBody Mensagem mensagem) {
+        try {
+            var mensagemAceita = filaIngestao.enfileirar(mensagem);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header("Preference-Applied", "respond-async")
+                    .body(mensagemAceita);
+        } catch (IllegalArgumentException ex) {
+            return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (FilaCheiaException ex) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ex.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.transmissao.LimiteAssinantesException;
+import com.fiap.projeto.transmissao.TransmissaoMensagens;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Stream SSE das mensagens registradas, alteradas e removidas. O EventSource do navegador reconecta sozinho e
+ * envia o Last-Event-ID do último evento recebido, continuando de onde parou.
+ */
+@RestController
+@RequestMapping("mensagens")
+@RequiredArgsConstructor
+public class MensagemStreamController {
+
+    private final TransmissaoMensagens transmissaoMensagens;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> acompanharMensagens(
+            @RequestHeader(value = "Last-Event-ID", required = false) String ultimoId) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(transmissaoMensagens.assinar(ultimoId));
+    }
+
+    // o retorno precisa ser declarado como SseEmitter para o Spring tratá-lo como stream, então a recusa sai daqui
+    @ExceptionHandler(LimiteAssinantesException.class)
+    public ResponseEntity<String> limiteAtingido(LimiteAssinantesException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(ex.getMessage());
+    }
+
+}
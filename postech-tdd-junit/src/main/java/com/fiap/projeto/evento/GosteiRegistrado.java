@@ -0,0 +1,9 @@
+package com.fiap.projeto.evento;
+
+import java.util.UUID;
+
+/**
+ * Gostei gravados de uma vez numa mensagem; cada gravação também incrementa a versão.
+ */
+public record GosteiRegistrado(UUID id, long quantidade) {
+}
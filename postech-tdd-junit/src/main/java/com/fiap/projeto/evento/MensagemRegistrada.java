@@ -0,0 +1,6 @@
+package com.fiap.projeto.evento;
+
+import com.fiap.projeto.model.Mensagem;
+
+public record MensagemRegistrada(Mensagem mensagem) {
+}
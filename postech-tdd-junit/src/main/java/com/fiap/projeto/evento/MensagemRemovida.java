@@ -0,0 +1,6 @@
+package com.fiap.projeto.evento;
+
+import java.util.UUID;
+
+public record MensagemRemovida(UUID id) {
+}
@@ -0,0 +1,59 @@
+package com.fiap.projeto.feed;
+
+import com.fiap.projeto.evento.GosteiRegistrado;
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.evento.MensagemRemovida;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Carrega o {@link FeedMensagens} a partir da tabela na inicialização, antes do servidor aceitar requisições, e
+ * aplica nele cada gravação confirmada. Os eventos só chegam depois do commit, então o feed nunca mostra uma
+ * gravação que o banco desfez.
+ */
+@Slf4j
+@Component
+@Conditional(FeedHabilitado.class)
+@RequiredArgsConstructor
+public class AtualizadorFeed implements SmartInitializingSingleton {
+
+    private final FeedMensagens feedMensagens;
+    private final MensagemReporitory mensagemReporitory;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        var inicio = System.nanoTime();
+        feedMensagens.limpar();
+        mensagemReporitory.percorrerTodas(feedMensagens::aplicar);
+        feedMensagens.marcarPronto();
+        log.info("feed em memória carregado com {} mensagens em {} ms",
+                feedMensagens.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrar(MensagemRegistrada evento) {
+        feedMensagens.aplicar(evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(MensagemAlterada evento) {
+        feedMensagens.aplicar(evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrarGostei(GosteiRegistrado evento) {
+        feedMensagens.registrarGostei(evento.id(), evento.quantidade());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemover(MensagemRemovida evento) {
+        feedMensagens.remover(evento.id());
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.fiap.projeto.feed;
+
+import org.springframework.boot.autoconfigure.condition.AllNestedConditions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * O feed em memória é uma cópia da tabela: só existe com {@code mensagem.feed.memoria.habilitado=true} e o
+ * armazenamento JPA. No modo log não há tabela de onde carregá-lo nem com que compará-lo.
+ */
+class FeedHabilitado extends AllNestedConditions {
+
+    FeedHabilitado() {
+        super(ConfigurationPhase.REGISTER_BEAN);
+    }
+
+    @ConditionalOnProperty(name = "mensagem.feed.memoria.habilitado", havingValue = "true")
+    static class Habilitado {
+    }
+
+    @ConditionalOnProperty(name = "mensagem.armazenamento.modo", havingValue = "jpa", matchIfMissing = true)
+    static class ArmazenamentoJpa {
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.fiap.projeto.feed;
+
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Modelo de leitura do feed: todas as mensagens em memória na ordem (dataCriacao, id) decrescente, a mesma do
+ * {@code /mensagens/listar} por cursor. É montado a partir da tabela na inicialização e alterado só pelos eventos
+ * de gravação, pelo {@link AtualizadorFeed}.
+ * <p>
+ * As leituras percorrem a skip list sem trava nenhuma. As gravações de um mesmo id passam pelo compute do
+ * ConcurrentHashMap, o que as serializa entre si sem atrasar quem lê, e um evento com versão menor que a já aplicada
+ * é ignorado. O que escapar disso, como eventos de gostei e de alteração aplicados fora de ordem, é corrigido pelo
+ * {@link VerificadorFeed}.
+ * <p>
+ * A skip list não tem índice por posição: a página por número percorre a lista desde o início, como o OFFSET do
+ * SQL. Por isso o feed só atende as páginas dentro das primeiras {@code profundidade-maxima} mensagens; as mais
+ * fundas ficam com a tabela, e quem percorre o feed inteiro deve usar o cursor, que vai direto à posição.
+ */
+@Component
+@Conditional(FeedHabilitado.class)
+public class FeedMensagens {
+
+    private static final Comparator<CursorMensagem> ORDEM = Comparator.comparing(CursorMensagem::dataCriacao)
+            .thenComparing(CursorMensagem::id, (a, b) -> {
+                // mesma ordem do UUID no H2: bytes sem sinal
+                var msb = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return msb != 0 ? msb : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            })
+            .reversed();
+
+    private final ConcurrentSkipListMap<CursorMensagem, Mensagem> ordem = new ConcurrentSkipListMap<>(ORDEM);
+    private final ConcurrentHashMap<UUID, Mensagem> porId = new ConcurrentHashMap<>();
+
+    private final int profundidadeMaxima;
+
+    private volatile boolean pronto;
+
+    public FeedMensagens(@Value("${mensagem.feed.memoria.profundidade-maxima:1000}") int profundidadeMaxima) {
+        this.profundidadeMaxima = profundidadeMaxima;
+    }
+
+    /**
+     * Só depois da carga inicial o feed pode responder no lugar da tabela.
+     */
+    public boolean pronto() {
+        return pronto;
+    }
+
+    void marcarPronto() {
+        pronto = true;
+    }
+
+    void limpar() {
+        pronto = false;
+        ordem.clear();
+        porId.clear();
+    }
+
+    /**
+     * Se a página cabe nas primeiras {@code profundidade-maxima} mensagens, as únicas que o feed lista por número.
+     */
+    public boolean atende(Pageable pageable) {
+        return pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() <= profundidadeMaxima;
+    }
+
+    public Page<Mensagem> listar(Pageable pageable) {
+        if (!atende(pageable))
+            throw new IllegalArgumentException("página além da profundidade do feed em memória");
+
+        var mensagens = ordem.values().stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        return new PageImpl<>(mensagens, pageable, porId.size());
+    }
+
+    /**
+     * Mensagens depois do cursor; sem cursor, a partir da mais recente.
+     */
+    public List<Mensagem> listarApos(CursorMensagem cursor, int limite) {
+        var mensagens = cursor == null ? ordem.values() : ordem.tailMap(cursor, false).values();
+        return mensagens.stream()
+                .limit(limite)
+                .toList();
+    }
+
+    public Mensagem buscar(UUID id) {
+        return porId.get(id);
+    }
+
+    public Set<UUID> ids() {
+        return Set.copyOf(porId.keySet());
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    /**
+     * Aplica a mensagem gravada, a menos que o feed já tenha uma versão mais nova dela.
+     */
+    public void aplicar(Mensagem mensagem) {
+        gravar(mensagem, true);
+    }
+
+    /**
+     * Substitui a mensagem pela lida da tabela, qualquer que seja a versão no feed.
+     */
+    void substituir(Mensagem mensagem) {
+        gravar(mensagem, false);
+    }
+
+    public void registrarGostei(UUID id, long quantidade) {
+        porId.computeIfPresent(id, (chave, atual) -> {
+            var alterada = copiar(atual);
+            alterada.setGostei((int) (atual.getGostei() + quantidade));
+            alterada.setVersao(atual.getVersao() + 1);
+            ordem.put(CursorMensagem.de(alterada), alterada);
+            return alterada;
+        });
+    }
+
+    public void remover(UUID id) {
+        porId.computeIfPresent(id, (chave, atual) -> {
+            ordem.remove(CursorMensagem.de(atual));
+            return null;
+        });
+    }
+
+    private void gravar(Mensagem mensagem, boolean respeitarVersao) {
+        var copia = copiar(mensagem);
+        porId.compute(copia.getId(), (id, atual) -> {
+            if (respeitarVersao && atual != null && atual.getVersao() > copia.getVersao())
+                return atual;
+            // inclui antes de retirar: uma leitura concorrente pode ver as duas, mas nunca nenhuma
+            ordem.put(CursorMensagem.de(copia), copia);
+            if (atual != null && !CursorMensagem.de(atual).equals(CursorMensagem.de(copia)))
+                ordem.remove(CursorMensagem.de(atual));
+            return copia;
+        });
+    }
+
+    // o feed guarda cópias: a entidade do evento continua nas mãos de quem a gravou. A data fica com a precisão da
+    // coluna, em microssegundos, para o cursor gerado aqui valer também na consulta ao banco
+    private static Mensagem copiar(Mensagem mensagem) {
+        var dataCriacao = mensagem.getDataCriacao();
+        return Mensagem.builder()
+                .id(mensagem.getId())
+                .usuario(mensagem.getUsuario())
+                .conteudo(mensagem.getConteudo())
+                .dataCriacao(dataCriacao == null ? null : dataCriacao.truncatedTo(ChronoUnit.MICROS))
+                .gostei(mensagem.getGostei())
+                .versao(mensagem.getVersao())
+                .build();
+    }
+
+}
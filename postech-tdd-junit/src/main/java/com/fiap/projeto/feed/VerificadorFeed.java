@@ -0,0 +1,123 @@
+package com.fiap.projeto.feed;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Compara periodicamente o {@link FeedMensagens} com a tabela e corrige o que divergir: mensagens que faltam no
+ * feed, que sobram nele ou que estão numa versão diferente da gravada.
+ * <p>
+ * A varredura concorre com gravações, então uma diferença encontrada nela é só suspeita: cada id suspeito é lido
+ * de novo pela chave antes de o feed ser corrigido, e uma gravação posterior à varredura não é desfeita.
+ */
+@Slf4j
+@Component
+@Conditional(FeedHabilitado.class)
+public class VerificadorFeed {
+
+    private final FeedMensagens feedMensagens;
+    private final MensagemReporitory mensagemReporitory;
+    private final Counter ausentes;
+    private final Counter sobrando;
+    private final Counter desatualizadas;
+
+    public VerificadorFeed(FeedMensagens feedMensagens,
+                           MensagemReporitory mensagemReporitory,
+                           MeterRegistry meterRegistry) {
+        this.feedMensagens = feedMensagens;
+        this.mensagemReporitory = mensagemReporitory;
+        this.ausentes = divergencias(meterRegistry, "ausente");
+        this.sobrando = divergencias(meterRegistry, "sobrando");
+        this.desatualizadas = divergencias(meterRegistry, "desatualizada");
+    }
+
+    @Scheduled(fixedDelayString = "${mensagem.feed.verificacao.intervalo:300000}",
+            initialDelayString = "${mensagem.feed.verificacao.intervalo:300000}")
+    public Verificacao verificar() {
+        if (!feedMensagens.pronto())
+            return new Verificacao(0, 0, 0, 0);
+
+        // ids no feed antes da varredura: um que não apareça na tabela sobra, a não ser que tenha sido gravado depois
+        var idsNoFeed = new HashSet<>(feedMensagens.ids());
+        var suspeitas = new ArrayList<UUID>();
+        var linhas = new int[1];
+        mensagemReporitory.percorrerTodas(linha -> {
+            linhas[0]++;
+            idsNoFeed.remove(linha.getId());
+            if (!iguais(feedMensagens.buscar(linha.getId()), linha))
+                suspeitas.add(linha.getId());
+        });
+        suspeitas.addAll(idsNoFeed);
+
+        var resultado = corrigir(suspeitas, linhas[0]);
+        if (resultado.divergencias() > 0)
+            log.warn("feed em memória divergente da tabela: {}", resultado);
+        return resultado;
+    }
+
+    private Verificacao corrigir(ArrayList<UUID> suspeitas, int linhas) {
+        int faltando = 0, sobrandoNoFeed = 0, divergentes = 0;
+        for (var id : suspeitas) {
+            var noFeed = feedMensagens.buscar(id);
+            var naTabela = mensagemReporitory.findById(id).orElse(null);
+            if (iguais(noFeed, naTabela))
+                continue;
+
+            if (naTabela == null) {
+                feedMensagens.remover(id);
+                sobrandoNoFeed++;
+            } else if (noFeed == null) {
+                feedMensagens.aplicar(naTabela);
+                faltando++;
+            } else {
+                feedMensagens.substituir(naTabela);
+                divergentes++;
+            }
+        }
+
+        ausentes.increment(faltando);
+        sobrando.increment(sobrandoNoFeed);
+        desatualizadas.increment(divergentes);
+        return new Verificacao(linhas, faltando, sobrandoNoFeed, divergentes);
+    }
+
+    /**
+     * A dataCriacao não entra: só muda num PUT, que também muda a versão, e o banco a grava com menos casas
+     * decimais que a entidade que gerou o evento.
+     */
+    private static boolean iguais(Mensagem noFeed, Mensagem naTabela) {
+        if (noFeed == null || naTabela == null)
+            return noFeed == naTabela;
+        return noFeed.getVersao() == naTabela.getVersao()
+                && noFeed.getGostei() == naTabela.getGostei()
+                && Objects.equals(noFeed.getUsuario(), naTabela.getUsuario())
+                && Objects.equals(noFeed.getConteudo(), naTabela.getConteudo());
+    }
+
+    private static Counter divergencias(MeterRegistry meterRegistry, String tipo) {
+        return Counter.builder("mensagem.feed.divergencias")
+                .description("mensagens corrigidas no feed em memória pela verificação contra a tabela")
+                .tag("tipo", tipo)
+                .register(meterRegistry);
+    }
+
+    public record Verificacao(int linhas, int ausentes, int sobrando, int desatualizadas) {
+
+        public int divergencias() {
+            return ausentes + sobrando + desatualizadas;
+        }
+
+    }
+
+}
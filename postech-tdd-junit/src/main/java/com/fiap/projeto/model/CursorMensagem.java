@@ -0,0 +1,37 @@
+package com.fiap.projeto.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de uma mensagem na ordenação (dataCriacao, id), exposta ao cliente como token opaco.
+ */
+public record CursorMensagem(LocalDateTime dataCriacao, UUID id) {
+
+    private static final String SEPARADOR = "|";
+
+    public static CursorMensagem de(Mensagem mensagem) {
+        return new CursorMensagem(mensagem.getDataCriacao(), mensagem.getId());
+    }
+
+    public static CursorMensagem decodificar(String token) {
+        try {
+            var valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var separador = valor.indexOf(SEPARADOR);
+            return new CursorMensagem(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("cursor inválido");
+        }
+    }
+
+    public String codificar() {
+        var valor = dataCriacao + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -1,23 +1,43 @@
 package com.fiap.projeto.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_mensagem_data_criacao_id", columnList = "dataCriacao DESC, id DESC"),
+        @Index(name = "idx_mensagem_usuario_data_criacao_id", columnList = "usuario, dataCriacao DESC, id DESC")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Mensagem {
+public class Mensagem implements Persistable<UUID>, Versionada {
 
     @Id
     private UUID id;
@@ -36,4 +56,34 @@ public class Mensagem {
     @Builder.Default
     private int gostei = 0;
 
-}
\ No newline at end of file
+    // controlada pelo servidor: cada alteração incrementa, inclusive os UPDATE em massa do repositório
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long versao;
+
+    // o id é atribuído pela aplicação, então o Spring Data não consegue deduzir sozinho se a mensagem é nova
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean nova;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return nova;
+    }
+
+    public void marcarComoNova() {
+        this.nova = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarComoPersistida() {
+        this.nova = false;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.fiap.projeto.model;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Mensagem como aparece no feed, com o conteúdo cortado em {@link #TAMANHO_CONTEUDO} caracteres.
+ * É montada direto pela consulta, sem a entidade passar pelo contexto de persistência.
+ */
+public record MensagemResumo(UUID id, String usuario, String conteudo, LocalDateTime dataCriacao, int gostei) {
+
+    public static final int TAMANHO_CONTEUDO = 100;
+
+}
@@ -0,0 +1,6 @@
+package com.fiap.projeto.model;
+
+import java.util.List;
+
+public record PaginaCursor<T>(List<T> conteudo, String proximoCursor) {
+}
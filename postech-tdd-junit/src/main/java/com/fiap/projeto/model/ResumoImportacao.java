@@ -0,0 +1,6 @@
+package com.fiap.projeto.model;
+
+import java.util.List;
+
+public record ResumoImportacao(long aceitas, long rejeitadas, List<String> erros) {
+}
@@ -1,9 +1,67 @@
 package com.fiap.projeto.reporitory;
 
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface MensagemReporitory extends JpaRepository<Mensagem, UUID> {
+public interface MensagemReporitory extends JpaRepository<Mensagem, UUID>, MensagemReporitoryCustom {
+
+    List<Mensagem> findAllByOrderByDataCriacaoDescIdDesc(Pageable pageable);
+
+    @Query("""
+            select m from Mensagem m
+            where m.dataCriacao <= :dataCriacao
+              and (m.dataCriacao < :dataCriacao or m.id < :id)
+            order by m.dataCriacao desc, m.id desc
+            """)
+    List<Mensagem> buscarAposCursor(LocalDateTime dataCriacao, UUID id, Pageable pageable);
+
+    @Query("""
+            select new com.fiap.projeto.model.MensagemResumo(
+                   m.id, m.usuario, substring(m.conteudo, 1, :tamanhoConteudo), m.dataCriacao, m.gostei)
+            from Mensagem m
+            order by m.dataCriacao desc, m.id desc
+            """)
+    Slice<MensagemResumo> listarResumos(int tamanhoConteudo, Pageable pageable);
+
+    @Query("select m.versao from Mensagem m where m.id = :id")
+    Optional<Long> buscarVersao(UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update Mensagem m
+            set m.usuario = :#{#mensagem.usuario}, m.conteudo = :#{#mensagem.conteudo},
+                m.dataCriacao = :#{#mensagem.dataCriacao}, m.gostei = :#{#mensagem.gostei},
+                m.versao = m.versao + 1
+            where m.id = :#{#mensagem.id} and m.versao = :versao
+            """)
+    int alterarSeVersao(Mensagem mensagem, long versao);
+
+    @Modifying
+    @Transactional
+    @Query("update Mensagem m set m.gostei = m.gostei + :quantidade, m.versao = m.versao + 1 where m.id = :id")
+    int incrementarGostei(UUID id, int quantidade);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Mensagem m where m.id = :id")
+    int removerPorId(UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Mensagem m where m.id in :ids")
+    int removerPorIds(Collection<UUID> ids);
+
 }
@@ -0,0 +1,32 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface MensagemReporitoryCustom {
+
+    List<Mensagem> inserirEmLote(List<Mensagem> mensagens);
+
+    int alterarParcialmente(UUID id, AlteracaoMensagem alteracao);
+
+    void percorrerTodas(Consumer<Mensagem> consumidor);
+
+    /**
+     * Mensagens do usuário criadas em [desde, ate), da mais recente para a mais antiga; limites nulos ficam abertos.
+     */
+    Slice<Mensagem> listarDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+
+    /**
+     * Mensagens criadas em [desde, ate), da mais recente para a mais antiga; limites nulos ficam abertos.
+     */
+    Page<Mensagem> listarPorPeriodo(LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+
+}
@@ -0,0 +1,156 @@
+package com.fiap.projeto.reporitory;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public class MensagemReporitoryCustomImpl implements MensagemReporitoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${mensagem.lote.tamanho:500}")
+    private int tamanhoLote;
+
+    @Value("${mensagem.exportacao.tamanho-busca:500}")
+    private int tamanhoBusca;
+
+    @Override
+    @Transactional
+    public List<Mensagem> inserirEmLote(List<Mensagem> mensagens) {
+        // persist em vez de merge: as mensagens já chegam com id e não precisam do SELECT prévio
+        for (int i = 0; i < mensagens.size(); i++) {
+            entityManager.persist(mensagens.get(i));
+
+            // descarrega cada bloco como um batch JDBC e libera o contexto de persistência
+            if ((i + 1) % tamanhoLote == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return mensagens;
+    }
+
+    @Override
+    @Transactional
+    public int alterarParcialmente(UUID id, AlteracaoMensagem alteracao) {
+        // UPDATE só com as colunas informadas, sem carregar a mensagem antes
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var update = criteriaBuilder.createCriteriaUpdate(Mensagem.class);
+        var mensagem = update.from(Mensagem.class);
+
+        if (alteracao.usuario() != null)
+            update.set(mensagem.<String>get("usuario"), alteracao.usuario());
+        if (alteracao.conteudo() != null)
+            update.set(mensagem.<String>get("conteudo"), alteracao.conteudo());
+        if (alteracao.gostei() != null)
+            update.set(mensagem.<Integer>get("gostei"), alteracao.gostei());
+
+        update.set(mensagem.<Long>get("versao"), criteriaBuilder.sum(mensagem.<Long>get("versao"), 1L));
+        update.where(criteriaBuilder.equal(mensagem.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerTodas(Consumer<Mensagem> consumidor) {
+        var consulta = entityManager.createQuery("select m from Mensagem m", Mensagem.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, tamanhoBusca)
+                .setHint(AvailableHints.HINT_READ_ONLY, true);
+
+        try (var mensagens = consulta.getResultStream()) {
+            mensagens.forEach(mensagem -> {
+                consumidor.accept(mensagem);
+                // desanexa cada mensagem já entregue para o contexto de persistência não crescer
+                entityManager.detach(mensagem);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Mensagem> listarDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        // um registro a mais só para saber se existe próxima página, sem COUNT
+        var mensagens = buscarPorPeriodo(usuario, desde, ate, pageable.getOffset(), pageable.getPageSize() + 1);
+
+        var temProxima = mensagens.size() > pageable.getPageSize();
+        var conteudo = temProxima ? mensagens.subList(0, pageable.getPageSize()) : mensagens;
+        return new SliceImpl<>(conteudo, pageable, temProxima);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Mensagem> listarPorPeriodo(LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        var mensagens = buscarPorPeriodo(null, desde, ate, pageable.getOffset(), pageable.getPageSize());
+
+        // o COUNT só roda quando a página sozinha não basta para deduzir o total
+        return PageableExecutionUtils.getPage(mensagens, pageable, () -> contarPorPeriodo(desde, ate));
+    }
+
+    private List<Mensagem> buscarPorPeriodo(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                            long inicio, int quantidade) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var consulta = criteriaBuilder.createQuery(Mensagem.class);
+        var mensagem = consulta.from(Mensagem.class);
+
+        // mesma ordem dos índices (usuario, dataCriacao DESC, id DESC) e (dataCriacao DESC, id DESC), para o banco
+        // percorrer o índice já ordenado em vez de ordenar o intervalo inteiro; o H2 só dispensa a ordenação quando
+        // o ORDER BY começa pela coluna do índice, mesmo filtrada por igualdade
+        var ordem = new ArrayList<Order>();
+        if (usuario != null)
+            ordem.add(criteriaBuilder.asc(mensagem.get("usuario")));
+        ordem.add(criteriaBuilder.desc(mensagem.get("dataCriacao")));
+        ordem.add(criteriaBuilder.desc(mensagem.get("id")));
+        consulta.where(filtros(criteriaBuilder, mensagem, usuario, desde, ate)).orderBy(ordem);
+
+        return entityManager.createQuery(consulta)
+                .setFirstResult(Math.toIntExact(inicio))
+                .setMaxResults(quantidade)
+                .getResultList();
+    }
+
+    private long contarPorPeriodo(LocalDateTime desde, LocalDateTime ate) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var consulta = criteriaBuilder.createQuery(Long.class);
+        var mensagem = consulta.from(Mensagem.class);
+
+        consulta.select(criteriaBuilder.count(mensagem))
+                .where(filtros(criteriaBuilder, mensagem, null, desde, ate));
+        return entityManager.createQuery(consulta).getSingleResult();
+    }
+
+    private Predicate[] filtros(CriteriaBuilder criteriaBuilder, Root<Mensagem> mensagem,
+                                String usuario, LocalDateTime desde, LocalDateTime ate) {
+        var filtros = new ArrayList<Predicate>();
+        if (usuario != null)
+            filtros.add(criteriaBuilder.equal(mensagem.get("usuario"), usuario));
+        if (desde != null)
+            filtros.add(criteriaBuilder.greaterThanOrEqualTo(mensagem.get("dataCriacao"), desde));
+        if (ate != null)
+            filtros.add(criteriaBuilder.lessThan(mensagem.get("dataCriacao"), ate));
+        return filtros.toArray(Predicate[]::new);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.fiap.projeto.service;
+
+import java.util.UUID;
+
+public interface ContadorGostei {
+
+    void registrar(UUID id);
+
+}
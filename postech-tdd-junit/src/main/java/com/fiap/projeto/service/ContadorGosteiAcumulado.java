@@ -0,0 +1,120 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.config.CacheConfig;
+import com.fiap.projeto.evento.GosteiRegistrado;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumula os gostei em contadores em memória e grava apenas o delta de cada mensagem periodicamente,
+ * evitando que mensagens populares disputem a mesma linha do banco a cada requisição.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mensagem.gostei.modo", havingValue = "acumulado")
+@RequiredArgsConstructor
+public class ContadorGosteiAcumulado implements ContadorGostei {
+
+    private static final String INCREMENTA_GOSTEI = "UPDATE MENSAGEM SET GOSTEI = GOSTEI + ?, VERSAO = VERSAO + 1 WHERE ID = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventos;
+
+    private final Map<UUID, LongAdder> pendentes = new ConcurrentHashMap<>();
+
+    // contadores ociosos retirados do mapa na última descarga; uma thread que obteve a referência
+    // antes da remoção ainda pode incrementá-los, então são lidos mais uma vez antes de serem descartados
+    private List<LongAdder> retirados = new ArrayList<>();
+    private List<UUID> idsRetirados = new ArrayList<>();
+
+    @Override
+    public void registrar(UUID id) {
+        pendentes.computeIfAbsent(id, chave -> new LongAdder()).increment();
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${mensagem.gostei.intervalo-descarga:1000}")
+    public synchronized void descarregar() {
+        var deltas = new ArrayList<Object[]>();
+        for (int i = 0; i < retirados.size(); i++)
+            adicionarDelta(deltas, idsRetirados.get(i), retirados.get(i).sumThenReset());
+
+        var novosRetirados = new ArrayList<LongAdder>();
+        var novosIdsRetirados = new ArrayList<UUID>();
+        pendentes.forEach((id, contador) -> {
+            var delta = contador.sumThenReset();
+            if (delta > 0) {
+                adicionarDelta(deltas, id, delta);
+            } else if (pendentes.remove(id, contador)) {
+                novosRetirados.add(contador);
+                novosIdsRetirados.add(id);
+            }
+        });
+        retirados = novosRetirados;
+        idsRetirados = novosIdsRetirados;
+
+        if (deltas.isEmpty())
+            return;
+
+        int[] alteradas;
+        try {
+            // numa única transação: sem ela, em autocommit, os UPDATE anteriores a uma falha já estariam gravados
+            alteradas = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INCREMENTA_GOSTEI, deltas));
+        } catch (RuntimeException ex) {
+            // nada foi gravado; devolve os deltas para a próxima descarga em vez de perdê-los
+            log.warn("falha ao gravar {} contadores de gostei, nova tentativa na próxima descarga", deltas.size(), ex);
+            deltas.forEach(delta -> pendentes.computeIfAbsent((UUID) delta[1], chave -> new LongAdder())
+                    .add((Long) delta[0]));
+            return;
+        }
+
+        // daqui em diante os deltas já estão no banco; repeti-los contaria os gostei duas vezes
+        try {
+            removerDoCache(deltas);
+        } catch (RuntimeException ex) {
+            log.warn("gostei gravados, mas falhou a remoção de {} mensagens do cache", deltas.size(), ex);
+        }
+        try {
+            publicarGravados(deltas, alteradas);
+        } catch (RuntimeException ex) {
+            log.warn("gostei gravados, mas falhou a publicação dos eventos de {} mensagens", deltas.size(), ex);
+        }
+    }
+
+    private void removerDoCache(List<Object[]> deltas) {
+        var cache = cacheManager.getCache(CacheConfig.MENSAGENS);
+        if (cache != null)
+            deltas.forEach(delta -> cache.evict(delta[1]));
+    }
+
+    private void publicarGravados(List<Object[]> deltas, int[] alteradas) {
+        for (int i = 0; i < deltas.size(); i++) {
+            // sem a contagem do driver não dá para saber se a mensagem ainda existia; o evento é inofensivo se não
+            if (alteradas == null || i >= alteradas.length || alteradas[i] != 0)
+                eventos.publishEvent(new GosteiRegistrado((UUID) deltas.get(i)[1], (Long) deltas.get(i)[0]));
+        }
+    }
+
+    private void adicionarDelta(List<Object[]> deltas, UUID id, long delta) {
+        if (delta > 0)
+            deltas.add(new Object[]{delta, id});
+    }
+
+}
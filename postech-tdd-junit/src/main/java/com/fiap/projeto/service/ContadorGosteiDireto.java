@@ -0,0 +1,27 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.evento.GosteiRegistrado;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "mensagem.gostei.modo", havingValue = "direto", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ContadorGosteiDireto implements ContadorGostei {
+
+    private final MensagemReporitory mensagemReporitory;
+    private final ApplicationEventPublisher eventos;
+
+    @Override
+    public void registrar(UUID id) {
+        if (mensagemReporitory.incrementarGostei(id, 1) == 0)
+            throw new IllegalArgumentException("Mensagem não encontrada");
+        eventos.publishEvent(new GosteiRegistrado(id, 1));
+    }
+
+}
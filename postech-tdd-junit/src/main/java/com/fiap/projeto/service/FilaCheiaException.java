@@ -0,0 +1,9 @@
+package com.fiap.projeto.service;
+
+public class FilaCheiaException extends RuntimeException {
+
+    public FilaCheiaException(String message) {
+        super(message);
+    }
+
+}
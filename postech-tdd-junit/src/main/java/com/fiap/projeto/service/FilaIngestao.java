@@ -0,0 +1,194 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.id.GeradorId;
+import com.fiap.projeto.model.Mensagem;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fila de gravação adiada: a mensagem recebe o id e entra numa fila limitada sem trava, e uma única thread
+ * grava em grupo, a cada {@code tamanho-grupo} mensagens ou ao fim da janela, o que vier primeiro. A gravação
+ * passa pelo {@link MensagemService}, então vai para o armazenamento escolhido em {@code mensagem.armazenamento.modo}.
+ * <p>
+ * A fila para depois do servidor web no desligamento, então tudo que foi aceito ainda é gravado antes
+ * do banco fechar.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mensagem.ingestao.assincrona.habilitada", havingValue = "true")
+public class FilaIngestao implements SmartLifecycle {
+
+    private static final int TENTATIVAS = 3;
+
+    private final MensagemService mensagemService;
+    private final Validator validator;
+    private final GeradorId geradorId;
+    private final int capacidade;
+    private final int tamanhoGrupo;
+    private final long janelaNanos;
+
+    private final Queue<Mensagem> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanho = new AtomicInteger();
+    private final DistributionSummary tamanhoLote;
+    private final Counter rejeitadas;
+    private final Counter perdidas;
+
+    private volatile boolean ativa;
+    private volatile Thread escritor;
+
+    public FilaIngestao(MensagemService mensagemService,
+                        Validator validator,
+                        GeradorId geradorId,
+                        MeterRegistry meterRegistry,
+                        @Value("${mensagem.ingestao.assincrona.capacidade:10000}") int capacidade,
+                        @Value("${mensagem.ingestao.assincrona.tamanho-grupo:500}") int tamanhoGrupo,
+                        @Value("${mensagem.ingestao.assincrona.janela:50}") long janelaMillis) {
+        this.mensagemService = mensagemService;
+        this.validator = validator;
+        this.geradorId = geradorId;
+        this.capacidade = capacidade;
+        this.tamanhoGrupo = tamanhoGrupo;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMillis);
+
+        Gauge.builder("mensagem.ingestao.fila", tamanho, AtomicInteger::get)
+                .description("mensagens aceitas aguardando gravação")
+                .register(meterRegistry);
+        this.tamanhoLote = DistributionSummary.builder("mensagem.ingestao.lote")
+                .description("mensagens gravadas por commit")
+                .register(meterRegistry);
+        this.rejeitadas = Counter.builder("mensagem.ingestao.rejeitadas")
+                .description("mensagens recusadas com a fila cheia ou parada")
+                .register(meterRegistry);
+        this.perdidas = Counter.builder("mensagem.ingestao.perdidas")
+                .description("mensagens descartadas depois de esgotar as tentativas de gravação")
+                .register(meterRegistry);
+    }
+
+    public Mensagem enfileirar(Mensagem mensagem) {
+        ValidacaoMensagens.validar(validator, mensagem);
+
+        if (!reservar()) {
+            rejeitadas.increment();
+            throw new FilaCheiaException("fila de ingestão cheia");
+        }
+        // reserva antes de olhar ativa: o escritor só termina ao ver tamanho zero depois que ativa ficou falso,
+        // então uma reserva que ele não viu enxerga ativa falso aqui e devolve a vaga em vez de ficar sem gravação
+        if (!ativa) {
+            tamanho.decrementAndGet();
+            rejeitadas.increment();
+            throw new FilaCheiaException("fila de ingestão parada");
+        }
+
+        mensagem.setId(geradorId.gerar());
+        fila.offer(mensagem);
+        // com um grupo completo não espera o fim da janela
+        if (tamanho.get() >= tamanhoGrupo)
+            LockSupport.unpark(escritor);
+        return mensagem;
+    }
+
+    public int tamanho() {
+        return tamanho.get();
+    }
+
+    private boolean reservar() {
+        int atual;
+        do {
+            atual = tamanho.get();
+            if (atual >= capacidade)
+                return false;
+        } while (!tamanho.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    private void escrever() {
+        while (ativa || tamanho.get() > 0) {
+            if (ativa && tamanho.get() < tamanhoGrupo)
+                LockSupport.parkNanos(this, janelaNanos);
+
+            List<Mensagem> grupo;
+            while (!(grupo = drenar()).isEmpty())
+                gravar(grupo);
+        }
+    }
+
+    private List<Mensagem> drenar() {
+        var grupo = new ArrayList<Mensagem>(Math.min(tamanhoGrupo, tamanho.get()));
+        Mensagem mensagem;
+        while (grupo.size() < tamanhoGrupo && (mensagem = fila.poll()) != null)
+            grupo.add(mensagem);
+        return grupo;
+    }
+
+    private void gravar(List<Mensagem> grupo) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                mensagemService.gravarMensagensAceitas(grupo);
+                break;
+            } catch (RuntimeException ex) {
+                if (tentativa == TENTATIVAS) {
+                    log.error("descartando {} mensagens após {} tentativas de gravação: {}", grupo.size(),
+                            TENTATIVAS, grupo.stream().map(Mensagem::getId).toList(), ex);
+                    perdidas.increment(grupo.size());
+                    tamanho.addAndGet(-grupo.size());
+                    return;
+                }
+                log.warn("falha ao gravar grupo de {} mensagens, tentativa {}", grupo.size(), tentativa, ex);
+                LockSupport.parkNanos(this, janelaNanos * tentativa);
+            }
+        }
+
+        tamanho.addAndGet(-grupo.size());
+        tamanhoLote.record(grupo.size());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ativa)
+            return;
+        ativa = true;
+        escritor = Thread.ofPlatform().name("ingestao-mensagens").start(this::escrever);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!ativa)
+            return;
+        ativa = false;
+        LockSupport.unpark(escritor);
+        try {
+            escritor.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("fila de ingestão descarregada");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativa;
+    }
+
+    @Override
+    public int getPhase() {
+        // menor que a do servidor web: para de aceitar requisições antes de a fila parar
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+}
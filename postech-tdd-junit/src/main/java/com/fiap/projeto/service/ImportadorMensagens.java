@@ -0,0 +1,102 @@
+package com.fiap.projeto.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.ResumoImportacao;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê mensagens em NDJSON linha a linha e grava em blocos de {@code mensagem.lote.tamanho}, sem nunca manter
+ * o corpo inteiro em memória. Linhas inválidas são rejeitadas individualmente e não interrompem a importação;
+ * cada bloco é gravado na sua própria transação.
+ */
+@Component
+public class ImportadorMensagens {
+
+    private final MensagemService mensagemService;
+    private final ObjectReader leitorMensagem;
+    private final Validator validator;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public ImportadorMensagens(MensagemService mensagemService,
+                               ObjectMapper objectMapper,
+                               Validator validator,
+                               @Value("${mensagem.lote.tamanho:500}") int tamanhoLote,
+                               @Value("${mensagem.importacao.maximo-erros:100}") int maximoErros) {
+        this.mensagemService = mensagemService;
+        this.leitorMensagem = objectMapper.readerFor(Mensagem.class);
+        this.validator = validator;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoErros = maximoErros;
+    }
+
+    public ResumoImportacao importar(InputStream corpo) throws IOException {
+        var leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        var lote = new ArrayList<Mensagem>(tamanhoLote);
+        var erros = new ArrayList<String>();
+        long aceitas = 0;
+        long rejeitadas = 0;
+        long numeroLinha = 0;
+
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank())
+                continue;
+
+            var erro = adicionar(linha, lote);
+            if (erro != null) {
+                rejeitadas++;
+                // só os primeiros erros são devolvidos, para o resumo não crescer com a entrada
+                if (erros.size() < maximoErros)
+                    erros.add("linha " + numeroLinha + ": " + erro);
+                continue;
+            }
+
+            if (lote.size() == tamanhoLote) {
+                aceitas += gravar(lote);
+                lote = new ArrayList<>(tamanhoLote);
+            }
+        }
+        if (!lote.isEmpty())
+            aceitas += gravar(lote);
+
+        return new ResumoImportacao(aceitas, rejeitadas, erros);
+    }
+
+    private String adicionar(String linha, List<Mensagem> lote) {
+        Mensagem mensagem;
+        try {
+            mensagem = leitorMensagem.readValue(linha);
+        } catch (JsonProcessingException ex) {
+            return "JSON inválido";
+        }
+        if (mensagem == null)
+            return "mensagem vazia";
+
+        var violacoes = validator.validate(mensagem);
+        if (!violacoes.isEmpty())
+            return violacoes.iterator().next().getMessage();
+
+        lote.add(mensagem);
+        return null;
+    }
+
+    private int gravar(List<Mensagem> lote) {
+        return mensagemService.registrarMensagens(lote).size();
+    }
+
+}
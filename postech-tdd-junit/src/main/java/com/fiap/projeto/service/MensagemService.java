@@ -1,18 +1,40 @@
 package com.fiap.projeto.service;
 
+import com.fiap.projeto.model.AlteracaoMensagem;
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import com.fiap.projeto.model.PaginaCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface MensagemService {
 
     Mensagem registrarMensagem(Mensagem mensagem);
+    List<UUID> registrarMensagens(List<Mensagem> mensagens);
+    // mensagens já validadas e com id, aceitas antes pela FilaIngestao
+    void gravarMensagensAceitas(List<Mensagem> mensagens);
     Mensagem buscarMensagem(UUID id);
+    Optional<Long> buscarVersao(UUID id);
 
     Page<Mensagem> listarMensagens(Pageable pageable);
+    PaginaCursor<Mensagem> listarMensagens(String cursor, int tamanho);
+    Slice<MensagemResumo> listarResumos(Pageable pageable);
+    Page<Mensagem> listarMensagens(LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+    Slice<Mensagem> listarMensagensDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate, Pageable pageable);
+    void percorrerMensagens(Consumer<Mensagem> consumidor);
+    Page<Mensagem> buscarMensagens(String consulta, Pageable pageable);
     Mensagem alterarMensagem(UUID id, Mensagem novaMensagem);
+    Mensagem alterarMensagem(UUID id, Mensagem novaMensagem, long versaoEsperada);
+    Mensagem alterarMensagemParcialmente(UUID id, AlteracaoMensagem alteracao);
+    void registrarGostei(UUID id);
     boolean removeMensagem(UUID id);
+    int removerMensagens(List<UUID> ids);
 
 }
@@ -1,27 +1,91 @@
 package com.fiap.projeto.service;
 
+import com.fiap.projeto.busca.IndiceMensagens;
+import com.fiap.projeto.config.CacheConfig;
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.evento.MensagemRemovida;
+import com.fiap.projeto.feed.FeedMensagens;
+import com.fiap.projeto.id.GeradorId;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.CursorMensagem;
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import com.fiap.projeto.model.PaginaCursor;
 import com.fiap.projeto.reporitory.MensagemReporitory;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@ConditionalOnProperty(name = "mensagem.armazenamento.modo", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
+@Timed(value = "mensagem.servico", description = "chamadas ao serviço de mensagens")
 public class MensagemServiceImpl implements MensagemService {
 
+    // limita a profundidade da paginação da busca, que mantém em memória os melhores offset + size resultados
+    private static final int MAXIMO_RESULTADOS_BUSCA = 10_000;
+
     private final MensagemReporitory mensagemReporitory;
+    private final Validator validator;
+    private final GeradorId geradorId;
+    private final ContadorGostei contadorGostei;
+    private final IndiceMensagens indiceMensagens;
+    private final ApplicationEventPublisher eventos;
+    private final CacheManager cacheManager;
+    private final Optional<FeedMensagens> feedMensagens;
 
     @Override
     public Mensagem registrarMensagem(Mensagem mensagem) {
-        mensagem.setId(UUID.randomUUID());
-        return mensagemReporitory.save(mensagem);
+        ValidacaoMensagens.validar(validator, mensagem);
+        mensagem.setId(geradorId.gerar());
+        mensagem.marcarComoNova();
+        var mensagemRegistrada = mensagemReporitory.save(mensagem);
+        eventos.publishEvent(new MensagemRegistrada(mensagemRegistrada));
+        return mensagemRegistrada;
+    }
+
+    @Override
+    public List<UUID> registrarMensagens(List<Mensagem> mensagens) {
+        if (mensagens == null || mensagens.isEmpty())
+            throw new IllegalArgumentException("lote de mensagens vazio");
+
+        ValidacaoMensagens.validarLote(validator, mensagens);
+
+        mensagens.forEach(mensagem -> mensagem.setId(geradorId.gerar()));
+        return inserir(mensagens).stream()
+                .map(Mensagem::getId)
+                .toList();
     }
 
     @Override
+    public void gravarMensagensAceitas(List<Mensagem> mensagens) {
+        inserir(mensagens);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.MENSAGENS, key = "#id")
     public Mensagem buscarMensagem(UUID id) {
         return mensagemReporitory.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Mensagem não encontrada"));
@@ -29,23 +93,173 @@ public class MensagemServiceImpl implements MensagemService {
 
     @Override
     public Page<Mensagem> listarMensagens(Pageable pageable) {
+        var feed = feedDisponivel();
+        if (feed.isPresent() && pageable.getSort().isUnsorted() && feed.get().atende(pageable))
+            return feed.get().listar(pageable);
         return mensagemReporitory.findAll(pageable);
     }
 
     @Override
+    public PaginaCursor<Mensagem> listarMensagens(String cursor, int tamanho) {
+        if (tamanho < 1)
+            throw new IllegalArgumentException("tamanho da página deve ser maior que zero");
+
+        // busca um registro a mais só para saber se existe próxima página, sem COUNT
+        var posicao = (cursor == null || cursor.isBlank()) ? null : CursorMensagem.decodificar(cursor);
+        var feed = feedDisponivel();
+        var mensagens = feed.isPresent()
+                ? feed.get().listarApos(posicao, tamanho + 1)
+                : buscarAposCursor(posicao, PageRequest.of(0, tamanho + 1));
+
+        if (mensagens.size() <= tamanho)
+            return new PaginaCursor<>(mensagens, null);
+
+        var pagina = mensagens.subList(0, tamanho);
+        var proximoCursor = CursorMensagem.de(pagina.get(tamanho - 1)).codificar();
+        return new PaginaCursor<>(pagina, proximoCursor);
+    }
+
+    @Override
+    public Slice<MensagemResumo> listarResumos(Pageable pageable) {
+        return mensagemReporitory.listarResumos(MensagemResumo.TAMANHO_CONTEUDO, pageable);
+    }
+
+    @Override
+    public Page<Mensagem> listarMensagens(LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        ValidacaoMensagens.validarPeriodo(desde, ate);
+        return mensagemReporitory.listarPorPeriodo(desde, ate, pageable);
+    }
+
+    @Override
+    public Slice<Mensagem> listarMensagensDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                                   Pageable pageable) {
+        if (usuario == null || usuario.isBlank())
+            throw new IllegalArgumentException("usuario preenchido de maneira incoreta");
+        ValidacaoMensagens.validarPeriodo(desde, ate);
+        return mensagemReporitory.listarDoUsuario(usuario, desde, ate, pageable);
+    }
+
+    @Override
+    public Page<Mensagem> buscarMensagens(String consulta, Pageable pageable) {
+        if (consulta == null || consulta.isBlank())
+            throw new IllegalArgumentException("termo de busca vazio");
+        if (pageable.getOffset() + pageable.getPageSize() > MAXIMO_RESULTADOS_BUSCA)
+            throw new IllegalArgumentException("a busca retorna no máximo " + MAXIMO_RESULTADOS_BUSCA + " resultados");
+
+        var resultado = indiceMensagens.buscar(consulta, (int) pageable.getOffset(), pageable.getPageSize());
+
+        // uma única consulta por página; a ordem de relevância vem do índice
+        var encontradas = mensagemReporitory.findAllById(resultado.ids()).stream()
+                .collect(Collectors.toMap(Mensagem::getId, Function.identity()));
+        var mensagens = resultado.ids().stream()
+                .map(encontradas::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(mensagens, pageable, resultado.total());
+    }
+
+    @Override
+    public Optional<Long> buscarVersao(UUID id) {
+        // a mensagem em cache já responde; sem ela, lê só a coluna de versão, sem montar a entidade
+        var cache = cacheManager.getCache(CacheConfig.MENSAGENS);
+        var mensagem = cache == null ? null : cache.get(id, Mensagem.class);
+        if (mensagem != null)
+            return Optional.of(mensagem.getVersao());
+        return mensagemReporitory.buscarVersao(id);
+    }
+
+    private List<Mensagem> inserir(List<Mensagem> mensagens) {
+        var mensagensRegistradas = mensagemReporitory.inserirEmLote(mensagens);
+        mensagensRegistradas.forEach(mensagem -> eventos.publishEvent(new MensagemRegistrada(mensagem)));
+        return mensagensRegistradas;
+    }
+
+    private List<Mensagem> buscarAposCursor(CursorMensagem cursor, Pageable limite) {
+        if (cursor == null)
+            return mensagemReporitory.findAllByOrderByDataCriacaoDescIdDesc(limite);
+        return mensagemReporitory.buscarAposCursor(cursor.dataCriacao(), cursor.id(), limite);
+    }
+
+    // o feed só recebe as gravações depois do commit; dentro de uma transação quem lê precisa ver as próprias
+    private Optional<FeedMensagens> feedDisponivel() {
+        if (TransactionSynchronizationManager.isActualTransactionActive())
+            return Optional.empty();
+        return feedMensagens.filter(FeedMensagens::pronto);
+    }
+
+    @Override
+    public void percorrerMensagens(Consumer<Mensagem> consumidor) {
+        mensagemReporitory.percorrerTodas(consumidor);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, key = "#id")
     public Mensagem alterarMensagem(UUID id, Mensagem novaMensagem) {
         var mensagem = buscarMensagem(id);
+        ValidacaoMensagens.validarSubstituicao(validator, id, novaMensagem);
 
-        if (!mensagem.getId().equals(novaMensagem.getId()))
-            throw new IllegalArgumentException("id não pode ser alterado");
+        // PUT sem If-Match: sobrescreve a versão atual, qualquer que seja
+        novaMensagem.setVersao(mensagem.getVersao());
+        var mensagemAlterada = mensagemReporitory.save(novaMensagem);
+        eventos.publishEvent(new MensagemAlterada(mensagemAlterada));
+        return mensagemAlterada;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, key = "#id")
+    public Mensagem alterarMensagem(UUID id, Mensagem novaMensagem, long versaoEsperada) {
+        ValidacaoMensagens.validarSubstituicao(validator, id, novaMensagem);
 
-        return mensagemReporitory.save(novaMensagem);
+        // UPDATE condicionado à versão, sem ler a mensagem antes; só o caminho de falha consulta o banco de novo
+        if (mensagemReporitory.alterarSeVersao(novaMensagem, versaoEsperada) == 0) {
+            if (!mensagemReporitory.existsById(id))
+                throw new IllegalArgumentException("Mensagem não encontrada");
+            throw new VersaoDivergenteException("a mensagem não está mais na versão " + versaoEsperada);
+        }
+
+        novaMensagem.setVersao(versaoEsperada + 1);
+        eventos.publishEvent(new MensagemAlterada(novaMensagem));
+        return novaMensagem;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, key = "#id")
+    public Mensagem alterarMensagemParcialmente(UUID id, AlteracaoMensagem alteracao) {
+        ValidacaoMensagens.validarAlteracao(alteracao);
+
+        if (mensagemReporitory.alterarParcialmente(id, alteracao) == 0)
+            throw new IllegalArgumentException("Mensagem não encontrada");
+
+        var mensagemAlterada = mensagemReporitory.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Mensagem não encontrada"));
+        eventos.publishEvent(new MensagemAlterada(mensagemAlterada));
+        return mensagemAlterada;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, key = "#id")
+    public void registrarGostei(UUID id) {
+        contadorGostei.registrar(id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, key = "#id")
     public boolean removeMensagem(UUID id) {
-        buscarMensagem(id);
-        mensagemReporitory.deleteById(id);
+        // um único DELETE; a quantidade de linhas afetadas diz se a mensagem existia
+        if (mensagemReporitory.removerPorId(id) == 0)
+            throw new IllegalArgumentException("Mensagem não encontrada");
+        eventos.publishEvent(new MensagemRemovida(id));
         return true;
     }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MENSAGENS, allEntries = true)
+    public int removerMensagens(List<UUID> ids) {
+        if (ids == null || ids.isEmpty())
+            throw new IllegalArgumentException("nenhum id informado");
+
+        var removidas = mensagemReporitory.removerPorIds(ids);
+        ids.forEach(id -> eventos.publishEvent(new MensagemRemovida(id)));
+        return removidas;
+    }
 }
@@ -0,0 +1,271 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.armazenamento.LogMensagens;
+import com.fiap.projeto.busca.IndiceMensagens;
+import com.fiap.projeto.evento.GosteiRegistrado;
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.evento.MensagemRemovida;
+import com.fiap.projeto.id.GeradorId;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import com.fiap.projeto.model.PaginaCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link MensagemService} sobre o {@link LogMensagens} em vez do banco, ativado com
+ * {@code mensagem.armazenamento.modo=log}. Cada alteração lê e regrava a mensagem inteira sob a trava do log,
+ * então versão, gostei e If-Match seguem as mesmas regras do serviço JPA.
+ */
+@Service
+@ConditionalOnProperty(name = "mensagem.armazenamento.modo", havingValue = "log")
+@RequiredArgsConstructor
+@Timed(value = "mensagem.servico", description = "chamadas ao serviço de mensagens")
+public class MensagemServiceLog implements MensagemService {
+
+    private static final int MAXIMO_RESULTADOS_BUSCA = 10_000;
+
+    private final LogMensagens logMensagens;
+    private final Validator validator;
+    private final GeradorId geradorId;
+    private final IndiceMensagens indiceMensagens;
+    private final ApplicationEventPublisher eventos;
+
+    @Override
+    public Mensagem registrarMensagem(Mensagem mensagem) {
+        ValidacaoMensagens.validar(validator, mensagem);
+        mensagem.setId(geradorId.gerar());
+        prepararNova(mensagem);
+        logMensagens.gravar(mensagem);
+        eventos.publishEvent(new MensagemRegistrada(mensagem));
+        return mensagem;
+    }
+
+    @Override
+    public List<UUID> registrarMensagens(List<Mensagem> mensagens) {
+        if (mensagens == null || mensagens.isEmpty())
+            throw new IllegalArgumentException("lote de mensagens vazio");
+
+        ValidacaoMensagens.validarLote(validator, mensagens);
+
+        mensagens.forEach(mensagem -> mensagem.setId(geradorId.gerar()));
+        gravarMensagensAceitas(mensagens);
+        return mensagens.stream()
+                .map(Mensagem::getId)
+                .toList();
+    }
+
+    @Override
+    public void gravarMensagensAceitas(List<Mensagem> mensagens) {
+        mensagens.forEach(this::prepararNova);
+        logMensagens.gravar(mensagens);
+        mensagens.forEach(mensagem -> eventos.publishEvent(new MensagemRegistrada(mensagem)));
+    }
+
+    @Override
+    public Mensagem buscarMensagem(UUID id) {
+        return logMensagens.buscar(id)
+                .orElseThrow(() -> new IllegalArgumentException("Mensagem não encontrada"));
+    }
+
+    @Override
+    public Optional<Long> buscarVersao(UUID id) {
+        return logMensagens.buscarVersao(id);
+    }
+
+    @Override
+    public Page<Mensagem> listarMensagens(Pageable pageable) {
+        if (pageable.isUnpaged())
+            return new PageImpl<>(logMensagens.listar(null, null, null, 0, Integer.MAX_VALUE));
+        return new PageImpl<>(logMensagens.listar(null, null, null, pageable.getOffset(), pageable.getPageSize()),
+                pageable, logMensagens.quantidade());
+    }
+
+    @Override
+    public PaginaCursor<Mensagem> listarMensagens(String cursor, int tamanho) {
+        if (tamanho < 1)
+            throw new IllegalArgumentException("tamanho da página deve ser maior que zero");
+
+        var mensagens = logMensagens.listarApos(
+                cursor == null || cursor.isBlank() ? null : CursorMensagem.decodificar(cursor), tamanho + 1);
+
+        if (mensagens.size() <= tamanho)
+            return new PaginaCursor<>(mensagens, null);
+
+        var pagina = mensagens.subList(0, tamanho);
+        var proximoCursor = CursorMensagem.de(pagina.get(tamanho - 1)).codificar();
+        return new PaginaCursor<>(pagina, proximoCursor);
+    }
+
+    @Override
+    public Slice<MensagemResumo> listarResumos(Pageable pageable) {
+        var mensagens = logMensagens.listar(null, null, null, pageable.getOffset(), pageable.getPageSize() + 1);
+        var temProxima = mensagens.size() > pageable.getPageSize();
+        var resumos = mensagens.stream()
+                .limit(pageable.getPageSize())
+                .map(mensagem -> new MensagemResumo(mensagem.getId(), mensagem.getUsuario(),
+                        resumir(mensagem.getConteudo()), mensagem.getDataCriacao(), mensagem.getGostei()))
+                .toList();
+        return new SliceImpl<>(resumos, pageable, temProxima);
+    }
+
+    @Override
+    public Page<Mensagem> listarMensagens(LocalDateTime desde, LocalDateTime ate, Pageable pageable) {
+        ValidacaoMensagens.validarPeriodo(desde, ate);
+        var mensagens = logMensagens.listar(null, desde, ate, pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(mensagens, pageable, () -> logMensagens.contar(desde, ate));
+    }
+
+    @Override
+    public Slice<Mensagem> listarMensagensDoUsuario(String usuario, LocalDateTime desde, LocalDateTime ate,
+                                                   Pageable pageable) {
+        if (usuario == null || usuario.isBlank())
+            throw new IllegalArgumentException("usuario preenchido de maneira incoreta");
+        ValidacaoMensagens.validarPeriodo(desde, ate);
+
+        var mensagens = logMensagens.listar(usuario, desde, ate, pageable.getOffset(), pageable.getPageSize() + 1);
+        var temProxima = mensagens.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? mensagens.subList(0, pageable.getPageSize()) : mensagens,
+                pageable, temProxima);
+    }
+
+    @Override
+    public void percorrerMensagens(Consumer<Mensagem> consumidor) {
+        logMensagens.percorrer(consumidor);
+    }
+
+    @Override
+    public Page<Mensagem> buscarMensagens(String consulta, Pageable pageable) {
+        if (consulta == null || consulta.isBlank())
+            throw new IllegalArgumentException("termo de busca vazio");
+        if (pageable.getOffset() + pageable.getPageSize() > MAXIMO_RESULTADOS_BUSCA)
+            throw new IllegalArgumentException("a busca retorna no máximo " + MAXIMO_RESULTADOS_BUSCA + " resultados");
+
+        var resultado = indiceMensagens.buscar(consulta, (int) pageable.getOffset(), pageable.getPageSize());
+        var mensagens = resultado.ids().stream()
+                .map(logMensagens::buscar)
+                .flatMap(Optional::stream)
+                .toList();
+        return new PageImpl<>(mensagens, pageable, resultado.total());
+    }
+
+    @Override
+    public Mensagem alterarMensagem(UUID id, Mensagem novaMensagem) {
+        if (!id.equals(novaMensagem.getId()))
+            throw new IllegalArgumentException(logMensagens.buscar(id).isEmpty()
+                    ? "Mensagem não encontrada" : "id não pode ser alterado");
+        ValidacaoMensagens.validar(validator, novaMensagem);
+
+        // PUT sem If-Match: sobrescreve a versão atual, qualquer que seja
+        return alterar(id, atual -> substituir(atual, novaMensagem));
+    }
+
+    @Override
+    public Mensagem alterarMensagem(UUID id, Mensagem novaMensagem, long versaoEsperada) {
+        if (!id.equals(novaMensagem.getId()))
+            throw new IllegalArgumentException("id não pode ser alterado");
+        ValidacaoMensagens.validar(validator, novaMensagem);
+
+        return alterar(id, atual -> {
+            if (atual.getVersao() != versaoEsperada)
+                throw new VersaoDivergenteException("a mensagem não está mais na versão " + versaoEsperada);
+            return substituir(atual, novaMensagem);
+        });
+    }
+
+    @Override
+    public Mensagem alterarMensagemParcialmente(UUID id, AlteracaoMensagem alteracao) {
+        ValidacaoMensagens.validarAlteracao(alteracao);
+
+        return alterar(id, atual -> {
+            if (alteracao.usuario() != null)
+                atual.setUsuario(alteracao.usuario());
+            if (alteracao.conteudo() != null)
+                atual.setConteudo(alteracao.conteudo());
+            if (alteracao.gostei() != null)
+                atual.setGostei(alteracao.gostei());
+            atual.setVersao(atual.getVersao() + 1);
+            return atual;
+        });
+    }
+
+    @Override
+    public void registrarGostei(UUID id) {
+        // grava direto no log, qualquer que seja mensagem.gostei.modo: o acumulado só existe para a tabela
+        logMensagens.alterar(id, atual -> {
+            atual.setGostei(atual.getGostei() + 1);
+            atual.setVersao(atual.getVersao() + 1);
+            return atual;
+        }).orElseThrow(() -> new IllegalArgumentException("Mensagem não encontrada"));
+        eventos.publishEvent(new GosteiRegistrado(id, 1));
+    }
+
+    @Override
+    public boolean removeMensagem(UUID id) {
+        if (!logMensagens.remover(id))
+            throw new IllegalArgumentException("Mensagem não encontrada");
+        eventos.publishEvent(new MensagemRemovida(id));
+        return true;
+    }
+
+    @Override
+    public int removerMensagens(List<UUID> ids) {
+        if (ids == null || ids.isEmpty())
+            throw new IllegalArgumentException("nenhum id informado");
+
+        var removidas = 0;
+        for (var id : ids.stream().distinct().toList()) {
+            if (logMensagens.remover(id)) {
+                removidas++;
+                eventos.publishEvent(new MensagemRemovida(id));
+            }
+        }
+        return removidas;
+    }
+
+    private Mensagem alterar(UUID id, UnaryOperator<Mensagem> alteracao) {
+        var mensagemAlterada = logMensagens.alterar(id, alteracao)
+                .orElseThrow(() -> new IllegalArgumentException("Mensagem não encontrada"));
+        eventos.publishEvent(new MensagemAlterada(mensagemAlterada));
+        return mensagemAlterada;
+    }
+
+    private Mensagem substituir(Mensagem atual, Mensagem novaMensagem) {
+        if (novaMensagem.getDataCriacao() == null)
+            novaMensagem.setDataCriacao(atual.getDataCriacao());
+        novaMensagem.setVersao(atual.getVersao() + 1);
+        return novaMensagem;
+    }
+
+    private void prepararNova(Mensagem mensagem) {
+        mensagem.setVersao(0);
+        if (mensagem.getDataCriacao() == null)
+            mensagem.setDataCriacao(LocalDateTime.now());
+    }
+
+    private String resumir(String conteudo) {
+        return conteudo.length() <= MensagemResumo.TAMANHO_CONTEUDO ? conteudo
+                : conteudo.substring(0, MensagemResumo.TAMANHO_CONTEUDO);
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.fiap.projeto.transmissao;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular compartilhado por todos os assinantes do stream. Cada evento entra uma vez, já no formato de
+ * quadro SSE ({@code id}, {@code event} e {@code data}), e cada assinante só guarda a sequência do próximo que vai
+ * receber. Quando o buffer dá a volta os eventos mais antigos são sobrescritos, e quem ainda não os recebeu
+ * ficou para trás.
+ * <p>
+ * Os ids dos eventos levam a geração do buffer, o instante em que foi criado: um Last-Event-ID de antes de a
+ * aplicação reiniciar não é confundido com uma sequência desta execução.
+ */
+class AnelEventos {
+
+    private static final String SEPARADOR = "-";
+
+    private final String geracao;
+    private final int capacidade;
+    private final AtomicReferenceArray<Quadro> quadros;
+
+    // só o publicador altera; os leitores leem a última sequência antes do quadro
+    private volatile long ultima;
+
+    AnelEventos(int capacidade) {
+        this(Long.toString(System.currentTimeMillis(), 36), capacidade);
+    }
+
+    AnelEventos(String geracao, int capacidade) {
+        if (capacidade < 1)
+            throw new IllegalArgumentException("capacidade deve ser maior que zero");
+        this.geracao = geracao;
+        this.capacidade = capacidade;
+        this.quadros = new AtomicReferenceArray<>(capacidade);
+    }
+
+    /**
+     * Inclui o evento e devolve a sequência atribuída a ele. {@code dados} deve ser uma única linha, como o JSON
+     * compacto do Jackson.
+     */
+    synchronized long publicar(String tipo, byte[] dados) {
+        var sequencia = ultima + 1;
+        quadros.set(posicao(sequencia), new Quadro(sequencia, quadro(id(sequencia), tipo, dados)));
+        ultima = sequencia;
+        return sequencia;
+    }
+
+    /**
+     * O quadro SSE do evento, ou null se ele já foi sobrescrito. A sequência deve ser no máximo {@link #ultima()}.
+     */
+    byte[] ler(long sequencia) {
+        var quadro = quadros.get(posicao(sequencia));
+        return quadro == null || quadro.sequencia() != sequencia ? null : quadro.bytes();
+    }
+
+    long ultima() {
+        return ultima;
+    }
+
+    long maisAntiga() {
+        return Math.max(1, ultima - capacidade + 1);
+    }
+
+    String id(long sequencia) {
+        return geracao + SEPARADOR + sequencia;
+    }
+
+    /**
+     * Sequência do Last-Event-ID informado pelo cliente, ou -1 se ele não for desta geração do buffer.
+     */
+    long sequenciaDe(String id) {
+        var separador = id.lastIndexOf(SEPARADOR);
+        if (separador < 0 || !geracao.equals(id.substring(0, separador)))
+            return -1;
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    static byte[] quadro(String id, String tipo, byte[] dados) {
+        var quadro = new ByteArrayOutputStream(dados.length + 64);
+        quadro.writeBytes(("id:" + id + "\nevent:" + tipo + "\ndata:").getBytes(StandardCharsets.UTF_8));
+        quadro.writeBytes(dados);
+        quadro.writeBytes("\n\n".getBytes(StandardCharsets.UTF_8));
+        return quadro.toByteArray();
+    }
+
+    private int posicao(long sequencia) {
+        return (int) (sequencia % capacidade);
+    }
+
+    private record Quadro(long sequencia, byte[] bytes) {
+    }
+
+}
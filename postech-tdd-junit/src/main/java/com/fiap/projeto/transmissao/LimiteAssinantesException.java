@@ -0,0 +1,9 @@
+package com.fiap.projeto.transmissao;
+
+public class LimiteAssinantesException extends RuntimeException {
+
+    public LimiteAssinantesException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,317 @@
+package com.fiap.projeto.transmissao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.evento.MensagemRemovida;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Envia as mensagens registradas, alteradas e removidas a quem assina o {@code GET /mensagens/stream}.
+ * <p>
+ * Cada evento confirmado é serializado uma única vez para o {@link AnelEventos}. Uma thread distribuidora acorda a
+ * cada publicação e entrega às threads de envio os assinantes que têm eventos pendentes. Cada assinante é atendido
+ * por no máximo uma delas por vez, na ordem do buffer, e escreve bytes já prontos: o custo de uma publicação por
+ * assinante é só a escrita no socket. As threads de envio são de plataforma porque o envio do SseEmitter é
+ * synchronized e prenderia a thread portadora de uma thread virtual.
+ * <p>
+ * Um assinante que deixa o buffer dar a volta sem receber os eventos é desconectado. Ao reconectar com o
+ * Last-Event-ID ele recebe um evento {@code reinicio}, sinal para recarregar a listagem antes de seguir o stream.
+ */
+@Slf4j
+@Component
+public class TransmissaoMensagens implements SmartLifecycle {
+
+    static final String REGISTRADA = "registrada";
+    static final String ALTERADA = "alterada";
+    static final String REMOVIDA = "removida";
+    static final String REINICIO = "reinicio";
+
+    private static final byte[] SINAL_DE_VIDA = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    // espera do EventSource antes de reconectar depois de a conexão cair
+    private static final byte[] RECONEXAO = "retry:3000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final AnelEventos anel;
+    private final int maximoAssinantes;
+    private final int threadsEnvio;
+    private final long tempoLimiteMillis;
+    private final long sinalDeVidaNanos;
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger quantidade = new AtomicInteger();
+    private final Counter desconectadosLentos;
+
+    private volatile boolean ativa;
+    private volatile Thread distribuidor;
+    private volatile ExecutorService envio;
+
+    public TransmissaoMensagens(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${mensagem.stream.capacidade:4096}") int capacidade,
+                                @Value("${mensagem.stream.maximo-assinantes:10000}") int maximoAssinantes,
+                                @Value("${mensagem.stream.threads-envio:8}") int threadsEnvio,
+                                @Value("${mensagem.stream.tempo-limite:1800000}") long tempoLimiteMillis,
+                                @Value("${mensagem.stream.intervalo-sinal-vida:15000}") long sinalDeVidaMillis) {
+        this.objectMapper = objectMapper;
+        this.anel = new AnelEventos(capacidade);
+        this.maximoAssinantes = maximoAssinantes;
+        this.threadsEnvio = threadsEnvio;
+        this.tempoLimiteMillis = tempoLimiteMillis;
+        this.sinalDeVidaNanos = TimeUnit.MILLISECONDS.toNanos(sinalDeVidaMillis);
+
+        Gauge.builder("mensagem.stream.assinantes", quantidade, AtomicInteger::get)
+                .description("conexões abertas no stream de mensagens")
+                .register(meterRegistry);
+        this.desconectadosLentos = Counter.builder("mensagem.stream.desconectados")
+                .description("assinantes desconectados por não acompanharem o buffer de eventos")
+                .tag("motivo", "lento")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre um stream a partir do evento seguinte ao {@code ultimoId}; sem ele, a partir do próximo evento publicado.
+     */
+    public SseEmitter assinar(String ultimoId) {
+        var emissor = new SseEmitter(tempoLimiteMillis);
+        registrar(emissor, ultimoId);
+        return emissor;
+    }
+
+    void registrar(ResponseBodyEmitter emissor, String ultimoId) {
+        if (!ativa || !reservar())
+            throw new LimiteAssinantesException("limite de assinantes do stream atingido");
+
+        var ultima = anel.ultima();
+        var sequencia = ultimoId == null || ultimoId.isBlank() ? ultima : anel.sequenciaDe(ultimoId.strip());
+        var retomavel = sequencia >= 0 && sequencia <= ultima && sequencia + 1 >= anel.maisAntiga();
+        var assinante = new Assinante(emissor, retomavel ? sequencia + 1 : ultima + 1);
+
+        // o primeiro envio também confirma os cabeçalhos, que sem ele só sairiam com o primeiro evento; vai antes de
+        // o assinante ficar visível ao distribuidor, que poderia enviar um evento na frente
+        try {
+            enviar(emissor, RECONEXAO);
+            if (!retomavel) {
+                // os eventos depois do Last-Event-ID já saíram do buffer, ou ele é de outra execução
+                enviar(emissor, AnelEventos.quadro(anel.id(ultima), REINICIO, "{}".getBytes(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException ex) {
+            quantidade.decrementAndGet();
+            return;
+        }
+
+        emissor.onCompletion(() -> encerrar(assinante));
+        emissor.onError(erro -> encerrar(assinante));
+        assinantes.add(assinante);
+        LockSupport.unpark(distribuidor);
+    }
+
+    public int quantidadeAssinantes() {
+        return quantidade.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRegistrar(MensagemRegistrada evento) {
+        publicar(REGISTRADA, evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterar(MensagemAlterada evento) {
+        publicar(ALTERADA, evento.mensagem());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoRemover(MensagemRemovida evento) {
+        publicar(REMOVIDA, evento);
+    }
+
+    void publicar(String tipo, Object conteudo) {
+        byte[] dados;
+        try {
+            dados = objectMapper.writeValueAsBytes(conteudo);
+        } catch (JsonProcessingException ex) {
+            log.error("evento {} não serializado para o stream", tipo, ex);
+            return;
+        }
+        anel.publicar(tipo, dados);
+        LockSupport.unpark(distribuidor);
+    }
+
+    private void distribuir() {
+        while (ativa) {
+            LockSupport.parkNanos(this, sinalDeVidaNanos);
+            var ultima = anel.ultima();
+            var agora = System.nanoTime();
+            for (var assinante : assinantes) {
+                var pendente = assinante.proxima <= ultima;
+                var ocioso = agora - assinante.ultimoEnvio >= sinalDeVidaNanos;
+                if ((pendente || ocioso) && assinante.ocupar())
+                    envio.execute(() -> atender(assinante));
+            }
+        }
+    }
+
+    private void atender(Assinante assinante) {
+        try {
+            do {
+                if (!entregarPendentes(assinante))
+                    return;
+                if (System.nanoTime() - assinante.ultimoEnvio >= sinalDeVidaNanos) {
+                    // comentário SSE: detecta a conexão fechada sem um evento para enviar
+                    assinante.enviar(SINAL_DE_VIDA);
+                    assinante.ultimoEnvio = System.nanoTime();
+                }
+                assinante.liberar();
+                // um evento publicado enquanto estava ocupado pode ter sido ignorado pelo distribuidor
+            } while (assinante.proxima <= anel.ultima() && assinante.ocupar());
+        } catch (IOException | IllegalStateException ex) {
+            // conexão fechada pelo cliente: o servidor encerra a requisição sozinho e avisa pelo onError
+            remover(assinante);
+        }
+    }
+
+    private boolean entregarPendentes(Assinante assinante) throws IOException {
+        while (assinante.proxima <= anel.ultima()) {
+            var quadro = anel.ler(assinante.proxima);
+            if (quadro == null) {
+                desconectadosLentos.increment();
+                log.debug("assinante desconectado por ficar {} eventos atrás", anel.ultima() - assinante.proxima);
+                remover(assinante);
+                assinante.completar();
+                return false;
+            }
+            assinante.enviar(quadro);
+            assinante.proxima++;
+            assinante.ultimoEnvio = System.nanoTime();
+        }
+        return true;
+    }
+
+    private static void enviar(ResponseBodyEmitter emissor, byte[] quadro) throws IOException {
+        emissor.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(quadro, MediaType.TEXT_EVENT_STREAM)));
+    }
+
+    private boolean reservar() {
+        int atual;
+        do {
+            atual = quantidade.get();
+            if (atual >= maximoAssinantes)
+                return false;
+        } while (!quantidade.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    private void encerrar(Assinante assinante) {
+        assinante.encerrar();
+        remover(assinante);
+    }
+
+    private void remover(Assinante assinante) {
+        if (assinantes.remove(assinante))
+            quantidade.decrementAndGet();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ativa)
+            return;
+        ativa = true;
+        envio = Executors.newFixedThreadPool(threadsEnvio, Thread.ofPlatform().name("stream-envio-", 0).factory());
+        distribuidor = Thread.ofPlatform().name("stream-distribuidor").start(this::distribuir);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!ativa)
+            return;
+        ativa = false;
+        LockSupport.unpark(distribuidor);
+        try {
+            distribuidor.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        envio.shutdownNow();
+        assinantes.forEach(Assinante::completar);
+        assinantes.clear();
+        quantidade.set(0);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativa;
+    }
+
+    @Override
+    public int getPhase() {
+        // maior que a do desligamento gracioso do servidor: fecha os streams antes de ele esperar as requisições
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private static final class Assinante {
+
+        private final ResponseBodyEmitter emissor;
+        private final AtomicBoolean ocupado = new AtomicBoolean();
+
+        // só a thread que ocupa o assinante altera
+        private volatile long proxima;
+        private volatile long ultimoEnvio = System.nanoTime();
+
+        // o Spring 6.1 não recusa envios depois de o servidor encerrar a requisição por conta própria, e o Tomcat
+        // reaproveita a resposta na próxima conexão: um envio atrasado escreveria no stream de outro cliente
+        private boolean encerrado;
+
+        private Assinante(ResponseBodyEmitter emissor, long proxima) {
+            this.emissor = emissor;
+            this.proxima = proxima;
+        }
+
+        private boolean ocupar() {
+            return ocupado.compareAndSet(false, true);
+        }
+
+        private void liberar() {
+            ocupado.set(false);
+        }
+
+        private synchronized void enviar(byte[] quadro) throws IOException {
+            if (encerrado)
+                throw new IOException("stream encerrado");
+            TransmissaoMensagens.enviar(emissor, quadro);
+        }
+
+        private synchronized void completar() {
+            if (!encerrado)
+                emissor.complete();
+            encerrado = true;
+        }
+
+        private synchronized void encerrar() {
+            encerrado = true;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.fiap.projeto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Sobe a aplicação num processo novo em cada modo e mede o tempo até a primeira resposta 200 de
+ * GET /mensagens/listar: o jar executável comum e o jar do perfil inicio-rapido com AOT, com AOT e CDS e com os
+ * dois mais a inicialização tardia dos beans. Os modos se alternam a cada rodada e o resultado é a mediana.
+ * Não faz parte da suíte padrão; execute com
+ * {@code mvn -Pinicio-rapido package -DskipTests && mvn test -Dtest=InicializacaoBenchmark -Dbenchmark.rodadas=5}.
+ */
+class InicializacaoBenchmark {
+
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 5);
+    private static final Path ALVO = Path.of("target");
+    private static final Path INICIO_RAPIDO = ALVO.resolve("inicio-rapido");
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void compararTempoAtePrimeiraResposta() throws Exception {
+        var executavel = jar(ALVO, "-SNAPSHOT.jar");
+        var rapido = jar(INICIO_RAPIDO, "-inicio-rapido.jar");
+        var arquivoCds = INICIO_RAPIDO.resolve("app.jsa");
+        assumeTrue(executavel != null && rapido != null && Files.exists(arquivoCds),
+                "gere os jars antes com mvn -Pinicio-rapido package -DskipTests");
+
+        var modos = new LinkedHashMap<String, List<String>>();
+        modos.put("jar executável", List.of("-jar", executavel.toString()));
+        modos.put("AOT", List.of("-Dspring.aot.enabled=true", "-jar", rapido.toString()));
+        modos.put("AOT + CDS", List.of("-XX:SharedArchiveFile=" + arquivoCds, "-Dspring.aot.enabled=true",
+                "-jar", rapido.toString()));
+        modos.put("AOT + CDS + tardia", List.of("-XX:SharedArchiveFile=" + arquivoCds, "-Dspring.aot.enabled=true",
+                "-Dspring.main.lazy-initialization=true", "-jar", rapido.toString()));
+
+        var tempos = new LinkedHashMap<String, List<Long>>();
+        for (int rodada = 0; rodada < RODADAS; rodada++)
+            for (Map.Entry<String, List<String>> modo : modos.entrySet())
+                tempos.computeIfAbsent(modo.getKey(), chave -> new ArrayList<>()).add(medir(modo.getValue()));
+
+        System.out.printf("%n%d rodadas, tempo até o primeiro 200 de GET /mensagens/listar%n", RODADAS);
+        System.out.printf("%-22s %14s %14s%n", "modo", "mediana (ms)", "mínimo (ms)");
+        tempos.forEach((modo, medidas) -> {
+            var ordenadas = medidas.stream().sorted().toList();
+            System.out.printf("%-22s %14d %14d%n", modo, ordenadas.get(ordenadas.size() / 2), ordenadas.get(0));
+        });
+    }
+
+    private long medir(List<String> argumentos) throws Exception {
+        var porta = portaLivre();
+        var comando = new ArrayList<String>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(argumentos);
+        comando.addAll(List.of("--server.port=" + porta, "--logging.level.root=warn"));
+
+        var listar = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/mensagens/listar"))
+                .timeout(Duration.ofSeconds(5)).build();
+        var inicio = System.nanoTime();
+        var processo = new ProcessBuilder(comando).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        try {
+            var limite = inicio + Duration.ofMinutes(2).toNanos();
+            while (System.nanoTime() < limite) {
+                assertThat(processo.isAlive()).as("a aplicação encerrou antes de responder").isTrue();
+                try {
+                    if (cliente.send(listar, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                } catch (IOException ex) {
+                    // ainda sem servidor escutando na porta
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError("sem resposta em 2 minutos: " + comando);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static Path jar(Path diretorio, String sufixo) throws IOException {
+        if (!Files.isDirectory(diretorio))
+            return null;
+        try (var arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().endsWith(sufixo)).findFirst().orElse(null);
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
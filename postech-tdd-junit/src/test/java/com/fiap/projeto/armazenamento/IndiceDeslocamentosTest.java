@@ -0,0 +1,55 @@
+package com.fiap.projeto.armazenamento;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceDeslocamentosTest {
+
+    @Test
+    void deveGravarBuscarERemover() {
+        var indice = new IndiceDeslocamentos(16);
+        var id = UUID.randomUUID();
+
+        assertThat(indice.gravar(id, 10)).isZero();
+        assertThat(indice.gravar(id, 20)).isEqualTo(10);
+        assertThat(indice.buscar(id)).isEqualTo(20);
+        assertThat(indice.remover(id)).isEqualTo(20);
+        assertThat(indice.buscar(id)).isZero();
+        assertThat(indice.remover(id)).isZero();
+        assertThat(indice.tamanho()).isZero();
+    }
+
+    @Test
+    void deveManterTodasAsEntradas_crescendoERemovendo() {
+        // compara com um HashMap numa sequência aleatória que faz a tabela crescer várias vezes
+        var indice = new IndiceDeslocamentos(16);
+        var esperado = new HashMap<UUID, Long>();
+        var ids = new ArrayList<UUID>();
+        var aleatorio = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            if (!ids.isEmpty() && aleatorio.nextInt(3) == 0) {
+                var id = ids.remove(aleatorio.nextInt(ids.size()));
+                assertThat(indice.remover(id)).isEqualTo(esperado.remove(id));
+            } else {
+                var id = UUID.randomUUID();
+                ids.add(id);
+                esperado.put(id, i + 1L);
+                indice.gravar(id, i + 1L);
+            }
+        }
+
+        assertThat(indice.tamanho()).isEqualTo(esperado.size());
+        esperado.forEach((id, posicao) -> assertThat(indice.buscar(id)).isEqualTo(posicao));
+        var percorridas = new HashMap<UUID, Long>();
+        indice.paraCada(percorridas::put);
+        assertThat(percorridas).isEqualTo(esperado);
+    }
+
+}
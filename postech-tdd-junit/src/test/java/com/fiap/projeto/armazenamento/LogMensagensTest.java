@@ -0,0 +1,178 @@
+package com.fiap.projeto.armazenamento;
+
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogMensagensTest {
+
+    private static final int TAMANHO_SEGMENTO = 4096;
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 3, 6, 0, 0);
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveGravarEBuscarMensagem() {
+        var log = abrir();
+        var mensagem = geraMensagem("Gabriel", INICIO);
+
+        log.gravar(mensagem);
+
+        assertThat(log.buscar(mensagem.getId())).contains(mensagem);
+        assertThat(log.buscarVersao(mensagem.getId())).contains(0L);
+        assertThat(log.buscar(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void deveManterSomenteAVersaoAtual_alterar() {
+        var log = abrir();
+        var mensagem = geraMensagem("Gabriel", INICIO);
+        log.gravar(mensagem);
+
+        var alterada = log.alterar(mensagem.getId(), atual -> {
+            atual.setUsuario("Isaque");
+            atual.setVersao(atual.getVersao() + 1);
+            return atual;
+        });
+
+        assertThat(alterada).hasValueSatisfying(m -> assertThat(m.getVersao()).isEqualTo(1));
+        assertThat(log.quantidade()).isEqualTo(1);
+        assertThat(log.listar("Gabriel", null, null, 0, 10)).isEmpty();
+        assertThat(log.listar("Isaque", null, null, 0, 10)).extracting(Mensagem::getId)
+                .containsExactly(mensagem.getId());
+    }
+
+    @Test
+    void deveListarPorDataDecrescenteNoPeriodo() {
+        var log = abrir();
+        var mensagens = new ArrayList<Mensagem>();
+        for (int i = 0; i < 5; i++)
+            mensagens.add(geraMensagem(i % 2 == 0 ? "Gabriel" : "Isaque", INICIO.plusHours(i)));
+        log.gravar(mensagens);
+
+        assertThat(log.listar(null, INICIO.plusHours(1), INICIO.plusHours(4), 0, 10))
+                .extracting(Mensagem::getDataCriacao)
+                .containsExactly(INICIO.plusHours(3), INICIO.plusHours(2), INICIO.plusHours(1));
+        assertThat(log.contar(INICIO.plusHours(1), INICIO.plusHours(4))).isEqualTo(3);
+        assertThat(log.listar("Gabriel", null, null, 1, 10)).extracting(Mensagem::getDataCriacao)
+                .containsExactly(INICIO.plusHours(2), INICIO);
+        assertThat(log.listarApos(CursorMensagem.de(mensagens.get(3)), 2)).extracting(Mensagem::getDataCriacao)
+                .containsExactly(INICIO.plusHours(2), INICIO.plusHours(1));
+    }
+
+    @Test
+    void deveRecuperarMensagens_reabrindoOLog() {
+        var log = abrir();
+        var mantida = geraMensagem("Gabriel", INICIO);
+        var removida = geraMensagem("Isaque", INICIO.plusSeconds(1));
+        // ocupa mais de um segmento
+        for (int i = 0; i < 100; i++)
+            log.gravar(geraMensagem("Matheus", INICIO.plusMinutes(i)));
+        log.gravar(mantida);
+        log.gravar(removida);
+        log.remover(removida.getId());
+
+        var reaberto = abrir();
+
+        assertThat(reaberto.quantidadeSegmentos()).isGreaterThan(1);
+        assertThat(reaberto.quantidade()).isEqualTo(101);
+        assertThat(reaberto.buscar(mantida.getId())).contains(mantida);
+        assertThat(reaberto.buscar(removida.getId())).isEmpty();
+        assertThat(reaberto.listar("Matheus", null, null, 0, 1)).extracting(Mensagem::getDataCriacao)
+                .containsExactly(INICIO.plusMinutes(99));
+    }
+
+    @Test
+    void deveDescartarGravacaoInterrompida_reabrindoOLog() throws Exception {
+        var log = abrir();
+        var gravada = geraMensagem("Gabriel", INICIO);
+        log.gravar(gravada);
+        log.fechar();
+
+        // simula um registro pela metade depois do último completo: tamanho gravado, corpo com lixo
+        var segmento = segmentos().get(0);
+        try (var arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            var fim = 0;
+            while (true) {
+                arquivo.seek(fim);
+                var tamanho = arquivo.readInt();
+                if (tamanho == 0)
+                    break;
+                fim += tamanho;
+            }
+            arquivo.seek(fim);
+            arquivo.writeInt(200);
+            arquivo.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        var reaberto = abrir();
+        var seguinte = geraMensagem("Isaque", INICIO.plusSeconds(1));
+        reaberto.gravar(seguinte);
+        var reabertoDeNovo = abrir();
+
+        assertThat(reabertoDeNovo.quantidade()).isEqualTo(2);
+        assertThat(reabertoDeNovo.buscar(gravada.getId())).contains(gravada);
+        assertThat(reabertoDeNovo.buscar(seguinte.getId())).contains(seguinte);
+    }
+
+    @Test
+    void deveApagarSegmentosMortos_compactar() throws Exception {
+        var log = abrir();
+        var mensagens = new ArrayList<Mensagem>();
+        for (int i = 0; i < 100; i++)
+            mensagens.add(geraMensagem("Gabriel", INICIO.plusMinutes(i)));
+        log.gravar(mensagens);
+        var segmentosAntes = segmentos();
+
+        // remove 90 e mantém uma a cada dez
+        for (int i = 0; i < mensagens.size(); i++) {
+            if (i % 10 != 0)
+                log.remover(mensagens.get(i).getId());
+        }
+        log.compactar();
+
+        assertThat(segmentos()).doesNotContainAnyElementsOf(segmentosAntes.subList(0, segmentosAntes.size() - 1));
+        assertThat(log.quantidade()).isEqualTo(10);
+
+        var reaberto = abrir();
+        assertThat(reaberto.quantidade()).isEqualTo(10);
+        for (int i = 0; i < mensagens.size(); i++) {
+            var mensagem = mensagens.get(i);
+            if (i % 10 == 0)
+                assertThat(reaberto.buscar(mensagem.getId())).contains(mensagem);
+            else
+                assertThat(reaberto.buscar(mensagem.getId())).isEmpty();
+        }
+    }
+
+    private LogMensagens abrir() {
+        return new LogMensagens(diretorio.toString(), TAMANHO_SEGMENTO, false, 0.5);
+    }
+
+    private List<Path> segmentos() throws Exception {
+        try (var arquivos = Files.list(diretorio)) {
+            return arquivos.sorted().toList();
+        }
+    }
+
+    private Mensagem geraMensagem(String usuario, LocalDateTime dataCriacao) {
+        return Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario(usuario).conteudo("conteúdo da mensagem de " + usuario)
+                .dataCriacao(dataCriacao)
+                .build();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.fiap.projeto.busca;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Mede a latência de consultas ao índice de busca com milhões de mensagens sintéticas, cujo vocabulário
+ * segue uma distribuição de Zipf como texto real.
+ * Não faz parte da suíte padrão; execute com
+ * {@code mvn test -Dtest=BuscaBenchmark -Dbenchmark.mensagens=2000000 -DargLine=-Xmx3g}.
+ */
+class BuscaBenchmark {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("benchmark.mensagens", 1_000_000);
+    private static final int VOCABULARIO = 50_000;
+    private static final int TERMOS_POR_MENSAGEM = 12;
+    private static final int REPETICOES = 1_000;
+
+    @Test
+    void medirLatenciaDeBusca() {
+        var aleatorio = new SplittableRandom(42);
+        var acumulada = distribuicaoZipf();
+        var indice = new IndiceMensagens();
+
+        var inicio = System.nanoTime();
+        var conteudo = new StringBuilder();
+        for (int i = 0; i < TOTAL_MENSAGENS; i++) {
+            conteudo.setLength(0);
+            for (int j = 0; j < TERMOS_POR_MENSAGEM; j++)
+                conteudo.append(termo(sortear(acumulada, aleatorio))).append(' ');
+            indice.indexar(UUID.randomUUID(), conteudo.toString());
+        }
+        System.out.printf("%n%d mensagens indexadas em %.1f s%n", TOTAL_MENSAGENS, (System.nanoTime() - inicio) / 1e9);
+
+        System.out.printf("%-28s %12s %12s %12s%n", "consulta", "resultados", "p50 (ms)", "p99 (ms)");
+        medir(indice, "rara", termo(VOCABULARIO - 1));
+        medir(indice, "intermediária", termo(1_000));
+        medir(indice, "frequente", termo(50));
+        medir(indice, "dois termos intermediários", termo(1_000) + " " + termo(2_000));
+    }
+
+    private void medir(IndiceMensagens indice, String descricao, String consulta) {
+        // aquecimento
+        for (int i = 0; i < REPETICOES; i++)
+            indice.buscar(consulta, 0, 10);
+
+        var tempos = new long[REPETICOES];
+        long resultados = 0;
+        for (int i = 0; i < REPETICOES; i++) {
+            var inicio = System.nanoTime();
+            resultados = indice.buscar(consulta, 0, 10).total();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        System.out.printf("%-28s %12d %12.3f %12.3f%n", descricao, resultados,
+                tempos[REPETICOES / 2] / 1e6, tempos[REPETICOES * 99 / 100] / 1e6);
+    }
+
+    private double[] distribuicaoZipf() {
+        var acumulada = new double[VOCABULARIO];
+        var soma = 0.0;
+        for (int i = 0; i < VOCABULARIO; i++) {
+            soma += 1.0 / (i + 1);
+            acumulada[i] = soma;
+        }
+        for (int i = 0; i < VOCABULARIO; i++)
+            acumulada[i] /= soma;
+        return acumulada;
+    }
+
+    private int sortear(double[] acumulada, SplittableRandom aleatorio) {
+        var posicao = Arrays.binarySearch(acumulada, aleatorio.nextDouble());
+        return Math.min(posicao < 0 ? -posicao - 1 : posicao, VOCABULARIO - 1);
+    }
+
+    private String termo(int posicao) {
+        return "termo" + posicao;
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.fiap.projeto.busca;
+
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sem {@code @Transactional}: o índice só é atualizado depois que a gravação é confirmada.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+class BuscaMensagensIT {
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Test
+    void deveEncontrarMensagensCarregadasNaInicializacao() {
+        var pagina = mensagemService.buscarMensagens("MENSAGEM", PageRequest.of(0, 10));
+
+        assertThat(pagina.getTotalElements()).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void deveManterIndiceAtualizado_registrarAlterarRemover() {
+        var mensagem = mensagemService.registrarMensagem(Mensagem.builder()
+                .usuario("Gabriel").conteudo("Atenção: manutenção programada").build());
+
+        assertThat(buscar("manutencao")).extracting(Mensagem::getId).containsExactly(mensagem.getId());
+
+        mensagemService.alterarMensagemParcialmente(mensagem.getId(),
+                new AlteracaoMensagem(null, "manutenção adiada", null));
+        assertThat(buscar("programada")).isEmpty();
+        assertThat(buscar("adiada")).extracting(Mensagem::getId).containsExactly(mensagem.getId());
+
+        mensagemService.removeMensagem(mensagem.getId());
+        assertThat(buscar("adiada")).isEmpty();
+    }
+
+    private List<Mensagem> buscar(String consulta) {
+        return mensagemService.buscarMensagens(consulta, PageRequest.of(0, 10)).getContent();
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.fiap.projeto.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceMensagensTest {
+
+    private IndiceMensagens indiceMensagens;
+
+    @BeforeEach
+    void setup() {
+        indiceMensagens = new IndiceMensagens();
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia() {
+        var umaVez = indexar("o café da manhã de hoje estava frio");
+        var duasVezes = indexar("café, muito café");
+        indexar("chá gelado");
+
+        var resultado = indiceMensagens.buscar("cafe", 0, 10);
+
+        assertThat(resultado.ids()).containsExactly(duasVezes, umaVez);
+        assertThat(resultado.total()).isEqualTo(2);
+    }
+
+    @Test
+    void deveSomarRelevanciaDeVariosTermos() {
+        var soCafe = indexar("café");
+        var cafeComLeite = indexar("café com leite");
+        var soLeite = indexar("leite");
+
+        var resultado = indiceMensagens.buscar("café leite", 0, 10);
+
+        assertThat(resultado.ids()).hasSize(3).startsWith(cafeComLeite).contains(soCafe, soLeite);
+    }
+
+    @Test
+    void devePaginarResultados() {
+        for (int i = 0; i < 25; i++)
+            indexar("mensagem número " + i);
+
+        var primeira = indiceMensagens.buscar("mensagem", 0, 10);
+        var ultima = indiceMensagens.buscar("mensagem", 20, 10);
+        var alemDoFim = indiceMensagens.buscar("mensagem", 30, 10);
+
+        assertThat(primeira.ids()).hasSize(10);
+        assertThat(ultima.ids()).hasSize(5).doesNotContainAnyElementsOf(primeira.ids());
+        assertThat(alemDoFim.ids()).isEmpty();
+        assertThat(alemDoFim.total()).isEqualTo(25);
+    }
+
+    @Test
+    void naoDeveRetornar_mensagemRemovida() {
+        var id = indexar("promoção de verão");
+
+        indiceMensagens.remover(id);
+
+        assertThat(indiceMensagens.buscar("promocao", 0, 10).ids()).isEmpty();
+        assertThat(indiceMensagens.tamanho()).isZero();
+    }
+
+    @Test
+    void deveReindexar_mensagemAlterada() {
+        var id = indexar("conteúdo antigo");
+
+        indiceMensagens.indexar(id, "conteúdo novo");
+
+        assertThat(indiceMensagens.buscar("antigo", 0, 10).ids()).isEmpty();
+        assertThat(indiceMensagens.buscar("novo", 0, 10).ids()).containsExactly(id);
+        assertThat(indiceMensagens.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    void deveManterResultados_aposCompactar() {
+        var mantida = indexar("mensagem que fica");
+        for (int i = 0; i < 3_000; i++)
+            indiceMensagens.remover(indexar("mensagem temporária " + i));
+
+        var resultado = indiceMensagens.buscar("mensagem", 0, 10);
+
+        assertThat(resultado.ids()).containsExactly(mantida);
+        assertThat(resultado.total()).isEqualTo(1);
+    }
+
+    private UUID indexar(String conteudo) {
+        var id = UUID.randomUUID();
+        indiceMensagens.indexar(id, conteudo);
+        return id;
+    }
+
+}
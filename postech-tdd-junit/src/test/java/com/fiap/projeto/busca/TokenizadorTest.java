@@ -0,0 +1,21 @@
+package com.fiap.projeto.busca;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenizadorTest {
+
+    @Test
+    void deveRemoverAcentosEMaiusculas() {
+        assertThat(Tokenizador.tokenizar("Ação, CORAÇÃO e pão-de-queijo às 10h!"))
+                .containsExactly("acao", "coracao", "pao", "de", "queijo", "as", "10h");
+    }
+
+    @Test
+    void deveIgnorarTermosDeUmaLetra_textoVazio() {
+        assertThat(Tokenizador.tokenizar("é o a")).isEmpty();
+        assertThat(Tokenizador.tokenizar(null)).isEmpty();
+    }
+
+}
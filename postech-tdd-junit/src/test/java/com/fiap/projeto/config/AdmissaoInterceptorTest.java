@@ -0,0 +1,105 @@
+package com.fiap.projeto.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissaoInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdmissaoInterceptor interceptor;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        // limite 4 em cada rota e 8 no global; as escritas usam só 4 vagas do global
+        interceptor = new AdmissaoInterceptor(ControllerFalso.class, meterRegistry, 4, 1, 8, 8, 0.5, 3);
+    }
+
+    @Test
+    void deveRecusarComRetryAfter_limiteDaRotaAtingido() throws Exception {
+        for (int i = 0; i < 4; i++)
+            assertThat(admitir("GET", "/mensagens/{id}", new MockHttpServletResponse())).isTrue();
+
+        var resposta = new MockHttpServletResponse();
+        assertThat(admitir("GET", "/mensagens/{id}", resposta)).isFalse();
+
+        assertThat(resposta.getStatus()).isEqualTo(503);
+        assertThat(resposta.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(resposta.getContentAsString()).isEqualTo("servidor sobrecarregado, tente novamente");
+        assertThat(meterRegistry.counter("mensagem.admissao.rejeitadas",
+                "method", "GET", "uri", "/mensagens/{id}").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRecusarEscritasAntesDasLeituras() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(admitir("POST", "/mensagens", new MockHttpServletResponse())).isTrue();
+            assertThat(admitir("DELETE", "/mensagens/{id}", new MockHttpServletResponse())).isTrue();
+        }
+
+        assertThat(admitir("PUT", "/mensagens/{id}", new MockHttpServletResponse())).isFalse();
+        for (int i = 0; i < 2; i++) {
+            assertThat(admitir("GET", "/mensagens/listar", new MockHttpServletResponse())).isTrue();
+            assertThat(admitir("GET", "/mensagens/{id}", new MockHttpServletResponse())).isTrue();
+        }
+        assertThat(admitir("GET", "/mensagens/busca", new MockHttpServletResponse())).isFalse();
+        assertThat(meterRegistry.counter("mensagem.admissao.rejeitadas.global").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mensagem.admissao.em-andamento.global").gauge().value()).isEqualTo(8);
+    }
+
+    @Test
+    void deveLiberarVaga_aoConcluir() throws Exception {
+        var requisicoes = new MockHttpServletRequest[4];
+        for (int i = 0; i < 4; i++) {
+            requisicoes[i] = requisicao("GET", "/mensagens/{id}");
+            interceptor.preHandle(requisicoes[i], new MockHttpServletResponse(), handler());
+        }
+
+        interceptor.afterCompletion(requisicoes[0], new MockHttpServletResponse(), handler(), null);
+
+        assertThat(admitir("GET", "/mensagens/{id}", new MockHttpServletResponse())).isTrue();
+        assertThat(meterRegistry.get("mensagem.admissao.limite")
+                .tags("method", "GET", "uri", "/mensagens/{id}").gauge().value()).isEqualTo(4);
+    }
+
+    @Test
+    void deveIgnorarOutrosControllers() throws Exception {
+        var outro = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+        for (int i = 0; i < 10; i++)
+            assertThat(interceptor.preHandle(requisicao("POST", "/mensagens"), new MockHttpServletResponse(), outro))
+                    .isTrue();
+        assertThat(meterRegistry.get("mensagem.admissao.em-andamento.global").gauge().value()).isZero();
+    }
+
+    private boolean admitir(String metodo, String uri, MockHttpServletResponse resposta) throws Exception {
+        return interceptor.preHandle(requisicao(metodo, uri), resposta, handler());
+    }
+
+    private MockHttpServletRequest requisicao(String metodo, String uri) {
+        var requisicao = new MockHttpServletRequest(metodo, uri);
+        requisicao.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, uri);
+        return requisicao;
+    }
+
+    private HandlerMethod handler() throws NoSuchMethodException {
+        return new HandlerMethod(new ControllerFalso(), ControllerFalso.class.getMethod("atender"));
+    }
+
+    static class ControllerFalso {
+
+        public String atender() {
+            return "ok";
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.fiap.projeto.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.main.lazy-initialization=true")
+@AutoConfigureTestDatabase
+class InicializacaoTardiaIT {
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Test
+    void deveCriarNaHora_somenteBeansComMetodosAgendados() {
+        var beanFactory = context.getBeanFactory();
+
+        assertThat(beanFactory.containsSingleton("verificadorFeed")).isTrue();
+        assertThat(beanFactory.containsSingleton("mensagemController")).isFalse();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.fiap.projeto.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimiteAdaptativoTest {
+
+    private static final long UM_MS = 1_000_000;
+
+    @Test
+    void deveRecusar_limiteAtingido() {
+        var limite = new LimiteAdaptativo(2, 1, 10);
+
+        assertThat(limite.adquirir()).isTrue();
+        assertThat(limite.adquirir()).isTrue();
+        assertThat(limite.adquirir()).isFalse();
+
+        limite.desistir();
+        assertThat(limite.adquirir()).isTrue();
+    }
+
+    @Test
+    void deveRespeitarTetoAbaixoDoLimite() {
+        var limite = new LimiteAdaptativo(4, 1, 10);
+
+        assertThat(limite.adquirir(1)).isTrue();
+        assertThat(limite.adquirir(1)).isFalse();
+        assertThat(limite.adquirir()).isTrue();
+    }
+
+    @Test
+    void deveReduzirLimite_latenciaCrescente() {
+        var limite = new LimiteAdaptativo(20, 4, 200);
+        medir(limite, 50, UM_MS);
+
+        medir(limite, 50, 10 * UM_MS);
+
+        assertThat(limite.limite()).isLessThan(20).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void deveAumentarLimite_latenciaEstavelComCarga() {
+        var limite = new LimiteAdaptativo(20, 4, 200);
+        // metade do limite ocupada o tempo todo
+        for (int i = 0; i < 10; i++)
+            limite.adquirir();
+
+        medir(limite, 100, UM_MS);
+
+        assertThat(limite.limite()).isGreaterThan(20);
+    }
+
+    @Test
+    void naoDeveAumentarLimite_semCarga() {
+        var limite = new LimiteAdaptativo(20, 4, 200);
+
+        medir(limite, 100, UM_MS);
+
+        assertThat(limite.limite()).isEqualTo(20);
+    }
+
+    @Test
+    void deveGerarExcecao_limitesInvalidos() {
+        assertThatThrownBy(() -> new LimiteAdaptativo(2, 4, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("limites devem respeitar 1 <= mínimo <= inicial <= máximo");
+    }
+
+    private void medir(LimiteAdaptativo limite, int vezes, long latenciaNanos) {
+        for (int i = 0; i < vezes; i++) {
+            limite.adquirir();
+            limite.liberar(latenciaNanos);
+        }
+    }
+
+}
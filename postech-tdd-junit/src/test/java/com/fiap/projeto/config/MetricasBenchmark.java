@@ -0,0 +1,86 @@
+package com.fiap.projeto.config;
+
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.service.MensagemService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede o custo da instrumentação no caminho mais curto da API, o GET /mensagens/{id} respondido pelo cache,
+ * com todas as métricas ligadas e com elas desligadas. Os dois modos se alternam por algumas rodadas e vale
+ * o melhor tempo de cada um, que é o menos afetado por JIT, GC e pelo cliente na mesma JVM.
+ * Não faz parte da suíte padrão; execute com {@code mvn test -Dtest=MetricasBenchmark}.
+ */
+class MetricasBenchmark {
+
+    private static final int REQUISICOES = Integer.getInteger("benchmark.requisicoes", 20_000);
+    private static final int CHAMADAS = Integer.getInteger("benchmark.chamadas", 2_000_000);
+    private static final int RODADAS = Integer.getInteger("benchmark.rodadas", 3);
+    private static final UUID ID = UUID.fromString("d7f82637-2cdb-4893-9e18-13d3eba94f0e");
+
+    @Test
+    void compararComESemMetricas() throws Exception {
+        // [desligadas, ligadas] x [http, serviço]
+        var melhores = new double[][]{{Double.MAX_VALUE, Double.MAX_VALUE}, {Double.MAX_VALUE, Double.MAX_VALUE}};
+        for (int rodada = 0; rodada < RODADAS * 2; rodada++) {
+            var habilitadas = rodada % 2 == 1;
+            // como argumentos de linha de comando, para valer sobre o application.yaml
+            try (var aplicacao = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:metricas-" + habilitadas,
+                            "--mensagem.metricas.habilitadas=" + habilitadas,
+                            "--management.observations.enable.http.server.requests=" + habilitadas,
+                            "--management.prometheus.metrics.export.enabled=" + habilitadas,
+                            "--logging.level.root=warn")) {
+                var porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+                var mensagemService = aplicacao.getBean(MensagemService.class);
+                var cliente = HttpClient.newHttpClient();
+                var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/mensagens/" + ID)).build();
+
+                // aquecimento
+                medirHttp(cliente, requisicao, REQUISICOES);
+                medirServico(mensagemService, CHAMADAS);
+
+                var http = medirHttp(cliente, requisicao, REQUISICOES);
+                var servico = medirServico(mensagemService, CHAMADAS);
+                var timers = aplicacao.getBean(MeterRegistry.class).find("http.server.requests").timers().size();
+
+                assertThat(timers > 0).isEqualTo(habilitadas);
+                assertThat(aplicacao.getBeanNamesForType(TimedAspect.class).length > 0).isEqualTo(habilitadas);
+                var modo = melhores[habilitadas ? 1 : 0];
+                modo[0] = Math.min(modo[0], http);
+                modo[1] = Math.min(modo[1], servico);
+            }
+        }
+
+        System.out.printf("%n%-12s %22s %26s%n", "métricas", "GET /mensagens/{id} (µs)", "buscarMensagem em cache (ns)");
+        System.out.printf("%-12s %22.1f %26.1f%n", "desligadas", melhores[0][0], melhores[0][1]);
+        System.out.printf("%-12s %22.1f %26.1f%n", "ligadas", melhores[1][0], melhores[1][1]);
+    }
+
+    private double medirHttp(HttpClient cliente, HttpRequest requisicao, int quantidade) throws Exception {
+        var inicio = System.nanoTime();
+        for (int i = 0; i < quantidade; i++)
+            assertThat(cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+        return (System.nanoTime() - inicio) / 1_000.0 / quantidade;
+    }
+
+    private double medirServico(MensagemService mensagemService, int quantidade) {
+        var inicio = System.nanoTime();
+        for (int i = 0; i < quantidade; i++)
+            mensagemService.buscarMensagem(ID);
+        return (System.nanoTime() - inicio) / (double) quantidade;
+    }
+
+}
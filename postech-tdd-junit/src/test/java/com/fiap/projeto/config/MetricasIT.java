@@ -0,0 +1,43 @@
+package com.fiap.projeto.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@AutoConfigureObservability
+class MetricasIT {
+
+    private static final String ID = "d7f82637-2cdb-4893-9e18-13d3eba94f0e";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveExporHistogramasEComandosSqlNoFormatoPrometheus() throws Exception {
+        mockMvc.perform(get("/mensagens/{id}", ID)).andExpect(status().isOk());
+        mockMvc.perform(get("/mensagens/busca").param("q", " ")).andExpect(status().isBadRequest());
+
+        var metricas = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/mensagens/\\{id}\".*le=")
+                .containsPattern("http_server_requests_seconds_max\\{.*status=\"400\".*uri=\"/mensagens/busca\"")
+                .containsPattern("mensagem_servico_seconds_bucket\\{.*method=\"buscarMensagem\"")
+                .containsPattern("mensagem_servico_seconds_count\\{.*exception=\"IllegalArgumentException\".*method=\"buscarMensagens\"")
+                .containsPattern("mensagem_sql_comandos_sum\\{method=\"GET\",uri=\"/mensagens/\\{id}\",} 1.0");
+    }
+
+}
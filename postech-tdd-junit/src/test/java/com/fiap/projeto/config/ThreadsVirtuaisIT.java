@@ -0,0 +1,54 @@
+package com.fiap.projeto.config;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "spring.datasource.hikari.minimum-idle=4",
+        // o pool do Hikari de verdade, sem o banco embutido que o @AutoConfigureTestDatabase colocaria no lugar
+        "spring.datasource.url=jdbc:h2:mem:threads-virtuais"
+})
+class ThreadsVirtuaisIT {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Test
+    void deveUsarOPoolDoHikariDiretamente() {
+        assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+        assertThat(((HikariDataSource) dataSource).getMaximumPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    void deveAtenderMaisThreadsVirtuaisQueConexoes() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var tarefas = new ArrayList<Future<Mensagem>>();
+            for (int i = 0; i < 200; i++)
+                tarefas.add(executor.submit(() -> mensagemService.registrarMensagem(Mensagem.builder()
+                        .usuario("Gabriel").conteudo("teste").build())));
+
+            for (var tarefa : tarefas)
+                assertThat(mensagemService.buscarMensagem(tarefa.get().getId())).isNotNull();
+        }
+
+        // as threads que passaram do pool esperaram na fila do próprio Hikari e devolveram a conexão
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+}
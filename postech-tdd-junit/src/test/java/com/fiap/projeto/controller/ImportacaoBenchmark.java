@@ -0,0 +1,85 @@
+package com.fiap.projeto.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Envia milhões de linhas NDJSON geradas sob demanda para o POST /mensagens/import e imprime a vazão
+ * e o maior heap observado durante o envio.
+ * Não faz parte da suíte padrão; execute com
+ * {@code mvn test -Dtest=ImportacaoBenchmark -Dbenchmark.mensagens=2000000 -DargLine=-Xmx128m}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/importacao-benchmark;CACHE_SIZE=8192",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ImportacaoBenchmark {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("benchmark.mensagens", 1_000_000);
+
+    @LocalServerPort
+    private int porta;
+
+    @Test
+    void medirVazaoDeImportacao() throws Exception {
+        var heapMaximo = new AtomicLong();
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/mensagens/import"))
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofInputStream(() -> new CorpoGerado(heapMaximo)))
+                .build();
+
+        var inicio = System.nanoTime();
+        var resposta = HttpClient.newHttpClient().send(requisicao, HttpResponse.BodyHandlers.ofString());
+        var segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        System.out.printf("%n%s%n%d mensagens em %.1f s (%.0f mensagens/s), heap máximo %d MB%n",
+                resposta.body(), TOTAL_MENSAGENS, segundos, TOTAL_MENSAGENS / segundos,
+                heapMaximo.get() / (1024 * 1024));
+    }
+
+    /**
+     * Produz as linhas conforme o cliente HTTP as consome, para o próprio teste também não guardar o corpo.
+     */
+    private static class CorpoGerado extends InputStream {
+
+        private final AtomicLong heapMaximo;
+        private byte[] linha = new byte[0];
+        private int posicao;
+        private int geradas;
+
+        CorpoGerado(AtomicLong heapMaximo) {
+            this.heapMaximo = heapMaximo;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (posicao == linha.length) {
+                if (geradas == TOTAL_MENSAGENS)
+                    return -1;
+                if (++geradas % 100_000 == 0)
+                    heapMaximo.accumulateAndGet(
+                            ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), Math::max);
+                linha = ("{\"usuario\":\"usuario" + (geradas % 100) + "\",\"conteudo\":\"conteúdo " + geradas + "\"}\n")
+                        .getBytes(StandardCharsets.UTF_8);
+                posicao = 0;
+            }
+            return linha[posicao++] & 0xff;
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.fiap.projeto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mede a vazão de ingestão pelo POST /mensagens (uma mensagem por requisição) e pelo POST /mensagens/lote.
+ * Não faz parte da suíte padrão; execute com {@code mvn test -Dtest=IngestaoLoteBenchmark}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@DirtiesContext
+class IngestaoLoteBenchmark {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("benchmark.mensagens", 10_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void compararVazaoDeIngestao() throws Exception {
+        // aquecimento
+        registrarUmaAUma(1_000);
+        registrarEmLotes(1_000, 100);
+
+        System.out.printf("%n%-28s %12s %15s%n", "caminho", "requisições", "mensagens/s");
+        imprimir("POST /mensagens", TOTAL_MENSAGENS, registrarUmaAUma(TOTAL_MENSAGENS));
+        for (int tamanhoLote : new int[]{1, 100, 10_000}) {
+            var requisicoes = Math.max(1, TOTAL_MENSAGENS / tamanhoLote);
+            imprimir("POST /mensagens/lote (" + tamanhoLote + ")", requisicoes,
+                    registrarEmLotes(requisicoes * tamanhoLote, tamanhoLote));
+        }
+    }
+
+    private long registrarUmaAUma(int quantidade) throws Exception {
+        var corpo = objectMapper.writeValueAsString(geraMensagem());
+
+        var inicio = System.nanoTime();
+        for (int i = 0; i < quantidade; i++) {
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private long registrarEmLotes(int quantidade, int tamanhoLote) throws Exception {
+        var lote = new ArrayList<Mensagem>(tamanhoLote);
+        for (int i = 0; i < tamanhoLote; i++)
+            lote.add(geraMensagem());
+        var corpo = objectMapper.writeValueAsString(lote);
+
+        var inicio = System.nanoTime();
+        for (int i = 0; i < quantidade / tamanhoLote; i++) {
+            mockMvc.perform(post("/mensagens/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - inicio;
+    }
+
+    private void imprimir(String caminho, int requisicoes, long nanos) {
+        System.out.printf("%-28s %12d %15.0f%n", caminho, requisicoes,
+                TOTAL_MENSAGENS / (nanos / 1_000_000_000.0));
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.fiap.projeto.controller;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Executa o {@link ContratoApiMensagens} pelo Tomcat, com o mesmo contrato que o postech-tdd-junit-reativo
+ * cumpre pelo Netty.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+public class MensagemApiContratoIT extends ContratoApiMensagens {
+}
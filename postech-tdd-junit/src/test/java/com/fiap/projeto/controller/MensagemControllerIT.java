@@ -0,0 +1,145 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.reporitory.MensagemReporitory;
+import com.fiap.projeto.service.MensagemService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+public class MensagemControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private MensagemReporitory mensagemReporitory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setup() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void deveExecutarUmUnicoComando_removerMensagem() throws Exception {
+        var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+        estatisticas.clear();
+
+        mockMvc.perform(delete("/mensagens/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(content().string("mensagem removida"));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deveExecutarUmUnicoComando_removerMensagemInexistente() throws Exception {
+        mockMvc.perform(delete("/mensagens/{id}", UUID.randomUUID()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Mensagem não encontrada"));
+
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deveControlarVersaoPorEtag() throws Exception {
+        var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+
+        mockMvc.perform(get("/mensagens/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        estatisticas.clear();
+        mockMvc.perform(get("/mensagens/{id}", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(status().isNotModified());
+        // a mensagem ficou em cache no GET anterior
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+
+        var alteracao = """
+                {"id": "%s", "usuario": "Gabriel", "conteudo": "conteúdo alterado"}
+                """.formatted(id);
+        estatisticas.clear();
+        mockMvc.perform(put("/mensagens/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(alteracao))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+
+        mockMvc.perform(put("/mensagens/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(alteracao))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(post("/mensagens/{id}/gostei", id))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(get("/mensagens/{id}", id)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.conteudo").value("conteúdo alterado"))
+                .andExpect(jsonPath("$.gostei").value(1));
+    }
+
+    @Test
+    void deveImportarMensagensEmNdjson() throws Exception {
+        var corpo = """
+                {"usuario":"Gabriel","conteudo":"importada"}
+                {"usuario":"Isaque"}
+                {"usuario":"Matheus","conteudo":"importada"}
+                """;
+        var totalAntes = mensagemReporitory.count();
+
+        mockMvc.perform(post("/mensagens/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(corpo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aceitas").value(2))
+                .andExpect(jsonPath("$.rejeitadas").value(1))
+                .andExpect(jsonPath("$.erros[0]").value("linha 2: conteúdo preenchido de maneira incoreta"));
+
+        assertThat(mensagemReporitory.count()).isEqualTo(totalAntes + 2);
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
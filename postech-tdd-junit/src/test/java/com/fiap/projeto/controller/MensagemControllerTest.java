@@ -2,8 +2,13 @@ package com.fiap.projeto.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.CursorMensagem;
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import com.fiap.projeto.model.PaginaCursor;
 import com.fiap.projeto.service.MensagemService;
+import com.fiap.projeto.service.VersaoDivergenteException;
 import org.hamcrest.collection.IsEmptyCollection;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,23 +18,32 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -75,12 +89,64 @@ public class MensagemControllerTest {
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(
                             asJsonString(mensagem))
-                    ).andExpect(status().isCreated());
+                    ).andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.new").doesNotExist())
+                    .andExpect(jsonPath("$.nova").doesNotExist());
 
             verify(mensagemService, times(1))
                     .registrarMensagem(any(Mensagem.class));
         }
 
+        @Test
+        void deveGerarExcecao_registrarMensagemInvalida() throws Exception {
+            var mensagemErro = "conteúdo preenchido de maneira incoreta";
+
+            when(mensagemService.registrarMensagem(any(Mensagem.class)))
+                    .thenThrow(new IllegalArgumentException(mensagemErro));
+
+            mockMvc.perform(post("/mensagens")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(geraMensagem())))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(mensagemErro));
+        }
+
+    }
+
+    @Nested
+    class RegistrarMensagensEmLote {
+
+        @Test
+        void deveRegistrarMensagensEmLote() throws Exception {
+            var mensagens = List.of(geraMensagem(), geraMensagem());
+            var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+            when(mensagemService.registrarMensagens(anyList())).thenReturn(ids);
+
+            mockMvc.perform(post("/mensagens/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagens)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0]").value(ids.get(0).toString()));
+
+            verify(mensagemService, times(1)).registrarMensagens(anyList());
+        }
+
+        @Test
+        void deveGerarExcecao_registrarMensagensEmLoteInvalido() throws Exception {
+            var mensagemErro = "mensagem[0]: conteúdo preenchido de maneira incoreta";
+
+            when(mensagemService.registrarMensagens(anyList()))
+                    .thenThrow(new IllegalArgumentException(mensagemErro));
+
+            mockMvc.perform(post("/mensagens/lote")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(List.of(geraMensagem()))))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(mensagemErro));
+        }
+
     }
 
     @Nested
@@ -100,6 +166,54 @@ public class MensagemControllerTest {
             verify(mensagemService, times(1)).buscarMensagem(any(UUID.class));
         }
 
+        @Test
+        void deveRetornarEtag_buscarMensagem() throws Exception {
+            var mensagem = geraMensagem();
+            var id = UUID.randomUUID();
+            mensagem.setId(id);
+            mensagem.setVersao(2);
+
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+
+            verify(mensagemService, never()).buscarVersao(any(UUID.class));
+        }
+
+        @Test
+        void deveRetornarNaoModificado_buscarMensagemComEtagAtual() throws Exception {
+            var id = UUID.randomUUID();
+
+            when(mensagemService.buscarVersao(id)).thenReturn(Optional.of(2L));
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"1\", \"2\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                    .andExpect(content().string(""));
+
+            verify(mensagemService, never()).buscarMensagem(any(UUID.class));
+        }
+
+        @Test
+        void deveBuscarMensagem_etagDesatualizado() throws Exception {
+            var mensagem = geraMensagem();
+            var id = UUID.randomUUID();
+            mensagem.setId(id);
+            mensagem.setVersao(3);
+
+            when(mensagemService.buscarVersao(id)).thenReturn(Optional.of(3L));
+            when(mensagemService.buscarMensagem(id)).thenReturn(mensagem);
+
+            mockMvc.perform(get("/mensagens/{id}", id)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                    .andExpect(jsonPath("$.versao").value(3));
+        }
+
         @Test
         void deveGerarExeção_buscarMensagem_idNaoExiste() throws Exception {
             var id = UUID.randomUUID();
@@ -168,6 +282,128 @@ public class MensagemControllerTest {
             verify(mensagemService, times(1)).alterarMensagem(id, mensagem);
         }
 
+        @Test
+        void deveAlterarMensagem_ifMatch() throws Exception {
+            var id = UUID.randomUUID();
+            var mensagem = geraMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.alterarMensagem(id, mensagem, 3)).thenAnswer(i -> {
+                Mensagem alterada = i.getArgument(1);
+                alterada.setVersao(4);
+                return alterada;
+            });
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+
+            verify(mensagemService, never()).alterarMensagem(id, mensagem);
+        }
+
+        @Test
+        void deveGerarExcecao_alterarMensagem_ifMatchDesatualizado() throws Exception {
+            var id = UUID.randomUUID();
+            var mensagem = geraMensagem();
+            mensagem.setId(id);
+
+            when(mensagemService.alterarMensagem(id, mensagem, 3))
+                    .thenThrow(new VersaoDivergenteException("a mensagem não está mais na versão 3"));
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header(HttpHeaders.IF_MATCH, "\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionFailed())
+                    .andExpect(content().string("a mensagem não está mais na versão 3"));
+        }
+
+        @Test
+        void deveGerarExcecao_alterarMensagem_ifMatchDeOutraOrigem() throws Exception {
+            var id = UUID.randomUUID();
+            var mensagem = geraMensagem();
+            mensagem.setId(id);
+
+            mockMvc.perform(put("/mensagens/{id}", id)
+                            .header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(mensagem)))
+                    .andExpect(status().isPreconditionFailed());
+
+            verifyNoInteractions(mensagemService);
+        }
+
+    }
+
+    @Nested
+    class AlterarMensagemParcialmente {
+
+        @Test
+        void deveAlterarMensagemParcialmente() throws Exception {
+            var id = UUID.randomUUID();
+            var mensagem = geraMensagem();
+            mensagem.setId(id);
+            mensagem.setConteudo("conteúdo alterado");
+            var alteracao = new AlteracaoMensagem(null, "conteúdo alterado", null);
+
+            when(mensagemService.alterarMensagemParcialmente(id, alteracao)).thenReturn(mensagem);
+
+            mockMvc.perform(patch("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"conteudo\": \"conteúdo alterado\"}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.conteudo").value("conteúdo alterado"))
+                    .andExpect(jsonPath("$.usuario").value("Gabriel"));
+
+            verify(mensagemService, times(1)).alterarMensagemParcialmente(id, alteracao);
+        }
+
+        @Test
+        void deveGerarExcecao_alterarMensagemParcialmente_idNaoExiste() throws Exception {
+            var id = UUID.randomUUID();
+            var alteracao = new AlteracaoMensagem(null, "conteúdo alterado", null);
+
+            when(mensagemService.alterarMensagemParcialmente(id, alteracao))
+                    .thenThrow(new IllegalArgumentException("Mensagem não encontrada"));
+
+            mockMvc.perform(patch("/mensagens/{id}", id)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(asJsonString(alteracao)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("Mensagem não encontrada"));
+        }
+
+    }
+
+    @Nested
+    class RegistrarGostei {
+
+        @Test
+        void deveRegistrarGostei() throws Exception {
+            var id = UUID.randomUUID();
+
+            mockMvc.perform(post("/mensagens/{id}/gostei", id))
+                    .andExpect(status().isAccepted())
+                    .andExpect(content().string("gostei registrado"));
+
+            verify(mensagemService, times(1)).registrarGostei(id);
+        }
+
+        @Test
+        void deveGerarExcecao_registrarGostei_idNaoExiste() throws Exception {
+            var id = UUID.randomUUID();
+            var mensagemErro = "Mensagem não encontrada";
+
+            doThrow(new IllegalArgumentException(mensagemErro)).when(mensagemService).registrarGostei(id);
+
+            mockMvc.perform(post("/mensagens/{id}/gostei", id))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(mensagemErro));
+        }
+
     }
 
     @Nested
@@ -202,6 +438,34 @@ public class MensagemControllerTest {
 
     }
 
+    @Nested
+    class RemoverMensagensEmLote {
+
+        @Test
+        void deveRemoverMensagensEmLote() throws Exception {
+            var ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+            when(mensagemService.removerMensagens(ids)).thenReturn(2);
+
+            mockMvc.perform(delete("/mensagens")
+                            .param("ids", ids.get(0).toString(), ids.get(1).toString()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.removidas").value(2));
+
+            verify(mensagemService, times(1)).removerMensagens(ids);
+        }
+
+        @Test
+        void deveGerarExcecao_removerMensagensEmLote_idInvalido() throws Exception {
+            mockMvc.perform(delete("/mensagens")
+                            .param("ids", "id-invalido"))
+                    .andExpect(status().isBadRequest());
+
+            verify(mensagemService, never()).removerMensagens(anyList());
+        }
+
+    }
+
     @Nested
     class ListarMensagem {
 
@@ -227,6 +491,199 @@ public class MensagemControllerTest {
                     .andExpect(jsonPath("$.totalElements").value(1));
         }
 
+        @Test
+        void deveRetornarNaoModificado_listarMensagemComEtagAtual() throws Exception {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            var pageable = PageRequest.of(0, 10);
+            when(mensagemService.listarMensagens(pageable)).thenReturn(new PageImpl<>(List.of(mensagem), pageable, 1));
+
+            var etag = mockMvc.perform(get("/mensagens/listar"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/mensagens/listar")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            mensagem.setVersao(1);
+            mockMvc.perform(get("/mensagens/listar")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+        }
+
+        @Test
+        void deveListarMensagemPorPeriodo() throws Exception {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            var pageable = PageRequest.of(0, 10);
+            var desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+            var ate = LocalDateTime.of(2024, 2, 1, 0, 0);
+            when(mensagemService.listarMensagens(desde, ate, pageable))
+                    .thenReturn(new PageImpl<>(List.of(mensagem), pageable, 1));
+
+            mockMvc.perform(get("/mensagens/listar")
+                            .param("desde", "2024-01-01T00:00:00")
+                            .param("ate", "2024-02-01T00:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id").value(mensagem.getId().toString()));
+
+            verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+        }
+
+        @Test
+        void deveGerarExcecao_listarMensagemComPeriodoInvertido() throws Exception {
+            var desde = LocalDateTime.of(2024, 2, 1, 0, 0);
+            var ate = LocalDateTime.of(2024, 1, 1, 0, 0);
+            when(mensagemService.listarMensagens(desde, ate, PageRequest.of(0, 10)))
+                    .thenThrow(new IllegalArgumentException("desde deve ser anterior a ate"));
+
+            mockMvc.perform(get("/mensagens/listar")
+                            .param("desde", "2024-02-01T00:00:00")
+                            .param("ate", "2024-01-01T00:00:00"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("desde deve ser anterior a ate"));
+        }
+
+    }
+
+    @Nested
+    class ListarMensagensDoUsuario {
+
+        @Test
+        void deveListarMensagensDoUsuario() throws Exception {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            var pageable = PageRequest.of(0, 1);
+            var desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+            when(mensagemService.listarMensagensDoUsuario("Gabriel", desde, null, pageable))
+                    .thenReturn(new SliceImpl<>(List.of(mensagem), pageable, true));
+
+            mockMvc.perform(get("/mensagens/usuario/{usuario}", "Gabriel")
+                            .param("desde", "2024-01-01T00:00:00")
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                    .andExpect(jsonPath("$.conteudo[0].id").value(mensagem.getId().toString()))
+                    .andExpect(jsonPath("$.temProxima").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+        }
+
+        @Test
+        void deveGerarExcecao_listarMensagensDoUsuarioComDataInvalida() throws Exception {
+            mockMvc.perform(get("/mensagens/usuario/{usuario}", "Gabriel")
+                            .param("desde", "ontem"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(mensagemService);
+        }
+
+    }
+
+    @Nested
+    class ListarMensagemPorCursor {
+
+        @Test
+        void deveListarMensagemPorCursor() throws Exception {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            var proximoCursor = CursorMensagem.de(mensagem).codificar();
+
+            when(mensagemService.listarMensagens("", 1))
+                    .thenReturn(new PaginaCursor<>(List.of(mensagem), proximoCursor));
+
+            mockMvc.perform(get("/mensagens/listar")
+                            .param("cursor", "")
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                    .andExpect(jsonPath("$.proximoCursor").value(proximoCursor));
+
+            verify(mensagemService, times(1)).listarMensagens("", 1);
+            verify(mensagemService, never()).listarMensagens(any(Pageable.class));
+        }
+
+        @Test
+        void deveGerarExcecao_listarMensagemPorCursorInvalido() throws Exception {
+            when(mensagemService.listarMensagens("invalido", 10))
+                    .thenThrow(new IllegalArgumentException("cursor inválido"));
+
+            mockMvc.perform(get("/mensagens/listar")
+                            .param("cursor", "invalido"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("cursor inválido"));
+        }
+
+    }
+
+    @Nested
+    class ListarResumos {
+
+        @Test
+        void deveListarResumos() throws Exception {
+            var resumo = new MensagemResumo(UUID.randomUUID(), "Gabriel", "teste", LocalDateTime.now(), 2);
+            var pageable = PageRequest.of(0, 1);
+
+            when(mensagemService.listarResumos(pageable))
+                    .thenReturn(new SliceImpl<>(List.of(resumo), pageable, true));
+
+            mockMvc.perform(get("/mensagens/listar/resumo")
+                            .param("size", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.conteudo", hasSize(1)))
+                    .andExpect(jsonPath("$.conteudo[0].id").value(resumo.id().toString()))
+                    .andExpect(jsonPath("$.conteudo[0].gostei").value(2))
+                    .andExpect(jsonPath("$.pagina").value(0))
+                    .andExpect(jsonPath("$.tamanho").value(1))
+                    .andExpect(jsonPath("$.temProxima").value(true))
+                    .andExpect(jsonPath("$.totalElements").doesNotExist());
+        }
+
+        @Test
+        void deveGerarExcecao_listarResumosComPaginaNegativa() throws Exception {
+            mockMvc.perform(get("/mensagens/listar/resumo")
+                            .param("page", "-1"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(mensagemService);
+        }
+
+    }
+
+    @Nested
+    class BuscarMensagens {
+
+        @Test
+        void deveBuscarMensagens() throws Exception {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            var pageable = PageRequest.of(0, 10);
+
+            when(mensagemService.buscarMensagens("teste", pageable))
+                    .thenReturn(new PageImpl<>(List.of(mensagem), pageable, 1));
+
+            mockMvc.perform(get("/mensagens/busca")
+                            .param("q", "teste"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content", hasSize(1)))
+                    .andExpect(jsonPath("$.content[0].id").value(mensagem.getId().toString()))
+                    .andExpect(jsonPath("$.totalElements").value(1));
+        }
+
+        @Test
+        void deveGerarExcecao_buscarMensagensSemTermo() throws Exception {
+            when(mensagemService.buscarMensagens(" ", PageRequest.of(0, 10)))
+                    .thenThrow(new IllegalArgumentException("termo de busca vazio"));
+
+            mockMvc.perform(get("/mensagens/busca")
+                            .param("q", " "))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string("termo de busca vazio"));
+        }
+
     }
 
     private Mensagem geraMensagem() {
@@ -235,7 +692,7 @@ public class MensagemControllerTest {
     }
 
     public static String asJsonString(final Object object) throws JsonProcessingException {
-        return new ObjectMapper().writeValueAsString(object);
+        return new ObjectMapper().findAndRegisterModules().writeValueAsString(object);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.fiap.projeto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exporta um volume grande de mensagens pelo GET /mensagens/export e verifica que o heap não cresce com a tabela.
+ * O volume padrão é de 1 milhão de linhas; para reforçar a verificação execute com um heap pequeno,
+ * por exemplo {@code mvn test -Dtest=MensagemExportacaoIT -DargLine=-Xmx128m}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/exportacao-it;CACHE_SIZE=8192",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class MensagemExportacaoIT {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("exportacao.mensagens", 1_000_000);
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final long CRESCIMENTO_MAXIMO_HEAP = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setup() {
+        jdbcTemplate.update("DELETE FROM MENSAGEM");
+
+        var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var linhas = new ArrayList<Object[]>(TAMANHO_LOTE);
+        for (int i = 0; i < TOTAL_MENSAGENS; i++) {
+            linhas.add(new Object[]{UUID.randomUUID(), "usuario" + (i % 100), "conteúdo " + i,
+                    Timestamp.valueOf(inicio.plusSeconds(i)), 0});
+            if (linhas.size() == TAMANHO_LOTE || i == TOTAL_MENSAGENS - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) VALUES (?, ?, ?, ?, ?, 0)",
+                        linhas);
+                linhas.clear();
+            }
+        }
+    }
+
+    @Test
+    void deveExportarTodasAsMensagensComMemoriaConstante() throws Exception {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/mensagens/export"))
+                .GET().build();
+        var heapInicial = heapUsadoAposColeta();
+        var heapMaximo = heapInicial;
+
+        var resposta = HttpClient.newHttpClient().send(requisicao, HttpResponse.BodyHandlers.ofInputStream());
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue("Content-Type")).hasValueSatisfying(
+                tipo -> assertThat(tipo).startsWith("application/x-ndjson"));
+
+        var linhas = 0;
+        try (var leitor = new BufferedReader(new InputStreamReader(resposta.body(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linhas == 0)
+                    assertThat(objectMapper.readValue(linha, Mensagem.class).getId()).isNotNull();
+                if (++linhas % (TOTAL_MENSAGENS / 10) == 0)
+                    heapMaximo = Math.max(heapMaximo, heapUsadoAposColeta());
+            }
+        }
+
+        assertThat(linhas).isEqualTo(TOTAL_MENSAGENS);
+        assertThat(heapMaximo - heapInicial).isLessThan(CRESCIMENTO_MAXIMO_HEAP);
+    }
+
+    private long heapUsadoAposColeta() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
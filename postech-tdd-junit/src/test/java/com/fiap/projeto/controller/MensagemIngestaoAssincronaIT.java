@@ -0,0 +1,83 @@
+package com.fiap.projeto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "mensagem.ingestao.assincrona.habilitada=true",
+        "mensagem.ingestao.assincrona.janela=20"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class MensagemIngestaoAssincronaIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveAceitarEGravarEmSegundoPlano_preferRespondAsync() throws Exception {
+        var resposta = mockMvc.perform(post("/mensagens")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(geraMensagem())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andReturn().getResponse().getContentAsString();
+        var id = objectMapper.readValue(resposta, Mensagem.class).getId();
+
+        assertThat(aguardarGravacao(id)).isTrue();
+    }
+
+    @Test
+    void deveGravarNaRequisicao_semPreferRespondAsync() throws Exception {
+        mockMvc.perform(post("/mensagens")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(geraMensagem())))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void deveGerarExcecao_mensagemInvalida() throws Exception {
+        mockMvc.perform(post("/mensagens")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usuario\":\"Gabriel\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private boolean aguardarGravacao(UUID id) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (mensagemService.buscarVersao(id).isPresent())
+                return true;
+            Thread.sleep(20);
+        }
+        return false;
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.service.MensagemService;
+import com.fiap.projeto.service.MensagemServiceLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os mesmos cenários do {@link MensagemIngestaoAssincronaIT} com o armazenamento em log: o que a fila aceita
+ * precisa aparecer no log, e não na tabela.
+ */
+@SpringBootTest(properties = {
+        "mensagem.armazenamento.modo=log",
+        "mensagem.ingestao.assincrona.habilitada=true",
+        "mensagem.ingestao.assincrona.janela=20"
+})
+class MensagemIngestaoAssincronaLogIT extends MensagemIngestaoAssincronaIT {
+
+    @TempDir
+    static Path diretorio;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @DynamicPropertySource
+    static void diretorioDoLog(DynamicPropertyRegistry registry) {
+        registry.add("mensagem.armazenamento.log.diretorio", () -> diretorio.toString());
+    }
+
+    @Test
+    void deveUsarOArmazenamentoEmLog() {
+        assertThat(mensagemService).isInstanceOf(MensagemServiceLog.class);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.fiap.projeto.controller;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sem {@code @Transactional}: o stream só recebe as gravações confirmadas.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+class MensagemStreamIT {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    private static final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void deveTransmitirRegistroAlteracaoERemocao() throws Exception {
+        try (var stream = abrir(null)) {
+            var mensagem = mensagemService.registrarMensagem(Mensagem.builder()
+                    .usuario("Gabriel").conteudo("ao vivo").build());
+            var alterada = Mensagem.builder().id(mensagem.getId()).usuario("Gabriel").conteudo("editada").build();
+            mensagemService.alterarMensagem(mensagem.getId(), alterada);
+            mensagemService.removeMensagem(mensagem.getId());
+
+            var eventos = List.of(stream.proximo(), stream.proximo(), stream.proximo());
+
+            assertThat(eventos).extracting(evento -> evento.get("event"))
+                    .containsExactly("registrada", "alterada", "removida");
+            assertThat(eventos.get(0).get("data")).contains(mensagem.getId().toString(), "ao vivo");
+            assertThat(eventos.get(1).get("data")).contains("editada");
+            assertThat(eventos.get(2).get("data")).isEqualTo("{\"id\":\"" + mensagem.getId() + "\"}");
+        }
+    }
+
+    @Test
+    void deveRetomarPeloLastEventId() throws Exception {
+        String ultimoId;
+        try (var stream = abrir(null)) {
+            registrar("antes de cair");
+            ultimoId = stream.proximo().get("id");
+        }
+
+        var perdida = registrar("enquanto desconectado");
+
+        try (var stream = abrir(ultimoId)) {
+            var evento = stream.proximo();
+            assertThat(evento.get("event")).isEqualTo("registrada");
+            assertThat(evento.get("data")).contains(perdida.getId().toString());
+        }
+    }
+
+    @Test
+    void deveEnviarReinicio_lastEventIdDesconhecido() throws Exception {
+        try (var stream = abrir("de-outra-execucao-10")) {
+            assertThat(stream.proximo().get("event")).isEqualTo("reinicio");
+        }
+    }
+
+    private Mensagem registrar(String conteudo) {
+        return mensagemService.registrarMensagem(Mensagem.builder().usuario("Gabriel").conteudo(conteudo).build());
+    }
+
+    private Stream abrir(String ultimoId) throws IOException, InterruptedException {
+        var requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/mensagens/stream"))
+                .header("Accept", "text/event-stream")
+                .timeout(Duration.ofSeconds(10));
+        if (ultimoId != null)
+            requisicao.header("Last-Event-ID", ultimoId);
+
+        var resposta = httpClient.send(requisicao.GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue("Content-Type")).hasValueSatisfying(
+                tipo -> assertThat(tipo).startsWith("text/event-stream"));
+        return new Stream(new BufferedReader(new InputStreamReader(resposta.body(), StandardCharsets.UTF_8)));
+    }
+
+    private record Stream(BufferedReader leitor) implements AutoCloseable {
+
+        // campos do próximo evento, ignorando os comentários de sinal de vida e o retry sem dados
+        Map<String, String> proximo() throws IOException {
+            var campos = new LinkedHashMap<String, String>();
+            var linhas = new ArrayList<String>();
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isEmpty() && campos.containsKey("data"))
+                    return campos;
+                if (linha.isEmpty())
+                    campos.clear();
+                if (linha.isEmpty() || linha.startsWith(":"))
+                    continue;
+                linhas.add(linha);
+                var separador = linha.indexOf(':');
+                campos.put(linha.substring(0, separador), linha.substring(separador + 1));
+            }
+            throw new IOException("stream encerrado depois de " + linhas);
+        }
+
+        @Override
+        public void close() throws IOException {
+            leitor.close();
+        }
+
+    }
+
+}
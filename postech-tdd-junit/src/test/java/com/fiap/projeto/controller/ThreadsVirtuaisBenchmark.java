@@ -0,0 +1,145 @@
+package com.fiap.projeto.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.PostechTddJunitApplication;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação com threads de plataforma e depois com threads virtuais e compara vazão e p99 de
+ * POST /mensagens e GET /mensagens/{id} sob a mesma carga de clientes concorrentes (modelo fechado).
+ * Não faz parte da suíte padrão; execute com
+ * {@code mvn test -Dtest=ThreadsVirtuaisBenchmark -Dbenchmark.clientes=400 -Dbenchmark.segundos=10}.
+ */
+class ThreadsVirtuaisBenchmark {
+
+    private static final int CLIENTES = Integer.getInteger("benchmark.clientes", 400);
+    private static final int SEGUNDOS = Integer.getInteger("benchmark.segundos", 10);
+    private static final int MENSAGENS_PARA_LEITURA = 1_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void compararThreadsDePlataformaEVirtuais() throws Exception {
+        var resultados = new ArrayList<String>();
+        // os modos se alternam duas vezes e só a segunda rodada conta, para os dois encontrarem o JIT já aquecido
+        for (int rodada = 0; rodada < 4; rodada++) {
+            var virtuais = rodada % 2 == 1;
+            // como argumentos de linha de comando, para valer sobre o application.yaml
+            try (var aplicacao = new SpringApplicationBuilder(PostechTddJunitApplication.class)
+                    .run("--server.port=0",
+                            "--spring.threads.virtual.enabled=" + virtuais,
+                            "--spring.datasource.url=jdbc:h2:mem:carga-" + virtuais,
+                            // mede a capacidade bruta; com o controle de admissão o excedente viraria 503
+                            "--mensagem.admissao.habilitada=false",
+                            "--logging.level.root=warn")) {
+                assertThat(Threading.VIRTUAL.isActive(aplicacao.getEnvironment()))
+                        .isEqualTo(virtuais);
+                var porta = ((WebServerApplicationContext) aplicacao).getWebServer().getPort();
+                var modo = virtuais ? "virtuais" : "plataforma";
+                var base = "http://localhost:" + porta + "/mensagens";
+
+                var corpo = objectMapper.writeValueAsString(Mensagem.builder()
+                        .usuario("Gabriel").conteudo("teste de carga").build());
+                IntFunction<HttpRequest> registrar = i -> HttpRequest.newBuilder(URI.create(base))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(corpo)).build();
+
+                var ids = registrarParaLeitura(registrar);
+                IntFunction<HttpRequest> buscar = i -> HttpRequest.newBuilder(
+                        URI.create(base + "/" + ids.get(ThreadLocalRandom.current().nextInt(ids.size())))).build();
+
+                // aquecimento
+                executar(registrar, 3);
+                executar(buscar, 3);
+
+                var post = executar(registrar, SEGUNDOS);
+                var get = executar(buscar, SEGUNDOS);
+                if (rodada >= 2) {
+                    resultados.add(formatar(modo, "POST /mensagens", post));
+                    resultados.add(formatar(modo, "GET /mensagens/{id}", get));
+                }
+            }
+        }
+
+        System.out.printf("%n%d clientes, %d s por medição%n", CLIENTES, SEGUNDOS);
+        System.out.printf("%-12s %-22s %12s %10s %10s %8s%n", "threads", "endpoint", "req/s", "p50 (ms)", "p99 (ms)", "erros");
+        resultados.forEach(System.out::println);
+    }
+
+    private List<UUID> registrarParaLeitura(IntFunction<HttpRequest> registrar) throws Exception {
+        var cliente = HttpClient.newHttpClient();
+        var ids = new ArrayList<UUID>(MENSAGENS_PARA_LEITURA);
+        for (int i = 0; i < MENSAGENS_PARA_LEITURA; i++) {
+            var resposta = cliente.send(registrar.apply(i), HttpResponse.BodyHandlers.ofString());
+            ids.add(objectMapper.readValue(resposta.body(), Mensagem.class).getId());
+        }
+        return ids;
+    }
+
+    private Medicao executar(IntFunction<HttpRequest> requisicao, int segundos) throws Exception {
+        var cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        var fim = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        var latenciasPorCliente = new long[CLIENTES][];
+        var erros = new int[CLIENTES];
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                var indice = c;
+                executor.submit(() -> {
+                    var latencias = new long[1024];
+                    var total = 0;
+                    while (System.nanoTime() < fim) {
+                        var inicio = System.nanoTime();
+                        try {
+                            var resposta = cliente.send(requisicao.apply(total), HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() >= 400)
+                                erros[indice]++;
+                        } catch (Exception ex) {
+                            erros[indice]++;
+                        }
+                        if (total == latencias.length)
+                            latencias = Arrays.copyOf(latencias, total * 2);
+                        latencias[total++] = System.nanoTime() - inicio;
+                    }
+                    latenciasPorCliente[indice] = Arrays.copyOf(latencias, total);
+                    return null;
+                });
+            }
+        }
+
+        var todas = Arrays.stream(latenciasPorCliente).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Medicao(todas, Arrays.stream(erros).sum(), segundos);
+    }
+
+    private String formatar(String modo, String endpoint, Medicao medicao) {
+        var latencias = medicao.latencias();
+        return String.format("%-12s %-22s %12.0f %10.2f %10.2f %8d", modo, endpoint,
+                latencias.length / (double) medicao.segundos(),
+                latencias[latencias.length / 2] / 1e6,
+                latencias[(int) (latencias.length * 0.99)] / 1e6,
+                medicao.erros());
+    }
+
+    private record Medicao(long[] latencias, int erros, int segundos) {
+    }
+
+}
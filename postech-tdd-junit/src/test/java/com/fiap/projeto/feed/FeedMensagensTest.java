@@ -0,0 +1,146 @@
+package com.fiap.projeto.feed;
+
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FeedMensagensTest {
+
+    private static final LocalDateTime DATA = LocalDateTime.of(2024, 3, 6, 10, 0);
+
+    private FeedMensagens feedMensagens;
+
+    @BeforeEach
+    void setup() {
+        feedMensagens = new FeedMensagens(4);
+    }
+
+    @Test
+    void deveListarDaMaisRecenteParaAMaisAntiga() {
+        var antiga = aplicar(geraMensagem(DATA));
+        var recente = aplicar(geraMensagem(DATA.plusMinutes(1)));
+        var intermediaria = aplicar(geraMensagem(DATA.plusSeconds(30)));
+
+        var pagina = feedMensagens.listar(PageRequest.of(0, 2));
+
+        assertThat(pagina.getContent()).extracting(Mensagem::getId).containsExactly(recente, intermediaria);
+        assertThat(pagina.getTotalElements()).isEqualTo(3);
+        assertThat(feedMensagens.listar(PageRequest.of(1, 2)).getContent())
+                .extracting(Mensagem::getId).containsExactly(antiga);
+    }
+
+    @Test
+    void deveAtenderSomenteAsPaginasDentroDaProfundidade() {
+        assertThat(feedMensagens.atende(PageRequest.of(1, 2))).isTrue();
+        assertThat(feedMensagens.atende(PageRequest.of(2, 2))).isFalse();
+        assertThat(feedMensagens.atende(PageRequest.of(0, 5))).isFalse();
+        assertThat(feedMensagens.atende(Pageable.unpaged())).isFalse();
+    }
+
+    @Test
+    void deveContinuarAposOCursor() {
+        var primeira = geraMensagem(DATA.plusMinutes(2));
+        aplicar(primeira);
+        var segunda = aplicar(geraMensagem(DATA.plusMinutes(1)));
+        var terceira = aplicar(geraMensagem(DATA));
+
+        var mensagens = feedMensagens.listarApos(CursorMensagem.de(primeira), 10);
+
+        assertThat(mensagens).extracting(Mensagem::getId).containsExactly(segunda, terceira);
+    }
+
+    @Test
+    void deveReposicionarMensagem_alteracaoDaData() {
+        var mensagem = geraMensagem(DATA);
+        aplicar(mensagem);
+        var outra = aplicar(geraMensagem(DATA.plusMinutes(1)));
+
+        var alterada = copia(mensagem);
+        alterada.setDataCriacao(DATA.plusMinutes(2));
+        alterada.setVersao(1);
+        feedMensagens.aplicar(alterada);
+
+        assertThat(feedMensagens.listarApos(null, 10))
+                .extracting(Mensagem::getId).containsExactly(mensagem.getId(), outra);
+        assertThat(feedMensagens.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    void deveIgnorarVersaoAnterior() {
+        var mensagem = geraMensagem(DATA);
+        mensagem.setVersao(2);
+        mensagem.setConteudo("mais nova");
+        aplicar(mensagem);
+
+        var atrasada = copia(mensagem);
+        atrasada.setVersao(1);
+        atrasada.setConteudo("mais antiga");
+        feedMensagens.aplicar(atrasada);
+
+        assertThat(feedMensagens.buscar(mensagem.getId()).getConteudo()).isEqualTo("mais nova");
+    }
+
+    @Test
+    void deveSomarGosteiEIncrementarVersao() {
+        var id = aplicar(geraMensagem(DATA));
+
+        feedMensagens.registrarGostei(id, 3);
+
+        assertThat(feedMensagens.buscar(id).getGostei()).isEqualTo(3);
+        assertThat(feedMensagens.buscar(id).getVersao()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRetirarMensagemRemovida() {
+        var removida = aplicar(geraMensagem(DATA));
+        var mantida = aplicar(geraMensagem(DATA.plusMinutes(1)));
+
+        feedMensagens.remover(removida);
+
+        assertThat(feedMensagens.listarApos(null, 10)).extracting(Mensagem::getId).containsExactly(mantida);
+        assertThat(feedMensagens.buscar(removida)).isNull();
+        assertThat(feedMensagens.ids()).containsExactly(mantida);
+    }
+
+    @Test
+    void naoDeveSerAfetado_alteracaoDaEntidadeAplicada() {
+        var mensagem = geraMensagem(DATA);
+        aplicar(mensagem);
+
+        mensagem.setConteudo("alterada fora do feed");
+
+        assertThat(feedMensagens.buscar(mensagem.getId()).getConteudo()).isEqualTo("conteúdo");
+    }
+
+    private UUID aplicar(Mensagem mensagem) {
+        feedMensagens.aplicar(mensagem);
+        return mensagem.getId();
+    }
+
+    private Mensagem copia(Mensagem mensagem) {
+        return Mensagem.builder()
+                .id(mensagem.getId())
+                .usuario(mensagem.getUsuario()).conteudo(mensagem.getConteudo())
+                .dataCriacao(mensagem.getDataCriacao())
+                .gostei(mensagem.getGostei())
+                .versao(mensagem.getVersao())
+                .build();
+    }
+
+    private Mensagem geraMensagem(LocalDateTime dataCriacao) {
+        return Mensagem.builder()
+                .id(UUID.randomUUID())
+                .usuario("Gabriel").conteudo("conteúdo")
+                .dataCriacao(dataCriacao)
+                .build();
+    }
+
+}
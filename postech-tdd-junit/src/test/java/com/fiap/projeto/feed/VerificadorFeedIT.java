@@ -0,0 +1,92 @@
+package com.fiap.projeto.feed;
+
+import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.service.MensagemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sem {@code @Transactional}: o feed só recebe as gravações confirmadas. As divergências são provocadas com SQL direto
+ * na tabela, que não passa pelos eventos.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext
+class VerificadorFeedIT {
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private FeedMensagens feedMensagens;
+
+    @Autowired
+    private VerificadorFeed verificadorFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setup() {
+        // parte de um feed igual à tabela, qualquer que seja o que outras classes de teste deixaram nela
+        verificadorFeed.verificar();
+    }
+
+    @Test
+    void deveRefletirGravacoesPeloServico() {
+        var mensagem = mensagemService.registrarMensagem(Mensagem.builder()
+                .usuario("Gabriel").conteudo("publicada agora").build());
+        mensagemService.registrarGostei(mensagem.getId());
+
+        assertThat(mensagemService.listarMensagens("", 1).conteudo())
+                .singleElement()
+                .satisfies(primeira -> {
+                    assertThat(primeira.getId()).isEqualTo(mensagem.getId());
+                    assertThat(primeira.getGostei()).isEqualTo(1);
+                });
+
+        mensagemService.removeMensagem(mensagem.getId());
+        assertThat(feedMensagens.buscar(mensagem.getId())).isNull();
+        assertThat(verificadorFeed.verificar().divergencias()).isZero();
+    }
+
+    @Test
+    void deveCorrigirFeed_divergenteDaTabela() {
+        var alterada = registrar("será alterada fora do serviço");
+        var removida = registrar("será removida fora do serviço");
+        var inserida = UUID.randomUUID();
+
+        jdbcTemplate.update("UPDATE MENSAGEM SET CONTEUDO = 'alterada por SQL', VERSAO = VERSAO + 1 WHERE ID = ?",
+                alterada);
+        jdbcTemplate.update("DELETE FROM MENSAGEM WHERE ID = ?", removida);
+        jdbcTemplate.update("INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) "
+                + "VALUES (?, 'Isaque', 'inserida por SQL', ?, 0, 0)", inserida, Timestamp.valueOf(LocalDateTime.now()));
+
+        var verificacao = verificadorFeed.verificar();
+
+        assertThat(verificacao.ausentes()).isEqualTo(1);
+        assertThat(verificacao.sobrando()).isEqualTo(1);
+        assertThat(verificacao.desatualizadas()).isEqualTo(1);
+        assertThat(feedMensagens.buscar(alterada).getConteudo()).isEqualTo("alterada por SQL");
+        assertThat(feedMensagens.buscar(removida)).isNull();
+        assertThat(feedMensagens.buscar(inserida).getConteudo()).isEqualTo("inserida por SQL");
+        assertThat(verificadorFeed.verificar().divergencias()).isZero();
+    }
+
+    private UUID registrar(String conteudo) {
+        return mensagemService.registrarMensagem(Mensagem.builder()
+                .usuario("Gabriel").conteudo(conteudo).build()).getId();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.fiap.projeto.id;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Compara a vazão de inserção na tabela MENSAGEM com ids UUID v4 (aleatórios) e v7 (ordenados pelo tempo).
+ * Não faz parte da suíte padrão; execute com {@code mvn test -Dtest=GeradorIdBenchmark -DargLine=-Xmx3g}.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@DirtiesContext
+class GeradorIdBenchmark {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("benchmark.mensagens", 1_000_000);
+    private static final int TAMANHO_LOTE = 1_000;
+    private static final int FAIXAS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compararVazaoDeInsercao() {
+        // aquecimento
+        inserir(new GeradorUuidV4(), 100_000);
+        inserir(new GeradorUuidV7(), 100_000);
+
+        System.out.printf("%n%-8s", "gerador");
+        for (int faixa = 1; faixa <= FAIXAS; faixa++)
+            System.out.printf(" %14s", "até " + TOTAL_MENSAGENS / FAIXAS * faixa);
+        System.out.printf(" %14s%n", "total (linhas/s)");
+
+        imprimir("v4", inserir(new GeradorUuidV4(), TOTAL_MENSAGENS));
+        imprimir("v7", inserir(new GeradorUuidV7(), TOTAL_MENSAGENS));
+    }
+
+    private long[] inserir(GeradorId geradorId, int quantidade) {
+        jdbcTemplate.execute("TRUNCATE TABLE MENSAGEM");
+        var dataCriacao = Timestamp.valueOf(LocalDateTime.now());
+        var porFaixa = quantidade / FAIXAS;
+        var tempos = new long[FAIXAS];
+
+        var lote = new ArrayList<Object[]>(TAMANHO_LOTE);
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            var inicio = System.nanoTime();
+            for (int i = 0; i < porFaixa; i++) {
+                lote.add(new Object[]{geradorId.gerar(), "Gabriel", "teste", dataCriacao, 0});
+                if (lote.size() == TAMANHO_LOTE) {
+                    jdbcTemplate.batchUpdate(
+                            "INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) VALUES (?, ?, ?, ?, ?, 0)",
+                            lote);
+                    lote.clear();
+                }
+            }
+            tempos[faixa] = System.nanoTime() - inicio;
+        }
+        return tempos;
+    }
+
+    private void imprimir(String gerador, long[] tempos) {
+        var porFaixa = TOTAL_MENSAGENS / FAIXAS;
+        var total = 0L;
+        System.out.printf("%-8s", gerador);
+        for (var tempo : tempos) {
+            System.out.printf(" %14.0f", porFaixa / (tempo / 1_000_000_000.0));
+            total += tempo;
+        }
+        System.out.printf(" %14.0f%n", TOTAL_MENSAGENS / (total / 1_000_000_000.0));
+    }
+
+}
@@ -1,12 +1,17 @@
 package com.fiap.projeto.reporitory;
 
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +24,9 @@ public class MensagemRepositoryIT {
     @Autowired
     private MensagemReporitory mensagemReporitory;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void devePermitirCriarTabela() {
         long totalRegistros = mensagemReporitory.count();
@@ -68,6 +76,94 @@ public class MensagemRepositoryIT {
         assertThat(mensagemRecebida).isEmpty();
     }
 
+    @Test
+    void deveListarResumosSemCarregarEntidades() {
+        var mensagem = geraMensagem();
+        mensagem.setId(UUID.randomUUID());
+        mensagem.setConteudo("x".repeat(MensagemResumo.TAMANHO_CONTEUDO + 50));
+        mensagem.setDataCriacao(LocalDateTime.now().plusDays(1));
+        registrarMensagem(mensagem);
+        entityManager.flush();
+        entityManager.clear();
+
+        var resumos = mensagemReporitory.listarResumos(MensagemResumo.TAMANHO_CONTEUDO, PageRequest.of(0, 1));
+
+        assertThat(resumos.getContent()).hasSize(1);
+        assertThat(resumos.hasNext()).isTrue();
+        var resumo = resumos.getContent().get(0);
+        assertThat(resumo.id()).isEqualTo(mensagem.getId());
+        assertThat(resumo.conteudo()).hasSize(MensagemResumo.TAMANHO_CONTEUDO);
+        assertThat(entityManager.unwrap(SessionImplementor.class)
+                .getPersistenceContext().getNumberOfManagedEntities()).isZero();
+    }
+
+    @Test
+    void deveListarMensagensDoUsuarioNoPeriodo() {
+        var inicio = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < 5; i++) {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            mensagem.setUsuario("UsuarioPeriodo");
+            mensagem.setDataCriacao(inicio.plusHours(i));
+            registrarMensagem(mensagem);
+        }
+        entityManager.flush();
+
+        var fatia = mensagemReporitory.listarDoUsuario("UsuarioPeriodo",
+                inicio.plusHours(1), inicio.plusHours(4), PageRequest.of(0, 2));
+
+        assertThat(fatia.getContent()).extracting(Mensagem::getDataCriacao)
+                .containsExactly(inicio.plusHours(3), inicio.plusHours(2));
+        assertThat(fatia.hasNext()).isTrue();
+
+        var ultima = mensagemReporitory.listarDoUsuario("UsuarioPeriodo",
+                inicio.plusHours(1), inicio.plusHours(4), PageRequest.of(1, 2));
+        assertThat(ultima.getContent()).extracting(Mensagem::getDataCriacao)
+                .containsExactly(inicio.plusHours(1));
+        assertThat(ultima.hasNext()).isFalse();
+    }
+
+    @Test
+    void deveListarMensagensPorPeriodo() {
+        var inicio = LocalDateTime.of(2030, 1, 1, 0, 0);
+        for (int i = 0; i < 3; i++) {
+            var mensagem = geraMensagem();
+            mensagem.setId(UUID.randomUUID());
+            mensagem.setUsuario("usuario" + i);
+            mensagem.setDataCriacao(inicio.plusHours(i));
+            registrarMensagem(mensagem);
+        }
+        entityManager.flush();
+
+        var pagina = mensagemReporitory.listarPorPeriodo(inicio, null, PageRequest.of(0, 2));
+
+        assertThat(pagina.getContent()).extracting(Mensagem::getUsuario)
+                .containsExactly("usuario2", "usuario1");
+        assertThat(pagina.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void deveUsarIndicesNasListagensPorUsuarioEPeriodo() {
+        // o mesmo SQL gerado pelo Hibernate para listarDoUsuario e listarPorPeriodo, com o ORDER BY de cada um
+        var planoUsuario = explicar("""
+                SELECT * FROM MENSAGEM WHERE USUARIO = 'Gabriel'
+                AND DATA_CRIACAO >= TIMESTAMP '2024-01-01 00:00:00' AND DATA_CRIACAO < TIMESTAMP '2024-02-01 00:00:00'
+                ORDER BY USUARIO, DATA_CRIACAO DESC, ID DESC OFFSET 0 ROWS FETCH FIRST 11 ROWS ONLY""");
+        var planoPeriodo = explicar("""
+                SELECT * FROM MENSAGEM
+                WHERE DATA_CRIACAO >= TIMESTAMP '2024-01-01 00:00:00' AND DATA_CRIACAO < TIMESTAMP '2024-02-01 00:00:00'
+                ORDER BY DATA_CRIACAO DESC, ID DESC OFFSET 0 ROWS FETCH FIRST 10 ROWS ONLY""");
+
+        assertThat(planoUsuario).containsIgnoringCase("IDX_MENSAGEM_USUARIO_DATA_CRIACAO_ID")
+                .containsIgnoringCase("index sorted");
+        assertThat(planoPeriodo).containsIgnoringCase("IDX_MENSAGEM_DATA_CRIACAO_ID")
+                .containsIgnoringCase("index sorted");
+    }
+
+    private String explicar(String sql) {
+        return (String) entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult();
+    }
+
     private Mensagem geraMensagem() {
         return Mensagem.builder()
                 .usuario("NomeTeste").conteudo("teste").build();
@@ -0,0 +1,112 @@
+package com.fiap.projeto.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ContadorGosteiAcumuladoTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContadorGosteiAcumulado contadorGostei;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        contadorGostei = new ContadorGosteiAcumulado(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new NoOpCacheManager(), evento -> {});
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGravarSomenteODeltaAcumulado() {
+        var id = UUID.randomUUID();
+        for (int i = 0; i < 5; i++)
+            contadorGostei.registrar(id);
+
+        contadorGostei.descarregar();
+
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), deltas.capture());
+        assertThat(deltas.getValue()).singleElement()
+                .satisfies(delta -> assertThat(delta).containsExactly(5L, id));
+    }
+
+    @Test
+    void naoDeveGravar_semGosteiPendente() {
+        contadorGostei.registrar(UUID.randomUUID());
+        contadorGostei.descarregar();
+        reset(jdbcTemplate);
+
+        contadorGostei.descarregar();
+        contadorGostei.descarregar();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveManterDelta_falhaAoGravar() {
+        var id = UUID.randomUUID();
+        contadorGostei.registrar(id);
+        contadorGostei.registrar(id);
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(new int[]{1});
+
+        contadorGostei.descarregar();
+        contadorGostei.descarregar();
+
+        ArgumentCaptor<List<Object[]>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), deltas.capture());
+        assertThat(deltas.getAllValues().get(1)).singleElement()
+                .satisfies(delta -> assertThat(delta).containsExactly(2L, id));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void naoDeveRegravarDelta_falhaAoPublicarEvento() {
+        contadorGostei = new ContadorGosteiAcumulado(jdbcTemplate, new TransactionTemplate(transactionManager),
+                new NoOpCacheManager(), evento -> {
+                    throw new IllegalStateException("listener com falha");
+                });
+        contadorGostei.registrar(UUID.randomUUID());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1});
+
+        contadorGostei.descarregar();
+        contadorGostei.descarregar();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.id.GeradorUuidV7;
+import com.fiap.projeto.model.Mensagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class FilaIngestaoTest {
+
+    @Mock
+    private MensagemService mensagemService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FilaIngestao filaIngestao;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        filaIngestao.stop();
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGravarTudoEmGrupos_aoParar() {
+        iniciar(100, 2, 60_000);
+
+        for (int i = 0; i < 5; i++)
+            assertThat(filaIngestao.enfileirar(geraMensagem()).getId()).isNotNull();
+        filaIngestao.stop();
+
+        ArgumentCaptor<List<Mensagem>> grupos = ArgumentCaptor.forClass(List.class);
+        verify(mensagemService, atLeast(3)).gravarMensagensAceitas(grupos.capture());
+        assertThat(grupos.getAllValues()).allSatisfy(grupo -> assertThat(grupo).hasSizeLessThanOrEqualTo(2));
+        assertThat(grupos.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(5);
+        assertThat(filaIngestao.tamanho()).isZero();
+        assertThat(meterRegistry.get("mensagem.ingestao.lote").summary().totalAmount()).isEqualTo(5);
+    }
+
+    @Test
+    void deveGravarAoFimDaJanela() {
+        iniciar(100, 500, 20);
+
+        var mensagem = filaIngestao.enfileirar(geraMensagem());
+
+        verify(mensagemService, timeout(2_000)).gravarMensagensAceitas(List.of(mensagem));
+    }
+
+    @Test
+    void deveGerarExcecao_filaCheia() {
+        iniciar(2, 500, 60_000);
+        filaIngestao.enfileirar(geraMensagem());
+        filaIngestao.enfileirar(geraMensagem());
+
+        assertThatThrownBy(() -> filaIngestao.enfileirar(geraMensagem()))
+                .isInstanceOf(FilaCheiaException.class)
+                .hasMessage("fila de ingestão cheia");
+        assertThat(meterRegistry.get("mensagem.ingestao.rejeitadas").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("mensagem.ingestao.fila").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void deveGerarExcecao_filaParada() {
+        iniciar(100, 500, 60_000);
+        filaIngestao.stop();
+
+        assertThatThrownBy(() -> filaIngestao.enfileirar(geraMensagem()))
+                .isInstanceOf(FilaCheiaException.class)
+                .hasMessage("fila de ingestão parada");
+        assertThat(filaIngestao.tamanho()).isZero();
+        assertThat(meterRegistry.get("mensagem.ingestao.rejeitadas").counter().count()).isEqualTo(1);
+        verifyNoInteractions(mensagemService);
+    }
+
+    @Test
+    void deveGerarExcecao_mensagemInvalida() {
+        iniciar(100, 500, 60_000);
+
+        assertThatThrownBy(() -> filaIngestao.enfileirar(Mensagem.builder().usuario("Gabriel").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("conteúdo preenchido de maneira incoreta");
+        assertThat(filaIngestao.tamanho()).isZero();
+    }
+
+    @Test
+    void deveTentarNovamente_falhaAoGravar() {
+        iniciar(100, 500, 10);
+        doThrow(new IllegalStateException("banco indisponível"))
+                .doNothing()
+                .when(mensagemService).gravarMensagensAceitas(anyList());
+
+        filaIngestao.enfileirar(geraMensagem());
+        filaIngestao.stop();
+
+        verify(mensagemService, times(2)).gravarMensagensAceitas(anyList());
+        assertThat(meterRegistry.get("mensagem.ingestao.lote").summary().totalAmount()).isEqualTo(1);
+    }
+
+    private void iniciar(int capacidade, int tamanhoGrupo, long janelaMillis) {
+        filaIngestao = new FilaIngestao(mensagemService,
+                Validation.buildDefaultValidatorFactory().getValidator(), new GeradorUuidV7(), meterRegistry,
+                capacidade, tamanhoGrupo, janelaMillis);
+        filaIngestao.start();
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GosteiConcorrenciaIT {
+
+    private static final int THREADS = 200;
+    private static final int GOSTEI_POR_THREAD = 25;
+
+    @Nested
+    @SpringBootTest(properties = "mensagem.gostei.modo=direto")
+    @AutoConfigureTestDatabase
+    class ModoDireto {
+
+        @Autowired
+        private MensagemService mensagemService;
+
+        @Test
+        void devePermitirRegistrarGostei_variasThreads() throws Exception {
+            var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+
+            registrarGosteiConcorrente(mensagemService, id);
+
+            assertThat(mensagemService.buscarMensagem(id).getGostei()).isEqualTo(THREADS * GOSTEI_POR_THREAD);
+        }
+
+    }
+
+    @Nested
+    @SpringBootTest(properties = "mensagem.gostei.modo=acumulado")
+    @AutoConfigureTestDatabase
+    class ModoAcumulado {
+
+        @Autowired
+        private MensagemService mensagemService;
+
+        @Autowired
+        private ContadorGosteiAcumulado contadorGostei;
+
+        @Test
+        void devePermitirRegistrarGostei_variasThreads() throws Exception {
+            var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+
+            registrarGosteiConcorrente(mensagemService, id);
+            contadorGostei.descarregar();
+
+            assertThat(mensagemService.buscarMensagem(id).getGostei()).isEqualTo(THREADS * GOSTEI_POR_THREAD);
+        }
+
+    }
+
+    private static void registrarGosteiConcorrente(MensagemService mensagemService, UUID id) throws Exception {
+        var largada = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            var tarefas = new ArrayList<Future<?>>();
+            for (int t = 0; t < THREADS; t++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    for (int i = 0; i < GOSTEI_POR_THREAD; i++)
+                        mensagemService.registrarGostei(id);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (var tarefa : tarefas)
+                tarefa.get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
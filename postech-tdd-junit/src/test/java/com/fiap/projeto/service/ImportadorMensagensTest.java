@@ -0,0 +1,97 @@
+package com.fiap.projeto.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.model.Mensagem;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ImportadorMensagensTest {
+
+    @Mock
+    private MensagemService mensagemService;
+
+    private ImportadorMensagens importadorMensagens;
+
+    AutoCloseable mock;
+
+    @BeforeEach
+    void setup() {
+        mock = MockitoAnnotations.openMocks(this);
+        importadorMensagens = new ImportadorMensagens(mensagemService, new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2, 1);
+
+        when(mensagemService.registrarMensagens(anyList())).thenAnswer(i -> ((List<?>) i.getArgument(0)).stream()
+                .map(mensagem -> UUID.randomUUID())
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mock.close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveGravarEmBlocos() throws Exception {
+        var corpo = IntStream.range(0, 5)
+                .mapToObj(i -> "{\"usuario\":\"Gabriel\",\"conteudo\":\"teste " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        var resumo = importadorMensagens.importar(ndjson(corpo));
+
+        ArgumentCaptor<List<Mensagem>> lotes = ArgumentCaptor.forClass(List.class);
+        verify(mensagemService, times(3)).registrarMensagens(lotes.capture());
+        assertThat(lotes.getAllValues()).extracting(List::size).containsExactly(2, 2, 1);
+        assertThat(resumo.aceitas()).isEqualTo(5);
+        assertThat(resumo.rejeitadas()).isZero();
+        assertThat(resumo.erros()).isEmpty();
+    }
+
+    @Test
+    void deveRejeitarLinhasInvalidas_semInterromperImportacao() throws Exception {
+        var corpo = """
+                {"usuario":"Gabriel","conteudo":"teste"}
+                {"usuario":"","conteudo":"teste"}
+
+                não é json
+                {"usuario":"Isaque","conteudo":"teste"}
+                """;
+
+        var resumo = importadorMensagens.importar(ndjson(corpo));
+
+        verify(mensagemService, times(1)).registrarMensagens(anyList());
+        assertThat(resumo.aceitas()).isEqualTo(2);
+        assertThat(resumo.rejeitadas()).isEqualTo(2);
+        assertThat(resumo.erros()).containsExactly("linha 2: usuario preenchido de maneira incoreta");
+    }
+
+    @Test
+    void naoDeveGravar_corpoVazio() throws Exception {
+        var resumo = importadorMensagens.importar(ndjson(""));
+
+        verify(mensagemService, never()).registrarMensagens(anyList());
+        assertThat(resumo.aceitas()).isZero();
+        assertThat(resumo.rejeitadas()).isZero();
+    }
+
+    private ByteArrayInputStream ndjson(String corpo) {
+        return new ByteArrayInputStream(corpo.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.model.CursorMensagem;
+import com.fiap.projeto.model.Mensagem;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a latência da listagem por OFFSET com a listagem por cursor conforme a profundidade da página.
+ * Não faz parte da suíte padrão; execute com {@code mvn test -Dtest=ListagemBenchmark}.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class ListagemBenchmark {
+
+    private static final int TOTAL_MENSAGENS = Integer.getInteger("benchmark.mensagens", 200_000);
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int REPETICOES = 200;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        var inicio = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var linhas = new ArrayList<Object[]>(TOTAL_MENSAGENS);
+        for (int i = 0; i < TOTAL_MENSAGENS; i++) {
+            linhas.add(new Object[]{UUID.randomUUID(), "usuario" + (i % 100), "conteúdo " + i,
+                    Timestamp.valueOf(inicio.plusSeconds(i)), 0});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO MENSAGEM (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO) VALUES (?, ?, ?, ?, ?, 0)",
+                linhas);
+    }
+
+    @Test
+    void compararLatenciaPorProfundidade() {
+        var totalPaginas = TOTAL_MENSAGENS / TAMANHO_PAGINA;
+
+        var ordenacao = Sort.by(Sort.Order.desc("dataCriacao"), Sort.Order.desc("id"));
+
+        System.out.printf("%n%10s %15s %20s %15s%n", "pagina", "offset (ms)", "offset ordenado (ms)", "cursor (ms)");
+        for (int pagina : new int[]{0, 10, 100, 1_000, totalPaginas / 2, totalPaginas - 1}) {
+            var cursor = cursorAntesDaPagina(pagina);
+
+            var offset = medir(() -> mensagemService
+                    .listarMensagens(PageRequest.of(pagina, TAMANHO_PAGINA)).getContent());
+            var offsetOrdenado = medir(() -> mensagemService
+                    .listarMensagens(PageRequest.of(pagina, TAMANHO_PAGINA, ordenacao)).getContent());
+            var seek = medir(() -> mensagemService
+                    .listarMensagens(cursor, TAMANHO_PAGINA).conteudo());
+
+            System.out.printf("%10d %15.3f %20.3f %15.3f%n", pagina, offset, offsetOrdenado, seek);
+        }
+    }
+
+    private String cursorAntesDaPagina(int pagina) {
+        if (pagina == 0)
+            return "";
+
+        var anterior = jdbcTemplate.queryForMap(
+                "SELECT ID, DATA_CRIACAO FROM MENSAGEM ORDER BY DATA_CRIACAO DESC, ID DESC OFFSET ? ROWS FETCH FIRST 1 ROWS ONLY",
+                pagina * TAMANHO_PAGINA - 1);
+        return new CursorMensagem(((Timestamp) anterior.get("DATA_CRIACAO")).toLocalDateTime(),
+                (UUID) anterior.get("ID")).codificar();
+    }
+
+    private double medir(Supplier<List<Mensagem>> consulta) {
+        // aquecimento
+        for (int i = 0; i < REPETICOES; i++) {
+            assertThat(consulta.get()).hasSize(TAMANHO_PAGINA);
+            entityManager.clear();
+        }
+
+        var inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            consulta.get();
+            entityManager.clear();
+        }
+        return (System.nanoTime() - inicio) / 1_000_000.0 / REPETICOES;
+    }
+
+}
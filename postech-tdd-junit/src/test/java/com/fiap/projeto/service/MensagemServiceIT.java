@@ -1,5 +1,6 @@
 package com.fiap.projeto.service;
 
+import com.fiap.projeto.model.AlteracaoMensagem;
 import com.fiap.projeto.model.Mensagem;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +36,27 @@ public class MensagemServiceIT {
         assertThat(mensagemObtida.getGostei()).isEqualTo(0);
     }
 
+    @Test
+    void deveGerarIdOrdenadoPeloTempo_registrarMensagem() {
+        var primeira = mensagemService.registrarMensagem(geraMensagem());
+        var segunda = mensagemService.registrarMensagem(geraMensagem());
+
+        assertThat(primeira.getId().version()).isEqualTo(7);
+        assertThat(Long.compareUnsigned(segunda.getId().getMostSignificantBits(),
+                primeira.getId().getMostSignificantBits())).isPositive();
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        var mensagens = List.of(geraMensagem(), geraMensagem());
+
+        var ids = mensagemService.registrarMensagens(mensagens);
+
+        assertThat(ids).hasSize(2).doesNotContainNull();
+        assertThat(ids).allSatisfy(id ->
+                assertThat(mensagemService.buscarMensagem(id).getUsuario()).isEqualTo("Gabriel"));
+    }
+
     @Test
     void devePermitirBuscarMensagem() {
         var id = UUID.fromString("a15cc825-8a70-4846-96b1-ba6791b5cb8b");
@@ -66,6 +89,18 @@ public class MensagemServiceIT {
         assertThat(mensagemObtida.getConteudo()).isEqualTo(mensagem.getConteudo());
     }
 
+    @Test
+    void devePermitirAlterarMensagemParcialmente() {
+        var id = UUID.fromString("a15cc825-8a70-4846-96b1-ba6791b5cb8b");
+
+        var mensagemObtida = mensagemService.alterarMensagemParcialmente(id,
+                new AlteracaoMensagem(null, "conteúdo alterado", null));
+
+        assertThat(mensagemObtida.getId()).isEqualTo(id);
+        assertThat(mensagemObtida.getConteudo()).isEqualTo("conteúdo alterado");
+        assertThat(mensagemObtida.getUsuario()).isEqualTo("Matheus");
+    }
+
     @Test
     void deveGerarExcecao_alterarMensagemInexistente() {
         var id = UUID.fromString("aaacc825-8a70-4846-96b1-ba6791b5caaa");
@@ -108,6 +143,19 @@ public class MensagemServiceIT {
                 .hasMessage("Mensagem não encontrada");
     }
 
+    @Test
+    void devePermitirRemoverMensagensEmLote() {
+        var ids = List.of(
+                UUID.fromString("d7f82637-2cdb-4893-9e18-13d3eba94f0e"),
+                UUID.fromString("3684f9f5-58c0-46ea-94a9-e61b0a8aca6a"),
+                UUID.randomUUID());
+
+        var removidas = mensagemService.removerMensagens(ids);
+
+        assertThat(removidas).isEqualTo(2);
+        assertThat(mensagemService.listarMensagens(Pageable.unpaged())).hasSize(1);
+    }
+
     @Test
     void devePermitirListaMensagens() {
         Page<Mensagem> listaMensagem = mensagemService.listarMensagens(Pageable.unpaged());
@@ -118,6 +166,22 @@ public class MensagemServiceIT {
         });
     }
 
+    @Test
+    void devePermitirListarMensagensPorCursor() {
+        var primeiraPagina = mensagemService.listarMensagens("", 2);
+
+        assertThat(primeiraPagina.conteudo()).extracting(Mensagem::getId).containsExactly(
+                UUID.fromString("a15cc825-8a70-4846-96b1-ba6791b5cb8b"),
+                UUID.fromString("3684f9f5-58c0-46ea-94a9-e61b0a8aca6a"));
+        assertThat(primeiraPagina.proximoCursor()).isNotBlank();
+
+        var segundaPagina = mensagemService.listarMensagens(primeiraPagina.proximoCursor(), 2);
+
+        assertThat(segundaPagina.conteudo()).extracting(Mensagem::getId).containsExactly(
+                UUID.fromString("d7f82637-2cdb-4893-9e18-13d3eba94f0e"));
+        assertThat(segundaPagina.proximoCursor()).isNull();
+    }
+
     private Mensagem geraMensagem() {
         return Mensagem.builder()
                 .usuario("Gabriel").conteudo("teste").build();
@@ -0,0 +1,111 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.armazenamento.LogMensagens;
+import com.fiap.projeto.evento.GosteiRegistrado;
+import com.fiap.projeto.feed.FeedMensagens;
+import com.fiap.projeto.feed.VerificadorFeed;
+import com.fiap.projeto.model.Mensagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Os mesmos cenários do {@link MensagemServiceIT} com o armazenamento em log. Antes de cada teste o log volta às
+ * três mensagens do data.sql, já que o rollback da transação não o alcança.
+ */
+@SpringBootTest(properties = "mensagem.armazenamento.modo=log")
+@RecordApplicationEvents
+public class MensagemServiceLogIT extends MensagemServiceIT {
+
+    @TempDir
+    static Path diretorio;
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private LogMensagens logMensagens;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @DynamicPropertySource
+    static void diretorioDoLog(DynamicPropertyRegistry registry) {
+        registry.add("mensagem.armazenamento.log.diretorio", () -> diretorio.toString());
+    }
+
+    @BeforeEach
+    void restaurarMensagens() {
+        var ids = new ArrayList<UUID>();
+        logMensagens.percorrer(mensagem -> ids.add(mensagem.getId()));
+        ids.forEach(logMensagens::remover);
+
+        var data = LocalDateTime.of(2024, 3, 6, 0, 0);
+        logMensagens.gravar(geraMensagem("d7f82637-2cdb-4893-9e18-13d3eba94f0e", "Gabriel", data));
+        logMensagens.gravar(geraMensagem("3684f9f5-58c0-46ea-94a9-e61b0a8aca6a", "Isaque", data.plusSeconds(1)));
+        logMensagens.gravar(geraMensagem("a15cc825-8a70-4846-96b1-ba6791b5cb8b", "Matheus", data.plusSeconds(2)));
+    }
+
+    @Test
+    void deveUsarOArmazenamentoEmLog() {
+        assertThat(mensagemService).isInstanceOf(MensagemServiceLog.class);
+    }
+
+    @Test
+    void naoDeveMontarOFeedSobreATabela() {
+        assertThat(applicationContext.getBeanNamesForType(FeedMensagens.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(VerificadorFeed.class)).isEmpty();
+    }
+
+    @Test
+    void devePublicarEvento_registrarGostei() {
+        var id = UUID.fromString("d7f82637-2cdb-4893-9e18-13d3eba94f0e");
+
+        mensagemService.registrarGostei(id);
+
+        assertThat(eventos.stream(GosteiRegistrado.class)).containsExactly(new GosteiRegistrado(id, 1));
+        assertThat(mensagemService.buscarMensagem(id).getGostei()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRecusarAlteracao_versaoDivergente() {
+        var id = UUID.fromString("a15cc825-8a70-4846-96b1-ba6791b5cb8b");
+        var mensagem = mensagemService.buscarMensagem(id);
+        mensagem.setConteudo("conteúdo alterado");
+
+        var alterada = mensagemService.alterarMensagem(id, mensagem, 0);
+        mensagemService.registrarGostei(id);
+
+        assertThat(alterada.getVersao()).isEqualTo(1);
+        assertThat(mensagemService.buscarVersao(id)).contains(2L);
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagem, 1))
+                .isInstanceOf(VersaoDivergenteException.class);
+    }
+
+    private Mensagem geraMensagem(String id, String usuario, LocalDateTime dataCriacao) {
+        return Mensagem.builder()
+                .id(UUID.fromString(id))
+                .usuario(usuario).conteudo("Conteúdo da Mensagem 01")
+                .dataCriacao(dataCriacao)
+                .build();
+    }
+
+}
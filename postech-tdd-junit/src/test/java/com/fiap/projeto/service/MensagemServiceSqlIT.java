@@ -0,0 +1,117 @@
+package com.fiap.projeto.service;
+
+import com.fiap.projeto.config.CacheConfig;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.Mensagem;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+public class MensagemServiceSqlIT {
+
+    @Autowired
+    private MensagemService mensagemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setup() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void deveExecutarSomenteInsert_registrarMensagem() {
+        var mensagemObtida = mensagemService.registrarMensagem(geraMensagem());
+
+        assertThat(mensagemObtida.getId()).isNotNull();
+        assertThat(mensagemObtida.isNew()).isFalse();
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityInsertCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void deveAlterarSemCarregarAntes_alterarMensagemParcialmente() {
+        var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+        estatisticas.clear();
+
+        var mensagemObtida = mensagemService.alterarMensagemParcialmente(id,
+                new AlteracaoMensagem(null, "conteúdo alterado", null));
+
+        assertThat(mensagemObtida.getConteudo()).isEqualTo("conteúdo alterado");
+        // um UPDATE com a coluna informada e um SELECT para devolver o novo estado
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estatisticas.getEntityLoadCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void deveConsultarBancoUmaVez_buscarMensagemEmCache() {
+        var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+        estatisticas.clear();
+
+        var primeiraBusca = mensagemService.buscarMensagem(id);
+        var segundaBusca = mensagemService.buscarMensagem(id);
+
+        assertThat(segundaBusca).isSameAs(primeiraBusca);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheConfig.MENSAGENS).get(id)).isNotNull();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", CacheConfig.MENSAGENS).tag("result", "hit")
+                .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void deveInvalidarCache_alterarMensagem() {
+        var mensagem = mensagemService.registrarMensagem(geraMensagem());
+        mensagemService.buscarMensagem(mensagem.getId());
+
+        var novaMensagem = geraMensagem();
+        novaMensagem.setId(mensagem.getId());
+        novaMensagem.setConteudo("conteúdo alterado");
+        mensagemService.alterarMensagem(mensagem.getId(), novaMensagem);
+
+        assertThat(cacheManager.getCache(CacheConfig.MENSAGENS).get(mensagem.getId())).isNull();
+        assertThat(mensagemService.buscarMensagem(mensagem.getId()).getConteudo()).isEqualTo("conteúdo alterado");
+    }
+
+    @Test
+    void deveInvalidarCache_removeMensagem() {
+        var id = mensagemService.registrarMensagem(geraMensagem()).getId();
+        mensagemService.buscarMensagem(id);
+
+        mensagemService.removeMensagem(id);
+
+        assertThat(cacheManager.getCache(CacheConfig.MENSAGENS).get(id)).isNull();
+        assertThatThrownBy(() -> mensagemService.buscarMensagem(id))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Mensagem não encontrada");
+    }
+
+    private Mensagem geraMensagem() {
+        return Mensagem.builder()
+                .usuario("Gabriel").conteudo("teste").build();
+    }
+
+}
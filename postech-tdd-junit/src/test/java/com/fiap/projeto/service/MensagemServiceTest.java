@@ -1,17 +1,34 @@
 package com.fiap.projeto.service;
 
+import com.fiap.projeto.busca.IndiceMensagens;
+import com.fiap.projeto.config.CacheConfig;
+import com.fiap.projeto.evento.MensagemAlterada;
+import com.fiap.projeto.evento.MensagemRegistrada;
+import com.fiap.projeto.feed.FeedMensagens;
+import com.fiap.projeto.id.GeradorUuidV7;
+import com.fiap.projeto.model.AlteracaoMensagem;
+import com.fiap.projeto.model.CursorMensagem;
 import com.fiap.projeto.model.Mensagem;
+import com.fiap.projeto.model.MensagemResumo;
 import com.fiap.projeto.reporitory.MensagemReporitory;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,6 +36,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class MensagemServiceTest {
@@ -26,6 +45,16 @@ class MensagemServiceTest {
     @Mock
     private MensagemReporitory mensagemReporitory;
 
+    @Mock
+    private ContadorGostei contadorGostei;
+
+    @Mock
+    private ApplicationEventPublisher eventos;
+
+    private CacheManager cacheManager;
+
+    private IndiceMensagens indiceMensagens;
+
     private MensagemService mensagemService;
 
     AutoCloseable mock;
@@ -34,7 +63,16 @@ class MensagemServiceTest {
     void setup() {
         //inicia todos os mocks da classe
         mock = MockitoAnnotations.openMocks(this);
-        mensagemService = new MensagemServiceImpl(mensagemReporitory);
+        indiceMensagens = new IndiceMensagens();
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MENSAGENS);
+        mensagemService = new MensagemServiceImpl(mensagemReporitory,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new GeradorUuidV7(),
+                contadorGostei,
+                indiceMensagens,
+                eventos,
+                cacheManager,
+                Optional.empty());
     }
 
     @AfterEach
@@ -59,6 +97,77 @@ class MensagemServiceTest {
         assertThat(mensagemRegistrada.getUsuario()).isEqualTo(mensagem.getUsuario());
 
         verify(mensagemReporitory, times(1)).save(any(Mensagem.class));
+        verify(mensagemReporitory, times(1)).save(argThat(Mensagem::isNew));
+    }
+
+    @Test
+    void devePublicarEvento_registrarMensagem() {
+        when(mensagemReporitory.save(any(Mensagem.class)))
+                .thenAnswer(i -> i.getArgument(0));
+
+        var mensagemRegistrada = mensagemService.registrarMensagem(geraMensagem());
+
+        verify(eventos, times(1)).publishEvent(new MensagemRegistrada(mensagemRegistrada));
+    }
+
+    @Test
+    void deveGerarExcecao_registrarMensagemInvalida() {
+        var mensagem = Mensagem.builder().usuario("Gabriel").conteudo(" ").build();
+
+        assertThatThrownBy(() -> mensagemService.registrarMensagem(mensagem))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("conteúdo preenchido de maneira incoreta");
+
+        verifyNoInteractions(mensagemReporitory, eventos);
+    }
+
+    @Test
+    void devePermitirRegistrarMensagensEmLote() {
+        var mensagens = Arrays.asList(geraMensagem(), geraMensagem(), geraMensagem());
+
+        when(mensagemReporitory.inserirEmLote(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        var ids = mensagemService.registrarMensagens(mensagens);
+
+        assertThat(ids).hasSize(3).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(mensagens).extracting(Mensagem::getId).containsExactlyElementsOf(ids);
+
+        verify(mensagemReporitory, times(1)).inserirEmLote(mensagens);
+        verify(mensagemReporitory, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_registrarMensagensEmLoteInvalido() {
+        var mensagemInvalida = Mensagem.builder().usuario("Gabriel").conteudo(" ").build();
+        var mensagens = Arrays.asList(geraMensagem(), mensagemInvalida);
+
+        assertThatThrownBy(() -> mensagemService.registrarMensagens(mensagens))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("mensagem[1]: conteúdo preenchido de maneira incoreta");
+
+        verify(mensagemReporitory, never()).inserirEmLote(anyList());
+    }
+
+    @Test
+    void deveManterIdEPublicarEventos_gravarMensagensAceitas() {
+        var mensagem = geraMensagemComId();
+        var id = mensagem.getId();
+        when(mensagemReporitory.inserirEmLote(anyList())).thenAnswer(i -> i.getArgument(0));
+
+        mensagemService.gravarMensagensAceitas(List.of(mensagem));
+
+        assertThat(mensagem.getId()).isEqualTo(id);
+        verify(mensagemReporitory, times(1)).inserirEmLote(List.of(mensagem));
+        verify(eventos, times(1)).publishEvent(new MensagemRegistrada(mensagem));
+    }
+
+    @Test
+    void deveGerarExcecao_registrarMensagensEmLoteVazio() {
+        assertThatThrownBy(() -> mensagemService.registrarMensagens(List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("lote de mensagens vazio");
+
+        verifyNoInteractions(mensagemReporitory);
     }
 
     @Test
@@ -151,6 +260,167 @@ class MensagemServiceTest {
         verify(mensagemReporitory, never()).save(any(Mensagem.class));
     }
 
+    @Test
+    void deveManterVersaoAtual_alterarMensagemSemVersaoEsperada() {
+        var id = UUID.randomUUID();
+        var mensagem = geraMensagem();
+        mensagem.setId(id);
+        mensagem.setVersao(3);
+
+        var mensagemNova = geraMensagem();
+        mensagemNova.setId(id);
+
+        when(mensagemReporitory.findById(id)).thenReturn(Optional.of(mensagem));
+        when(mensagemReporitory.save(mensagemNova)).thenAnswer(i -> i.getArgument(0));
+
+        var mensagemRecebida = mensagemService.alterarMensagem(id, mensagemNova);
+
+        assertThat(mensagemRecebida.getVersao()).isEqualTo(3);
+    }
+
+    @Test
+    void devePermitirAlterarMensagemComVersaoEsperada() {
+        var id = UUID.randomUUID();
+        var mensagemNova = geraMensagem();
+        mensagemNova.setId(id);
+
+        when(mensagemReporitory.alterarSeVersao(mensagemNova, 3)).thenReturn(1);
+
+        var mensagemRecebida = mensagemService.alterarMensagem(id, mensagemNova, 3);
+
+        assertThat(mensagemRecebida.getVersao()).isEqualTo(4);
+        assertThat(mensagemRecebida.getConteudo()).isEqualTo(mensagemNova.getConteudo());
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+        verify(mensagemReporitory, never()).existsById(any(UUID.class));
+        verify(eventos).publishEvent(any(MensagemAlterada.class));
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemComVersaoDivergente() {
+        var id = UUID.randomUUID();
+        var mensagemNova = geraMensagem();
+        mensagemNova.setId(id);
+
+        when(mensagemReporitory.alterarSeVersao(mensagemNova, 3)).thenReturn(0);
+        when(mensagemReporitory.existsById(id)).thenReturn(true);
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova, 3))
+                .isInstanceOf(VersaoDivergenteException.class);
+        verify(eventos, never()).publishEvent(any());
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemComVersaoInexistente() {
+        var id = UUID.randomUUID();
+        var mensagemNova = geraMensagem();
+        mensagemNova.setId(id);
+
+        when(mensagemReporitory.alterarSeVersao(mensagemNova, 0)).thenReturn(0);
+        when(mensagemReporitory.existsById(id)).thenReturn(false);
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Mensagem não encontrada");
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemComVersaoInvalida() {
+        var id = UUID.randomUUID();
+        var mensagemNova = geraMensagem();
+        mensagemNova.setId(id);
+        mensagemNova.setConteudo(" ");
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagem(id, mensagemNova, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("conteúdo preenchido de maneira incoreta");
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveBuscarVersaoNoCacheSemConsultarBanco() {
+        var mensagem = geraMensagemComId();
+        mensagem.setVersao(7);
+        cacheManager.getCache(CacheConfig.MENSAGENS).put(mensagem.getId(), mensagem);
+
+        assertThat(mensagemService.buscarVersao(mensagem.getId())).contains(7L);
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveBuscarVersaoNoBanco() {
+        var id = UUID.randomUUID();
+
+        when(mensagemReporitory.buscarVersao(id)).thenReturn(Optional.of(2L));
+
+        assertThat(mensagemService.buscarVersao(id)).contains(2L);
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void devePermitirAlterarMensagemParcialmente() {
+        var id = UUID.randomUUID();
+        var alteracao = new AlteracaoMensagem(null, "conteúdo alterado", null);
+        var mensagemAlterada = geraMensagem();
+        mensagemAlterada.setId(id);
+        mensagemAlterada.setConteudo("conteúdo alterado");
+
+        when(mensagemReporitory.alterarParcialmente(id, alteracao)).thenReturn(1);
+        when(mensagemReporitory.findById(id)).thenReturn(Optional.of(mensagemAlterada));
+
+        var mensagemRecebida = mensagemService.alterarMensagemParcialmente(id, alteracao);
+
+        assertThat(mensagemRecebida.getConteudo()).isEqualTo("conteúdo alterado");
+        verify(mensagemReporitory, times(1)).alterarParcialmente(id, alteracao);
+        verify(mensagemReporitory, never()).save(any(Mensagem.class));
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemParcialmenteInexistente() {
+        var id = UUID.randomUUID();
+        var alteracao = new AlteracaoMensagem(null, "conteúdo alterado", null);
+
+        when(mensagemReporitory.alterarParcialmente(id, alteracao)).thenReturn(0);
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagemParcialmente(id, alteracao))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Mensagem não encontrada");
+
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemParcialmenteSemCampos() {
+        var id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagemParcialmente(id, new AlteracaoMensagem(null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("nenhum campo para alterar");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveGerarExcecao_alterarMensagemParcialmenteConteudoEmBranco() {
+        var id = UUID.randomUUID();
+
+        assertThatThrownBy(() -> mensagemService.alterarMensagemParcialmente(id, new AlteracaoMensagem(null, " ", null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("conteúdo preenchido de maneira incoreta");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void devePermitirRegistrarGostei() {
+        var id = UUID.randomUUID();
+
+        mensagemService.registrarGostei(id);
+
+        verify(contadorGostei, times(1)).registrar(id);
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+        verify(mensagemReporitory, never()).save(any(Mensagem.class));
+    }
+
     @Test
     void devePermitirRemoverMensagem() {
         //fail("implementar teste");
@@ -158,31 +428,79 @@ class MensagemServiceTest {
         var mensagem = geraMensagem();
         mensagem.setId(id);
 
-        when(mensagemReporitory.findById(id))
-                .thenReturn(Optional.of(mensagem));
+        when(mensagemReporitory.removerPorId(id)).thenReturn(1);
 
-        doNothing().when(mensagemReporitory).deleteById(id);
         var deletado = mensagemService.removeMensagem(id);
 
         assertThat(deletado).isTrue();
 
-        verify(mensagemReporitory, times(1)).findById(any(UUID.class));
-        verify(mensagemReporitory, times(1)).deleteById(any(UUID.class));
+        verify(mensagemReporitory, times(1)).removerPorId(id);
+        verify(mensagemReporitory, never()).findById(any(UUID.class));
+        verify(mensagemReporitory, never()).deleteById(any(UUID.class));
     }
 
     @Test
     void deveGerarExcecao_removeIdInexistente() {
         var id = UUID.randomUUID();
 
-        when(mensagemReporitory.findById(id))
-                .thenReturn(Optional.empty());
+        when(mensagemReporitory.removerPorId(id)).thenReturn(0);
 
         assertThatThrownBy(() -> mensagemService.removeMensagem(id)).isInstanceOf(IllegalArgumentException.class)
                 .hasMessage("Mensagem não encontrada");
 
-        verify(mensagemReporitory, times(1)).findById(any(UUID.class));
+        verify(mensagemReporitory, times(1)).removerPorId(id);
         verify(mensagemReporitory, never()).deleteById(any(UUID.class));
     }
+
+    @Test
+    void devePermitirRemoverMensagensEmLote() {
+        var ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        when(mensagemReporitory.removerPorIds(ids)).thenReturn(2);
+
+        var removidas = mensagemService.removerMensagens(ids);
+
+        assertThat(removidas).isEqualTo(2);
+        verify(mensagemReporitory, times(1)).removerPorIds(ids);
+    }
+
+    @Test
+    void deveGerarExcecao_removerMensagensSemIds() {
+        assertThatThrownBy(() -> mensagemService.removerMensagens(List.of()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("nenhum id informado");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+    @Test
+    void devePermitirBuscarMensagensPorRelevancia() {
+        var poucoRelevante = geraMensagem();
+        poucoRelevante.setId(UUID.randomUUID());
+        poucoRelevante.setConteudo("reunião amanhã cedo com o time de qualidade");
+        var maisRelevante = geraMensagem();
+        maisRelevante.setId(UUID.randomUUID());
+        maisRelevante.setConteudo("Reunião de reuniões");
+        indiceMensagens.indexar(poucoRelevante.getId(), poucoRelevante.getConteudo());
+        indiceMensagens.indexar(maisRelevante.getId(), maisRelevante.getConteudo());
+        indiceMensagens.indexar(UUID.randomUUID(), "outro assunto");
+
+        when(mensagemReporitory.findAllById(anyList())).thenReturn(List.of(poucoRelevante, maisRelevante));
+
+        var pagina = mensagemService.buscarMensagens("reuniao", PageRequest.of(0, 10));
+
+        assertThat(pagina.getContent()).containsExactly(maisRelevante, poucoRelevante);
+        assertThat(pagina.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void deveGerarExcecao_buscarMensagensSemTermo() {
+        assertThatThrownBy(() -> mensagemService.buscarMensagens(" ", PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("termo de busca vazio");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
     @Test
     void devePermitirListaMensagens() {
         //fail("implementar teste");
@@ -203,6 +521,159 @@ class MensagemServiceTest {
         verify(mensagemReporitory, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    void devePermitirListarMensagensPorCursor_primeiraPagina() {
+        var mensagens = Arrays.asList(geraMensagemComId(), geraMensagemComId(), geraMensagemComId());
+
+        when(mensagemReporitory.findAllByOrderByDataCriacaoDescIdDesc(any(Pageable.class)))
+                .thenReturn(mensagens);
+
+        var pagina = mensagemService.listarMensagens("", 2);
+
+        assertThat(pagina.conteudo()).hasSize(2).containsExactly(mensagens.get(0), mensagens.get(1));
+        assertThat(CursorMensagem.decodificar(pagina.proximoCursor()))
+                .isEqualTo(CursorMensagem.de(mensagens.get(1)));
+
+        verify(mensagemReporitory, times(1)).findAllByOrderByDataCriacaoDescIdDesc(PageRequest.of(0, 3));
+        verify(mensagemReporitory, never()).count();
+    }
+
+    @Test
+    void devePermitirListarMensagensPorCursor_ultimaPagina() {
+        var referencia = geraMensagemComId();
+        var cursor = CursorMensagem.de(referencia);
+        var mensagens = Arrays.asList(geraMensagemComId());
+
+        when(mensagemReporitory.buscarAposCursor(cursor.dataCriacao(), cursor.id(), PageRequest.of(0, 3)))
+                .thenReturn(mensagens);
+
+        var pagina = mensagemService.listarMensagens(cursor.codificar(), 2);
+
+        assertThat(pagina.conteudo()).containsExactlyElementsOf(mensagens);
+        assertThat(pagina.proximoCursor()).isNull();
+    }
+
+    @Test
+    void deveListarPeloFeedEmMemoria_semConsultarORepositorio() {
+        var feed = mock(FeedMensagens.class);
+        var mensagens = Arrays.asList(geraMensagemComId(), geraMensagemComId(), geraMensagemComId());
+        var pageable = PageRequest.of(0, 2);
+        var paginaDoFeed = new PageImpl<>(mensagens.subList(0, 2), pageable, 3);
+        when(feed.pronto()).thenReturn(true);
+        when(feed.atende(pageable)).thenReturn(true);
+        when(feed.listar(pageable)).thenReturn(paginaDoFeed);
+        when(feed.listarApos(null, 3)).thenReturn(mensagens);
+        mensagemService = new MensagemServiceImpl(mensagemReporitory,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new GeradorUuidV7(),
+                contadorGostei,
+                indiceMensagens,
+                eventos,
+                cacheManager,
+                Optional.of(feed));
+
+        assertThat(mensagemService.listarMensagens(pageable)).isSameAs(paginaDoFeed);
+        assertThat(mensagemService.listarMensagens("", 2).conteudo())
+                .containsExactly(mensagens.get(0), mensagens.get(1));
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveListarPeloRepositorio_paginaAlemDaProfundidadeDoFeed() {
+        var feed = mock(FeedMensagens.class);
+        var pageable = PageRequest.of(500, 10);
+        var pagina = new PageImpl<>(List.of(geraMensagemComId()), pageable, 5001);
+        when(feed.pronto()).thenReturn(true);
+        when(feed.atende(pageable)).thenReturn(false);
+        when(mensagemReporitory.findAll(pageable)).thenReturn(pagina);
+        mensagemService = new MensagemServiceImpl(mensagemReporitory,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new GeradorUuidV7(),
+                contadorGostei,
+                indiceMensagens,
+                eventos,
+                cacheManager,
+                Optional.of(feed));
+
+        assertThat(mensagemService.listarMensagens(pageable)).isSameAs(pagina);
+
+        verify(feed, never()).listar(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarResumos() {
+        var pageable = PageRequest.of(0, 10);
+        var resumos = new SliceImpl<>(List.of(
+                new MensagemResumo(UUID.randomUUID(), "Gabriel", "teste", LocalDateTime.now(), 0)), pageable, false);
+
+        when(mensagemReporitory.listarResumos(MensagemResumo.TAMANHO_CONTEUDO, pageable)).thenReturn(resumos);
+
+        var fatia = mensagemService.listarResumos(pageable);
+
+        assertThat(fatia).isSameAs(resumos);
+        verify(mensagemReporitory, never()).count();
+        verify(mensagemReporitory, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void devePermitirListarMensagensPorPeriodo() {
+        var pageable = PageRequest.of(0, 10);
+        var desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+        var ate = desde.plusMonths(1);
+        var pagina = new PageImpl<>(List.of(geraMensagemComId()), pageable, 1);
+
+        when(mensagemReporitory.listarPorPeriodo(desde, ate, pageable)).thenReturn(pagina);
+
+        assertThat(mensagemService.listarMensagens(desde, ate, pageable)).isSameAs(pagina);
+    }
+
+    @Test
+    void deveGerarExcecao_listarMensagensComPeriodoInvertido() {
+        var desde = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertThatThrownBy(() -> mensagemService.listarMensagens(desde, desde, PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("desde deve ser anterior a ate");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void devePermitirListarMensagensDoUsuario() {
+        var pageable = PageRequest.of(0, 10);
+        var fatia = new SliceImpl<>(List.of(geraMensagemComId()), pageable, false);
+
+        when(mensagemReporitory.listarDoUsuario("Gabriel", null, null, pageable)).thenReturn(fatia);
+
+        assertThat(mensagemService.listarMensagensDoUsuario("Gabriel", null, null, pageable)).isSameAs(fatia);
+        verify(mensagemReporitory, never()).count();
+    }
+
+    @Test
+    void deveGerarExcecao_listarMensagensDoUsuarioEmBranco() {
+        assertThatThrownBy(() -> mensagemService.listarMensagensDoUsuario(" ", null, null, PageRequest.of(0, 10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("usuario preenchido de maneira incoreta");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    @Test
+    void deveGerarExcecao_listarMensagensPorCursorInvalido() {
+        assertThatThrownBy(() -> mensagemService.listarMensagens("nao-e-um-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("cursor inválido");
+
+        verifyNoInteractions(mensagemReporitory);
+    }
+
+    private Mensagem geraMensagemComId() {
+        var mensagem = geraMensagem();
+        mensagem.setId(UUID.randomUUID());
+        return mensagem;
+    }
+
     private Mensagem geraMensagem() {
         return Mensagem.builder()
                 .usuario("Gabriel").conteudo("teste").build();
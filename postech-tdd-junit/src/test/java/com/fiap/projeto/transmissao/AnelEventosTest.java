@@ -0,0 +1,53 @@
+package com.fiap.projeto.transmissao;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnelEventosTest {
+
+    @Test
+    void deveMontarQuadroSseComIdTipoEDados() {
+        var anel = new AnelEventos("g1", 4);
+
+        var sequencia = anel.publicar("registrada", "{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(sequencia).isEqualTo(1);
+        assertThat(new String(anel.ler(1), StandardCharsets.UTF_8))
+                .isEqualTo("id:g1-1\nevent:registrada\ndata:{\"a\":1}\n\n");
+    }
+
+    @Test
+    void deveSobrescreverEventosMaisAntigos_aoDarAVolta() {
+        var anel = new AnelEventos("g1", 4);
+        for (int i = 0; i < 6; i++)
+            anel.publicar("alterada", new byte[]{'1'});
+
+        assertThat(anel.ultima()).isEqualTo(6);
+        assertThat(anel.maisAntiga()).isEqualTo(3);
+        assertThat(anel.ler(2)).isNull();
+        assertThat(anel.ler(3)).isNotNull();
+        assertThat(anel.ler(6)).isNotNull();
+    }
+
+    @Test
+    void deveReconhecerSomenteIdsDaMesmaGeracao() {
+        var anel = new AnelEventos("g1", 4);
+
+        assertThat(anel.sequenciaDe(anel.id(42))).isEqualTo(42);
+        assertThat(anel.sequenciaDe("g0-42")).isEqualTo(-1);
+        assertThat(anel.sequenciaDe("g1-abc")).isEqualTo(-1);
+        assertThat(anel.sequenciaDe("42")).isEqualTo(-1);
+    }
+
+    @Test
+    void deveGerarExcecao_capacidadeInvalida() {
+        assertThatThrownBy(() -> new AnelEventos("g1", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("capacidade deve ser maior que zero");
+    }
+
+}
@@ -0,0 +1,179 @@
+package com.fiap.projeto.transmissao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.projeto.evento.MensagemRemovida;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransmissaoMensagensTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransmissaoMensagens transmissao;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        transmissao = new TransmissaoMensagens(new ObjectMapper(), meterRegistry, 4, 2, 2, 60_000, 60_000);
+        transmissao.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transmissao.stop();
+    }
+
+    @Test
+    void deveEntregarEventosPublicadosDepoisDaAssinatura() throws Exception {
+        var id = UUID.randomUUID();
+        transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+        var emissor = new EmissorFalso();
+
+        transmissao.registrar(emissor, null);
+        transmissao.aoRemover(new MensagemRemovida(id));
+
+        aguardar(() -> emissor.quadros.size() == 1);
+        assertThat(emissor.quadros.get(0))
+                .startsWith("id:").contains("\nevent:removida\ndata:{\"id\":\"" + id + "\"}\n\n");
+    }
+
+    @Test
+    void deveRetomarAPartirDoLastEventId() throws Exception {
+        var primeiro = new EmissorFalso();
+        transmissao.registrar(primeiro, null);
+        for (int i = 0; i < 3; i++)
+            transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+        aguardar(() -> primeiro.quadros.size() == 3);
+
+        var retomado = new EmissorFalso();
+        transmissao.registrar(retomado, idDoQuadro(primeiro.quadros.get(0)));
+
+        aguardar(() -> retomado.quadros.size() == 2);
+        assertThat(retomado.quadros).containsExactlyElementsOf(primeiro.quadros.subList(1, 3));
+    }
+
+    @Test
+    void deveEnviarReinicio_lastEventIdForaDoBuffer() throws Exception {
+        var emissor = new EmissorFalso();
+
+        transmissao.registrar(emissor, "outra-geracao-5");
+        transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+
+        aguardar(() -> emissor.quadros.size() == 2);
+        assertThat(emissor.quadros.get(0)).contains("\nevent:reinicio\n");
+        assertThat(emissor.quadros.get(1)).contains("\nevent:removida\n");
+    }
+
+    @Test
+    void deveDesconectarAssinanteLento() throws Exception {
+        var lento = new EmissorFalso();
+        lento.bloqueio = new CountDownLatch(1);
+        transmissao.registrar(lento, null);
+
+        transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+        aguardar(() -> lento.enviando);
+        // a capacidade é 4: o buffer dá a volta enquanto o primeiro envio está preso
+        for (int i = 0; i < 6; i++)
+            transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+        lento.bloqueio.countDown();
+
+        aguardar(() -> lento.completo);
+        assertThat(lento.quadros).hasSize(1);
+        assertThat(transmissao.quantidadeAssinantes()).isZero();
+        assertThat(meterRegistry.counter("mensagem.stream.desconectados", "motivo", "lento").count()).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveEnviar_streamEncerradoPeloServidor() throws Exception {
+        var encerrado = new EmissorFalso();
+        var ativo = new EmissorFalso();
+        transmissao.registrar(encerrado, null);
+        transmissao.registrar(ativo, null);
+
+        encerrado.aoCompletar.run();
+        transmissao.publicar(TransmissaoMensagens.REMOVIDA, new MensagemRemovida(UUID.randomUUID()));
+
+        aguardar(() -> ativo.quadros.size() == 1);
+        assertThat(encerrado.quadros).isEmpty();
+        assertThat(transmissao.quantidadeAssinantes()).isEqualTo(1);
+    }
+
+    @Test
+    void deveRecusarAssinante_limiteAtingido() {
+        transmissao.registrar(new EmissorFalso(), null);
+        transmissao.registrar(new EmissorFalso(), null);
+
+        assertThatThrownBy(() -> transmissao.registrar(new EmissorFalso(), null))
+                .isInstanceOf(LimiteAssinantesException.class)
+                .hasMessage("limite de assinantes do stream atingido");
+    }
+
+    private String idDoQuadro(String quadro) {
+        return quadro.substring("id:".length(), quadro.indexOf('\n'));
+    }
+
+    private void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        var limite = System.nanoTime() + 5_000_000_000L;
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tempo de espera esgotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class EmissorFalso extends ResponseBodyEmitter {
+
+        private final List<String> quadros = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch bloqueio;
+        private volatile boolean enviando;
+        private volatile boolean completo;
+        private volatile Runnable aoCompletar;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            for (var item : items) {
+                var quadro = new String((byte[]) item.getData(), StandardCharsets.UTF_8);
+                // o retry enviado na assinatura não é evento
+                if (quadro.startsWith("retry:"))
+                    continue;
+                enviando = true;
+                aguardarBloqueio();
+                quadros.add(quadro);
+            }
+        }
+
+        private void aguardarBloqueio() {
+            try {
+                if (bloqueio != null)
+                    bloqueio.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completo = true;
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            aoCompletar = callback;
+        }
+
+    }
+
+}
@@ -1,6 +1,6 @@
 INSERT INTO MENSAGEM
-    (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI)
+    (ID, USUARIO, CONTEUDO, DATA_CRIACAO, GOSTEI, VERSAO)
 VALUES
-    ('d7f82637-2cdb-4893-9e18-13d3eba94f0e', 'Gabriel', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:00', 0),
-    ('3684f9f5-58c0-46ea-94a9-e61b0a8aca6a', 'Isaque', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:01', 0),
-    ('a15cc825-8a70-4846-96b1-ba6791b5cb8b', 'Matheus', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:02', 0);
\ No newline at end of file
+    ('d7f82637-2cdb-4893-9e18-13d3eba94f0e', 'Gabriel', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:00', 0, 0),
+    ('3684f9f5-58c0-46ea-94a9-e61b0a8aca6a', 'Isaque', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:01', 0, 0),
+    ('a15cc825-8a70-4846-96b1-ba6791b5cb8b', 'Matheus', 'Conteúdo da Mensagem 01', '2024-03-06 00:00:02', 0, 0);
\ No newline at end of file